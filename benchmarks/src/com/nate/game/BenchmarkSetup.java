@@ -0,0 +1,74 @@
+package com.nate.game;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.utils.Logger;
+import com.nate.game.BonusItem.ItemTypes;
+import com.nate.game.GameBody.GameBodies;
+
+import static com.nate.game.Arknoid1.SCENE_HEIGHT;
+import static com.nate.game.Arknoid1.SCENE_WIDTH;
+
+// what every benchmark's @Setup needs: libgdx started headless (Gdx.files, the native libraries), and a few ways to build the world they measure
+// JMH runs each benchmark in it's own forked JVM from the working directory gradle gives it (android/assets), so the levels and atlas are found like in the game
+final class BenchmarkSetup {
+
+	private static HeadlessApplication app;
+
+
+	// starts libgdx headless once per JVM, the application itself does nothing, the benchmarks use the game classes directly
+	static synchronized void startHeadless(){
+		if(app != null){ return; }
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		config.renderInterval = 1f; // it's loop thread only wakes up once a second, so it doesn't get in the way of what's being measured
+		app = new HeadlessApplication(new ApplicationAdapter(){}, config);
+		Arknoid1.logger.setLevel(Logger.ERROR); // the game logs every level load, that would be measured too
+		GameLog.setLevel(GameLog.ERROR);
+	}
+
+
+	// headless images, only their sizes are read from the atlas, the same as HeadlessSimulation's
+	static TextureCache textures(){
+		startHeadless(); // the atlas file is read through Gdx.files
+		return new TextureCache("texturepack.atlas", true);
+	}
+
+	// a GameSession that is never drawn
+	static GameSession session(TextureCache textures, int levelNumber){
+		return new GameSession(textures, levelNumber, false, 1);
+	}
+
+
+	// n bricks on an even grid over the top half of the play area, like CollisionBenchmark does it (at 10000 they overlap a lot)
+	// they are indestructible, so a long run never runs out of bricks and every measurement sees the same field
+	static void fill(BrickField bricks, int n, String texture){
+		float left = 1.0f, right = SCENE_WIDTH - 1.0f, bottom = SCENE_HEIGHT * 0.45f, top = SCENE_HEIGHT - 0.6f;
+		int columns = (int)Math.ceil(Math.sqrt(n * (right - left) / (top - bottom)));
+		int rows = (n + columns - 1) / columns;
+		for(int i = 0; i < n; i++){
+			float x = left + (right - left) * ((i % columns) + 0.5f) / columns;
+			float y = bottom + (top - bottom) * ((i / columns) + 0.5f) / rows;
+			bricks.add((short)0, (short)1, true, texture, ItemTypes.NO_ITEM, x, y);
+		}
+	}
+
+
+	// the first brick texture of a level, so the benchmark bricks look up a real atlas region
+	static String brickTexture(int levelNumber){
+		return new LevelLoader().readLevelData(levelNumber).getTextureFile(0);
+	}
+
+
+	// the handle of the first body of type in a brand new session's world, nothing was destroyed yet so the handles are 0..getBodyCount() - 1
+	static int findBody(PhysicsWorld physics, GameBodies type){
+		for(int h = 0; h < physics.getBodyCount(); h++){
+			if(physics.getGameBody(h).getType() == type){ return h; }
+		}
+		throw new IllegalStateException("no " + type + " body in the world");
+	}
+
+
+	private BenchmarkSetup(){}
+
+}
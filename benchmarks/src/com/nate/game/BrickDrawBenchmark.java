@@ -0,0 +1,65 @@
+package com.nate.game;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// BrickField.draw() with 100, 1000 and 10000 live bricks, into a CountingBatch, so only the loop over the live bricks is measured
+// one frame's worth: begin(), every brick, end(), the same as Arknoid1.render() does it
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BrickDrawBenchmark {
+
+	@Param({"100", "1000", "10000"})
+	int bricks;
+
+	@Param({"1"})
+	int levelNumber; // only for the brick texture and the walls
+
+	private TextureCache textures;
+	private GameSession session;
+	private CountingBatch batch;
+
+
+	@Setup
+	public void setup(){
+		textures = BenchmarkSetup.textures();
+		session = BenchmarkSetup.session(textures, levelNumber);
+		session.bricks.removeAll();
+		BenchmarkSetup.fill(session.bricks, bricks, BenchmarkSetup.brickTexture(levelNumber));
+		batch = new CountingBatch();
+	}
+
+
+	@Benchmark
+	public float drawBricks(){
+		batch.begin();
+		session.bricks.draw(batch, 0.5f);
+		batch.end();
+		return batch.checksum;
+	}
+
+
+	@TearDown
+	public void tearDown(){
+		if(batch.draws != bricks){ throw new IllegalStateException(batch.draws + " bricks were drawn, expected " + bricks); }
+		session.dispose();
+		textures.dispose();
+	}
+
+}
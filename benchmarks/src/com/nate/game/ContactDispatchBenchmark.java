@@ -0,0 +1,81 @@
+package com.nate.game;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nate.game.GameBody.GameBodies;
+
+// one contact through ContactProcessor: beginContact(), postSolve() and endContact() for the same two bodies, the way box2d reports a bounce,
+// without box2d, the bodies are real ones in a real session's world but nothing moves, so only the dispatch and the game's handling of the contact is measured
+// the bodies are handed over the other way around from how analyzeContact() sorts them, so the swap is measured too
+//   BALL_BRICK          the ball hits a brick (made indestructible so it's the same brick every time)
+//   BALL_VAUS_FLAT_TOP  the ball bounces off vaus, manipulateBounceOffVaus() and all
+//   BALL_WALL           nothing to do, the table lookup says NO_CONTACT, this is most of the contacts in a real game
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContactDispatchBenchmark {
+
+	@Param({"BALL_BRICK", "BALL_VAUS_FLAT_TOP", "BALL_WALL"})
+	String contact;
+
+	private TextureCache textures;
+	private GameSession session;
+	private ContactProcessor processor;
+	private int ball, other;
+	private float vx, vy;
+
+
+	@Setup
+	public void setup(){
+		textures = BenchmarkSetup.textures();
+		session = BenchmarkSetup.session(textures, 1);
+		processor = session.contactProcessor;
+		PhysicsWorld physics = session.physics;
+
+		ball = session.balls.getBody(0);
+		if(contact.equals("BALL_BRICK")){
+			other = BenchmarkSetup.findBody(physics, GameBodies.BRICK);
+			session.bricks.isIndestructible[physics.getGameBody(other).getIndex()] = true;
+		}
+		else if(contact.equals("BALL_VAUS_FLAT_TOP")){ other = BenchmarkSetup.findBody(physics, GameBodies.VAUS_FLAT_TOP); }
+		else if(contact.equals("BALL_WALL")){ other = BenchmarkSetup.findBody(physics, GameBodies.WALL); }
+		else { throw new IllegalArgumentException("unknown contact " + contact); }
+
+		vx = 3f; // on it's way up and to the right, the handlers that look at the velocity all have something to do
+		vy = 4f;
+	}
+
+
+	@Benchmark
+	public void contact(){
+		session.physics.setVelocity(ball, vx, vy); // the handlers bounce it, start every contact from the same velocity
+		processor.beginContact(other, ball);
+		processor.postSolve(other, ball);
+		processor.endContact(other, ball);
+		session.dispatchEvents(); // the hit events, or the bus would keep growing
+	}
+
+
+	@TearDown
+	public void tearDown(){
+		session.dispose();
+		textures.dispose();
+	}
+
+}
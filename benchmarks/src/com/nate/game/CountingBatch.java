@@ -0,0 +1,73 @@
+package com.nate.game;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Affine2;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.NumberUtils;
+
+// a Batch that draws nothing, it only counts the draw calls and adds up the corners it was given, no OpenGL needed
+// so BrickDrawBenchmark measures the game's own draw loops and not the GPU driver, what SpriteBatch does with the vertices is libgdx's business
+// the sum depends on every argument, so the JIT can't leave out any of the work the draw loops do to get them
+class CountingBatch implements Batch {
+
+	int draws;			// draw calls since begin()
+	float checksum;		// every x, y, width and height drawn since begin(), added up
+
+	private final Color color = new Color(Color.WHITE);
+	private final Matrix4 projection = new Matrix4(), transform = new Matrix4();
+	private boolean drawing, blending = true;
+	private int blendSrc, blendDst;
+	private ShaderProgram shader;
+
+
+	private void count(float x, float y, float width, float height){
+		draws++;
+		checksum += x + y + width + height;
+	}
+
+
+	@Override public void begin(){ drawing = true; draws = 0; checksum = 0; }
+	@Override public void end(){ drawing = false; }
+	@Override public void flush(){}
+	@Override public void dispose(){}
+
+	@Override public void draw(Texture texture, float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation,
+			int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY){ count(x, y, width, height); }
+	@Override public void draw(Texture texture, float x, float y, float width, float height, int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY){ count(x, y, width, height); }
+	@Override public void draw(Texture texture, float x, float y, int srcX, int srcY, int srcWidth, int srcHeight){ count(x, y, srcWidth, srcHeight); }
+	@Override public void draw(Texture texture, float x, float y, float width, float height, float u, float v, float u2, float v2){ count(x, y, width, height); }
+	@Override public void draw(Texture texture, float x, float y){ count(x, y, 0, 0); }
+	@Override public void draw(Texture texture, float x, float y, float width, float height){ count(x, y, width, height); }
+	@Override public void draw(Texture texture, float[] spriteVertices, int offset, int count){ count(spriteVertices[offset], spriteVertices[offset + 1], 0, 0); }
+	@Override public void draw(TextureRegion region, float x, float y){ count(x, y, 0, 0); }
+	@Override public void draw(TextureRegion region, float x, float y, float width, float height){ count(x, y, width, height); }
+	@Override public void draw(TextureRegion region, float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation){ count(x, y, width, height); }
+	@Override public void draw(TextureRegion region, float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation, boolean clockwise){ count(x, y, width, height); }
+	@Override public void draw(TextureRegion region, float width, float height, Affine2 transform){ count(transform.m02, transform.m12, width, height); }
+
+	@Override public void setColor(Color tint){ color.set(tint); }
+	@Override public void setColor(float r, float g, float b, float a){ color.set(r, g, b, a); }
+	@Override public void setColor(float packedColor){ int c = NumberUtils.floatToIntColor(packedColor); color.set((c & 0xff) / 255f, ((c >>> 8) & 0xff) / 255f, ((c >>> 16) & 0xff) / 255f, ((c >>> 24) & 0xff) / 255f); }
+	@Override public Color getColor(){ return color; }
+	@Override public float getPackedColor(){ return color.toFloatBits(); }
+
+	@Override public void disableBlending(){ blending = false; }
+	@Override public void enableBlending(){ blending = true; }
+	@Override public void setBlendFunction(int srcFunc, int dstFunc){ blendSrc = srcFunc; blendDst = dstFunc; }
+	@Override public int getBlendSrcFunc(){ return blendSrc; }
+	@Override public int getBlendDstFunc(){ return blendDst; }
+	@Override public boolean isBlendingEnabled(){ return blending; }
+
+	@Override public Matrix4 getProjectionMatrix(){ return projection; }
+	@Override public Matrix4 getTransformMatrix(){ return transform; }
+	@Override public void setProjectionMatrix(Matrix4 matrix){ projection.set(matrix); }
+	@Override public void setTransformMatrix(Matrix4 matrix){ transform.set(matrix); }
+	@Override public void setShader(ShaderProgram shader){ this.shader = shader; }
+	@Override public ShaderProgram getShader(){ return shader; }
+	@Override public boolean isDrawing(){ return drawing; }
+
+}
@@ -0,0 +1,85 @@
+package com.nate.game;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// the two halves of starting a level:
+//   loadLevel    LevelLoader.loadLevel(), reads the level's file (the compiled .lvl, see LevelCompiler) into a LevelData, the file read included, and the hash of the .json that tells the .lvl is not stale
+//   loadBricks   LevelLoader.loadBricks(), every brick of it into an empty BrickField, box2d bodies and images and all
+// the BrickField is emptied again after every loadBricks() call, outside of the measurement, a level's bricks take long enough to add that JMH's per call setup doesn't skew it
+// LevelParseBenchmark (headless) is the one that compares the .json readers
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelLoadBenchmark {
+
+	@Param({"1", "2", "3"})
+	int levelNumber;
+
+	private LevelLoader loader;
+
+
+	// the session that gets the bricks, only loadBricks uses it, so only loadBricks pays for the per call tear down
+	@State(Scope.Thread)
+	public static class EmptyBrickField {
+		private TextureCache textures;
+		GameSession session;
+
+		@Setup
+		public void setup(){
+			textures = BenchmarkSetup.textures();
+			session = BenchmarkSetup.session(textures, 1);
+			session.bricks.removeAll();
+		}
+
+		@TearDown(Level.Invocation)
+		public void empty(){
+			session.bricks.removeAll();
+		}
+
+		@TearDown
+		public void tearDown(){
+			session.dispose();
+			textures.dispose();
+		}
+	}
+
+
+	@Setup
+	public void setup(){
+		BenchmarkSetup.startHeadless();
+		loader = new LevelLoader();
+		loader.loadLevel(levelNumber);
+	}
+
+
+	@Benchmark
+	public LevelLoader loadLevel(){
+		loader.loadLevel(levelNumber);
+		return loader;
+	}
+
+
+	@Benchmark
+	public int loadBricks(EmptyBrickField field){
+		loader.loadBricks(field.session.bricks);
+		return field.session.bricks.getLiveCount();
+	}
+
+}
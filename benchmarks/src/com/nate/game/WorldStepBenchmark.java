@@ -0,0 +1,64 @@
+package com.nate.game;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// the box2d world's step (through PhysicsWorld.step(), ContactProcessor gets every contact just like in the game) with 100, 1000 and 10000 brick bodies
+// and the ball bouncing around in them, CollisionBenchmark (headless) times the whole GameSession.step() the same way
+// the bricks are indestructible (see BenchmarkSetup.fill()) so the world never changes size during a run, and the last ball never gets lost, it bounces off the floor
+// only the world is stepped, never the session, with no bricks to destroy the session would think the level is over and start the next one
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldStepBenchmark {
+
+	@Param({"100", "1000", "10000"})
+	int bricks;
+
+	@Param({"1"})
+	int levelNumber;
+
+	private TextureCache textures;
+	private GameSession session;
+
+
+	@Setup
+	public void setup(){
+		textures = BenchmarkSetup.textures();
+		session = BenchmarkSetup.session(textures, levelNumber);
+		session.bricks.removeAll();
+		BenchmarkSetup.fill(session.bricks, bricks, BenchmarkSetup.brickTexture(levelNumber));
+	}
+
+
+	// only the physics, and what has to follow it so the next step starts clean
+	@Benchmark
+	public void worldStep(){
+		session.physics.step(GameSession.STEP_TIME);
+		session.worldCommands.apply();
+		session.dispatchEvents(); // the events the contacts posted, or the bus would keep growing
+	}
+
+
+	@TearDown
+	public void tearDown(){
+		session.dispose();
+		textures.dispose();
+	}
+
+}
@@ -0,0 +1,292 @@
+/**
+ *
+ */
+package com.nate.game;
+
+import static com.nate.game.Arknoid1.SCENE_HEIGHT;
+import static com.nate.game.Arknoid1.SCENE_WIDTH;
+
+import com.nate.game.GameEventBus.EventTypes;
+
+/**
+ * @author Nathan Merris
+ * An optional replacement for box2d when the ball hits bricks and walls, it's turned on with GameSession.arcadeCollisions (-arcade on the launcher command line).
+ * box2d only notices a contact when the ball ends a step overlapping something, so a fast enough ball can skip right over a brick,
+ * and a hit right on a corner bounces however the solver feels like that step.
+ * In here the whole path the ball moved along during the step is swept instead: the ball is a circle moving in a straight line,
+ * and the exact moment it first touches a brick (a side or a rounded corner) or a wall is worked out, it bounces there, and the rest of the
+ * step's movement continues from that point in the new direction.  Nothing in the path is skipped no matter how fast the ball goes.
+ * box2d still does everything else: the ball against vaus and the flippers, projectiles, and falling bonus items.
+ * The ball's box2d body simply does not collide with bricks or walls when this is on (see BallManager), box2d moves it as usual,
+ * and sweepBalls() is called right after physics.step(), every ball is swept from where it was before the step.
+ * Bricks are found through a uniform grid laid over the scene, the cells are the size of the biggest brick, so a brick is in at most 4 cells
+ * and a step only looks at the few cells around the ball's path, no matter how many bricks there are.
+ * It's all plain float math done in a fixed order (when two bricks are hit at the same moment the lower id wins), so the same game plays out the same every time.
+ */
+public class ArcadeCollision {
+
+	private static final int MAX_BOUNCES = 4; // per step, more than enough for a ball going into a corner, and a ball wedged between bricks can't loop forever
+	private static final float SKIN = 0.0005f; // the ball stops this far short of what it hits, so rounding can't leave it a tiny bit inside and hitting it again
+
+	private BrickField bricks;
+	private ContactProcessor contactProcessor; // the ball hitting a brick is scored and checked exactly the same as a box2d contact
+	private BallManager balls;
+	private PhysicsWorld physics; // the session's physics world
+	private GameEventBus gameEvents;
+	private float box2dBallRadius; // every ball is the same size
+
+	// the grid, rebuilt whenever bricks are added or removed (see BrickField.layoutVersion), destroyed bricks just stay in it and are skipped..
+	private int gridVersion = -1;
+	private float cellWidth, cellHeight;
+	private int columns, rows;
+	private int[] cellStart = new int[0];	// the bricks in cell c are cellBricks[cellStart[c]] to cellBricks[cellStart[c + 1] - 1]
+	private int[] cellBricks = new int[0];
+	private int[] cellFill = new int[0];	// only used while building
+	private int[] visited = new int[0];		// visited[id] == sweepNumber once brick id was tested in this sweep, so a brick in 2 or 4 cells is tested once
+	private int sweepNumber;
+
+	// the walls, as the lines the ball's center can't go past..
+	private float leftLimit, rightLimit, ceilingLimit, floorLimit;
+
+	// what findFirstHit() found..
+	private float hitTime;				// 0 to 1, how far along the path, anything more means nothing was hit
+	private float hitNormalX, hitNormalY; // the direction the surface that was hit is facing
+	private int hitBrick;				// the brick id, or -1 for a wall
+	private boolean hitFloor;
+
+
+	// constructor, must be called after the session's balls, walls, bricks and ContactProcessor were created..
+	public ArcadeCollision(GameSession session){
+		bricks = session.bricks;
+		contactProcessor = session.contactProcessor;
+		balls = session.balls;
+		physics = session.physics;
+		gameEvents = session.gameEvents;
+
+		float box2dWallWidth = session.walls.box2dWallWidth, box2dCeilingHeight = session.walls.box2dCeilingHeight;
+		box2dBallRadius = balls.box2dBallRadius;
+		leftLimit = box2dWallWidth + box2dBallRadius;
+		rightLimit = SCENE_WIDTH - box2dWallWidth - box2dBallRadius;
+		ceilingLimit = SCENE_HEIGHT - box2dCeilingHeight - box2dBallRadius;
+		floorLimit = box2dCeilingHeight + box2dBallRadius;
+
+		GameLog.info("ArcadeCollision constructor exiting..");
+	}
+
+
+	// sweeps every ball in play, called from GameSession right after physics.step()..
+	// backwards through the live list, so a ball taken out of play on the floor can't make the loop skip one
+	public void sweepBalls(){
+		if(gridVersion != bricks.layoutVersion){ buildGrid(); }
+		for(int i = balls.liveCount - 1; i >= 0; i--){
+			sweepBall(balls.live[i]);
+		}
+	}
+
+
+	/**
+	 * Bounces one ball off every brick and wall it ran into during the step that just finished.
+	 * The ball's position and velocity are corrected in place, hits are posted to gameEvents just like box2d contacts.
+	 * @param slot the ball's BallManager slot, box2d already moved it for this step and it's previous position is where it was before
+	 */
+	private void sweepBall(int slot){
+		int ball = balls.getBody(slot);
+		float fromX = balls.previousX[slot], fromY = balls.previousY[slot];
+		float x = fromX, y = fromY;
+		float dx = physics.getX(ball) - fromX, dy = physics.getY(ball) - fromY;
+
+		int bounces = 0;
+		while(findFirstHit(x, y, dx, dy)){
+			float length = (float)Math.sqrt(dx * dx + dy * dy);
+			float t = Math.max(0, hitTime - SKIN / length);
+			x += dx * t; // move up to the hit
+			y += dy * t;
+			float remaining = length * (1 - t);
+
+			// bounce the velocity off the surface: v - 2(v.n)n, if box2d already turned it away (vaus got it mid step) it's left alone
+			float vx = physics.getVelocityX(ball), vy = physics.getVelocityY(ball);
+			float dot = vx * hitNormalX + vy * hitNormalY;
+			if(dot < 0){ physics.setVelocity(ball, vx - 2 * dot * hitNormalX, vy - 2 * dot * hitNormalY); }
+
+			if(hitBrick >= 0){
+				GameLog.debug("ArcadeCollision: ball hit brick", hitBrick);
+				contactProcessor.ballHitBrick(slot, hitBrick, vx, vy); // may straighten out the new velocity
+			}
+			else if(hitFloor){
+				if(balls.lose(slot)){ gameEvents.postBall(EventTypes.BALL_LOST, slot); }
+				else { return; } // out of play, where it ends up doesn't matter any more
+			}
+
+			if(++bounces == MAX_BOUNCES){ dx = dy = 0; break; } // stay right where the last bounce was, safe, and the next step carries on from there
+
+			// the rest of the step's movement, in whatever direction the ball is going now..
+			vx = physics.getVelocityX(ball);
+			vy = physics.getVelocityY(ball);
+			float speed = (float)Math.sqrt(vx * vx + vy * vy);
+			if(speed == 0){ dx = dy = 0; break; }
+			dx = vx / speed * remaining;
+			dy = vy / speed * remaining;
+		}
+
+		if(bounces > 0){ physics.setPosition(ball, x + dx, y + dy); }
+	}
+
+
+	// finds the first thing the ball hits moving from (x, y) by (dx, dy), fills in the hit fields, false if it hits nothing
+	private boolean findFirstHit(float x, float y, float dx, float dy){
+		hitTime = 2;
+		hitBrick = -1;
+		hitFloor = false;
+
+		// walls first, so they win a tie with a brick.. a ball that is somehow already past a wall is bounced right where it is
+		if(dx < 0 && x + dx < leftLimit){ wallHit(Math.max(0, (leftLimit - x) / dx), 1, 0, false); }
+		if(dx > 0 && x + dx > rightLimit){ wallHit(Math.max(0, (rightLimit - x) / dx), -1, 0, false); }
+		if(dy > 0 && y + dy > ceilingLimit){ wallHit(Math.max(0, (ceilingLimit - y) / dy), 0, -1, false); }
+		if(dy < 0 && y + dy < floorLimit){ wallHit(Math.max(0, (floorLimit - y) / dy), 0, 1, true); }
+
+		if(bricks.numBricks > 0){
+			// every cell the ball touches on the way..
+			float r = box2dBallRadius;
+			int firstColumn = column(Math.min(x, x + dx) - r), lastColumn = column(Math.max(x, x + dx) + r);
+			int firstRow = row(Math.min(y, y + dy) - r), lastRow = row(Math.max(y, y + dy) + r);
+			sweepNumber++;
+			for(int row = firstRow; row <= lastRow; row++){
+				for(int col = firstColumn; col <= lastColumn; col++){
+					int cell = row * columns + col;
+					for(int i = cellStart[cell]; i < cellStart[cell + 1]; i++){
+						int id = cellBricks[i];
+						if(visited[id] == sweepNumber){ continue; }
+						visited[id] = sweepNumber;
+						if(bricks.isAlive[id]){ sweepBrick(id, x, y, dx, dy); }
+					}
+				}
+			}
+		}
+
+		return hitTime <= 1;
+	}
+
+
+	private void wallHit(float t, float normalX, float normalY, boolean floor){
+		if(t >= hitTime){ return; }
+		hitTime = t;
+		hitNormalX = normalX;
+		hitNormalY = normalY;
+		hitBrick = -1;
+		hitFloor = floor;
+	}
+
+
+	// exact swept circle against one brick: the ball's center against the brick grown by the ball radius, with rounded corners
+	private void sweepBrick(int id, float x, float y, float dx, float dy){
+		float r = box2dBallRadius;
+		float left = bricks.x[id] - bricks.width[id] * 0.5f, right = bricks.x[id] + bricks.width[id] * 0.5f;
+		float bottom = bricks.y[id] - bricks.height[id] * 0.5f, top = bricks.y[id] + bricks.height[id] * 0.5f;
+
+		// slab test against the grown rectangle, the last side entered is the side that was hit..
+		float tNear = -Float.MAX_VALUE, tFar = Float.MAX_VALUE;
+		float normalX = 0, normalY = 0;
+		if(dx != 0){
+			float tLeft = (left - r - x) / dx, tRight = (right + r - x) / dx;
+			float near = dx > 0 ? tLeft : tRight, far = dx > 0 ? tRight : tLeft;
+			if(near > tNear){ tNear = near; normalX = dx > 0 ? -1 : 1; normalY = 0; }
+			if(far < tFar){ tFar = far; }
+		}
+		else if(x <= left - r || x >= right + r){ return; } // moving straight up or down beside it
+		if(dy != 0){
+			float tBottom = (bottom - r - y) / dy, tTop = (top + r - y) / dy;
+			float near = dy > 0 ? tBottom : tTop, far = dy > 0 ? tTop : tBottom;
+			if(near > tNear){ tNear = near; normalX = 0; normalY = dy > 0 ? -1 : 1; }
+			if(far < tFar){ tFar = far; }
+		}
+		else if(y <= bottom - r || y >= top + r){ return; }
+
+		if(tNear > tFar || tFar < 0 || tNear > 1){ return; } // missed, it's behind the ball, or too far along the path
+
+		// the grown rectangle has square corners but the real shape's corners are round (a circle of radius r around each brick corner),
+		// if the hit is in a corner, do the ray against that corner circle instead..
+		// the ball can also start out in a square corner without touching the round one (squeezing past a brick corner), that's the same test
+		float px = x + dx * Math.max(0, tNear), py = y + dy * Math.max(0, tNear);
+		if(tNear < 0 && (px >= left && px <= right || py >= bottom && py <= top)){ return; } // already inside it, only if a brick was put on top of the ball
+		if((px < left || px > right) && (py < bottom || py > top)){
+			float cx = px < left ? left : right, cy = py < bottom ? bottom : top;
+			float fx = x - cx, fy = y - cy;
+			float a = dx * dx + dy * dy, b = fx * dx + fy * dy, c = fx * fx + fy * fy - r * r;
+			float discriminant = b * b - a * c;
+			if(discriminant < 0){ return; } // it goes past the corner
+			tNear = (-b - (float)Math.sqrt(discriminant)) / a;
+			if(tNear < 0 || tNear > 1){ return; }
+			normalX = (x + dx * tNear - cx) / r;
+			normalY = (y + dy * tNear - cy) / r;
+		}
+
+		if(tNear > hitTime || (tNear == hitTime && (hitBrick < 0 || id > hitBrick))){ return; } // something else was hit first, or ties and wins
+		hitTime = tNear;
+		hitNormalX = normalX;
+		hitNormalY = normalY;
+		hitBrick = id;
+		hitFloor = false;
+	}
+
+
+	// puts every brick in each grid cell it overlaps, once per level (and a few times while a level is being installed)
+	private void buildGrid(){
+		gridVersion = bricks.layoutVersion;
+		int n = bricks.numBricks;
+
+		cellWidth = 0.1f; // in case the biggest brick is tiny, or there are no bricks at all
+		cellHeight = 0.1f;
+		for(int id = 0; id < n; id++){
+			cellWidth = Math.max(cellWidth, bricks.width[id]);
+			cellHeight = Math.max(cellHeight, bricks.height[id]);
+		}
+		columns = (int)Math.ceil(SCENE_WIDTH / cellWidth);
+		rows = (int)Math.ceil(SCENE_HEIGHT / cellHeight);
+
+		int cells = columns * rows;
+		if(cellStart.length < cells + 1){
+			cellStart = new int[cells + 1];
+			cellFill = new int[cells];
+		}
+		for(int c = 0; c <= cells; c++){ cellStart[c] = 0; }
+
+		// count the bricks in each cell, then each cell starts where the one before it ends..
+		for(int id = 0; id < n; id++){
+			for(int row = row(bricks.y[id] - bricks.height[id] * 0.5f); row <= row(bricks.y[id] + bricks.height[id] * 0.5f); row++){
+				for(int col = column(bricks.x[id] - bricks.width[id] * 0.5f); col <= column(bricks.x[id] + bricks.width[id] * 0.5f); col++){
+					cellStart[row * columns + col + 1]++;
+				}
+			}
+		}
+		for(int c = 0; c < cells; c++){
+			cellStart[c + 1] += cellStart[c];
+			cellFill[c] = cellStart[c];
+		}
+
+		if(cellBricks.length < cellStart[cells]){ cellBricks = new int[cellStart[cells]]; }
+		for(int id = 0; id < n; id++){ // in id order, so every cell lists it's bricks lowest id first
+			for(int row = row(bricks.y[id] - bricks.height[id] * 0.5f); row <= row(bricks.y[id] + bricks.height[id] * 0.5f); row++){
+				for(int col = column(bricks.x[id] - bricks.width[id] * 0.5f); col <= column(bricks.x[id] + bricks.width[id] * 0.5f); col++){
+					cellBricks[cellFill[row * columns + col]++] = id;
+				}
+			}
+		}
+
+		if(visited.length < n){ visited = new int[bricks.x.length]; }
+
+		GameLog.debug("ArcadeCollision: brick grid rebuilt, bricks:", n);
+	}
+
+
+	// the grid column or row a world position is in, anything outside the scene goes in the nearest edge cell
+	private int column(float x){
+		int col = (int)(x / cellWidth);
+		return col < 0 ? 0 : (col >= columns ? columns - 1 : col);
+	}
+
+	private int row(float y){
+		int row = (int)(y / cellHeight);
+		return row < 0 ? 0 : (row >= rows ? rows - 1 : row);
+	}
+
+}
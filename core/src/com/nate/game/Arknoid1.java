@@ -1,23 +1,20 @@
 package com.nate.game;
 
 
-import static com.nate.game.Arknoid1.logger;
+import static com.nate.game.GameSession.STEP_TIME;
 
 import com.badlogic.gdx.ApplicationListener;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputAdapter;
 import com.badlogic.gdx.Application.ApplicationType;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
-import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
-import com.badlogic.gdx.physics.box2d.BodyDef;
-import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
-import com.badlogic.gdx.physics.box2d.Box2DDebugRenderer;
-import com.badlogic.gdx.physics.box2d.World;
 import com.badlogic.gdx.utils.Logger;
 import com.badlogic.gdx.utils.viewport.FillViewport;
 import com.badlogic.gdx.utils.viewport.FitViewport;
@@ -27,6 +24,8 @@ import com.badlogic.gdx.utils.viewport.Viewport;
 
 import com.nate.game.DebugGraphics;
 
+// the game on a screen: draws one GameSession, plays it's sounds and feeds it the player's input
+// everything that happens in the game itself is in the GameSession, nothing in here is needed to play it headless
 public class Arknoid1 implements ApplicationListener {
 	
 	// this game uses 2 coordinate systems: one for the box2d physics engine, on for screen pixels
@@ -41,17 +40,30 @@ public class Arknoid1 implements ApplicationListener {
 	public static final int SCREEN_WIDTH = (int) (SCENE_WIDTH * WORLD_TO_SCREEN); // screen width (always will be 1280 pixels wide) differing screen resolutions are handled elsewhere
 	public static final int SCREEN_HEIGHT = (int) (SCENE_HEIGHT * WORLD_TO_SCREEN); // screen width (always will be 720 pixels high)
 	
-	static ApplicationType appType; // need to know if program is running on Android or other b/c Android needs clickable buttons on screen, but everything else uses keyboard and mouse for player control
+	static final Logger logger = new Logger("Arknoidian logger", Logger.INFO); // used to output text to console, shared by every session, it's only a console
+	
+	public boolean arcadeCollisions; // true to bounce the ball off bricks and walls with ArcadeCollision instead of box2d, set by the launchers (-arcade) before the game starts
+	public int startingBalls = 1; // balls in play at the start of every level, anything more is the stress mode, set by the launchers (-balls N) before the game starts
+	public FileHandle recordFile; // set by the desktop launcher (-record FILE), every command the player gives is saved here when the game exits
+	public FileHandle replayFile; // set by the desktop launcher (-replay FILE), plays a recorded game back in real time instead of taking input
+	public FrameProfiler.GcCounter gcCounter; // set by the desktop launcher, so the profiler overlay can show GC runs, it shows n/a without one
+	private int levelNumber; // the level to start on
+	private InputRecording recording; // only when recordFile is set
+	private ReplayPlayer replay; // only when replayFile is set
+	
+	private ApplicationType appType; // need to know if program is running on Android or other b/c Android needs clickable buttons on screen, but everything else uses keyboard and mouse for player control
 	
 	// the following are common to all game objects..
-	static Viewport viewport; // this is what you see on your screen, this viewport is for the game physics world and uses smaller box2d dimensions
-	Viewport OSDviewport; // this is only for the on screen display, it uses larger screen pixel dimensions
-	Camera camera;
-	Camera OSDcamera;
-	static SpriteBatch batch;
-	static TextureAtlas atlas;
-	static Logger logger; // used to output text to console
-	static OnScreenDisplay onScreenDisplay; // used to draw on screen info such as live, score, num shots remaining, etc
+	private Viewport viewport; // this is what you see on your screen, this viewport is for the game physics world and uses smaller box2d dimensions
+	private Viewport OSDviewport; // this is only for the on screen display, it uses larger screen pixel dimensions
+	private Camera camera;
+	private Camera OSDcamera;
+	private SpriteBatch batch;
+	private TextureCache textures; // every game image comes from here, they all share the texture atlas pages
+	private OnScreenDisplay onScreenDisplay; // used to draw on screen info such as live, score, num shots remaining, etc
+	private FrameProfiler profiler; // where the frame time goes, F3 shows it (OnScreenDisplay draws it), F4 saves it, costs nothing while hidden
+	
+	private GameSession session; // the game being played, everything that is drawn comes from here
 	
 	
 	
@@ -62,28 +74,27 @@ public class Arknoid1 implements ApplicationListener {
 	private DebugGraphics debugGraphics; // a DebugGraphics object is used to display debug graphics on screen
 	private boolean displayDebugGrid = true; // set to true to display a grid overlay on the game screen
 	
-	private Walls walls;
-	//private String ceilingTextureRegion, wallsTextureRegion; // points to the walls (same texture left/right) and ceiling texture in the texture atlas	
-	private Ball ball1;
 	private String texturePack; // holds all images for one level, currently only one level
-	//private String ball1TextureRegion; // points to the ball texture in the texture atlas
-	private Vaus vaus1;
-	//private String vaus1TextureRegion; // points to the vaus texture in the texture atlas
-	private Bricks bricks;
 	private String brickDataFile; // holds all the brick layout/position/etc info
-	private ContactProcessor contactProcessor; // deals with all box2dWorld contact logic that is not automatically done by the box2d physics engine itself
 	private SoundProcessor sounds; // all sounds effects and background music for a single level of play are handled by a SoundProcessor object
 	
 	
-	private LevelLoader levelLoader; // one fileHandler object deals with all file IO, used to read in level data from a .json file
+	// fixed timestep stuff..
+	// the session always advances in STEP_TIME sized steps (see GameSession), no matter how long a rendered frame took
+	// leftover frame time is carried over in the accumulator, and drawing is interpolated between the last two simulation states
+	// this keeps the simulation speed identical on a 30 fps phone and a 144 Hz desktop monitor
+	static final int MAX_STEPS_PER_FRAME = 5; // cap on catch-up steps per frame, so one long hitch can't snowball into an ever longer frame
+	private float accumulator; // frame time not yet consumed by simulation steps
 	
 	
-	// box2dWorld is common to all game elements that use physics
-	// box2dDebugRenderer is only need in this class for debug purposes, should be removed for production
-	// box2dWorld is passed to other classes through their respective constructors, just like camera, logger, texture atlas, etc
-	// ball, Vaus, bricks, etc all have their own additional box2d implementations
-	private Box2DDebugRenderer box2dDebugRenderer; // remove for production
-	public static World box2dWorld; // the world all the box2d physics elements live in
+	// constructor..
+	public Arknoid1(){
+		this(999);
+	}
+	
+	public Arknoid1(int levelNumber){
+		this.levelNumber = levelNumber;
+	}
 	
 	
 	@Override
@@ -92,8 +103,6 @@ public class Arknoid1 implements ApplicationListener {
 		brickDataFile = "WHATEVER.TXT IMPLEMENT ME"; // this will need to change each level
 		texturePack = "texturepack.atlas"; // this will need to change each level
 		
-		logger = new Logger("Arknoidian logger", Logger.INFO); // log stuff to the console to help debug
-		
 		// viewport/camera stuff..
 		camera = new OrthographicCamera();
 		OSDcamera = new OrthographicCamera();
@@ -103,52 +112,46 @@ public class Arknoid1 implements ApplicationListener {
 		OSDcamera.position.set(SCENE_WIDTH * WORLD_TO_SCREEN * 0.5f, SCENE_HEIGHT * WORLD_TO_SCREEN * 0.5f, 0);
 		
 		
-		// batch and texture stuff..
+		// load the texture atlas, all the other objects get their images from it through textures.acquire()..
+		textures = new TextureCache(texturePack, false);
+		
+		// batch stuff..
 		batch = new SpriteBatch();
-		// load the background image Sprite from the texture atlas..
-		// atlas is assigned here and passed to all the other objects that use it
-		atlas = new TextureAtlas(Gdx.files.internal(texturePack));
 		
 		// debug for graphics..
 		debugGraphics = new DebugGraphics(viewport, logger, displayDebugGrid); // remove for production
-		// debug renderer for box2d, remove for production..
-		box2dDebugRenderer = new Box2DDebugRenderer(
-				true, /* draw bodies */
-				true, /* don't draw joints */
-				true, /* draw aabbs */
-				true, /* draw inactive bodies */
-				true, /* draw velocities */
-				true /* draw contacts */);
-		
-
-		// create physics World using box2d..
-		box2dWorld = new World(new Vector2(0, -9.8f), true);
-
-		
-		
 		
 		// create the background..
 		// TODO: move all the background stuff to it's own class, for clarity and consistency
-		background = new Sprite(atlas.findRegion("background"));
+		background = new Sprite(textures.acquire("background.png").region);
 		background.setCenter(0, 0); // centers the background
 		
-		// create all the other non-background objects..
-		// the order of the object instantiation matters here or you get a null pointer exception..
-		levelLoader = new LevelLoader();
-		// it would be cool to have the level load in a separate thread..
-		levelLoader.loadLevel(999); // load level data for level X, everything needed to construct a level retrieved here
-		
-		sounds = new SoundProcessor (levelLoader.getBackgroundMusic()); // the only audio component that changes per level is the background music, all soundfx are fixed (for now)
-		ball1 = new Ball (levelLoader.getBallTexture()); // each level may have it's own unique ball texture
-		vaus1 = new Vaus (levelLoader.getVausTexture(), ball1); // each level may have it's own unique vaus texture
-		bricks = new Bricks (levelLoader.loadBricks()); // pass a single level's bricks Array to Bricks object
-		walls = new Walls (levelLoader.getLeftWallTexture(), levelLoader.getRightWallTexture(), levelLoader.getCeilingTexture()); // each level may have it's own unique wall and ceiling textures
-		onScreenDisplay = new OnScreenDisplay(bricks, ball1, vaus1, 180); // start with x lives
-		contactProcessor = new ContactProcessor(bricks, sounds); // contactProcessor needs access to the bricks Array and game sounds
 		
-
+		// the game itself, the physics world and everything in it..
+		if(replayFile != null){ // the replay knows what level and settings it was recorded with
+			replay = new ReplayPlayer(InputRecording.load(replayFile));
+			session = replay.createSession(textures);
+		}
+		else{
+			session = new GameSession(textures, levelNumber, arcadeCollisions, startingBalls);
+			if(recordFile != null){ recording = session.startRecording(); }
+		}
 		
 		appType = Gdx.app.getType();
+		sounds = new SoundProcessor (session.getBackgroundMusic()); // the only audio component that changes per level is the background music, all soundfx are fixed (for now)
+		profiler = new FrameProfiler(session, gcCounter);
+		onScreenDisplay = new OnScreenDisplay(session, profiler, appType == ApplicationType.Android);
+		session.addEventListener(sounds);
+		if(replay == null){ // a replay plays itself, any input on top of it would be a different game
+			Gdx.input.setInputProcessor(new GameInput(session, viewport, onScreenDisplay, profiler, appType == ApplicationType.Android)); // mouse, keyboard and taps go to the session from here
+		}
+		else{
+			Gdx.input.setInputProcessor(new InputAdapter(){ // only the profiler keys, they don't touch the game
+				@Override
+				public boolean keyDown(int keycode){ return profiler.handleKey(keycode); }
+			});
+		}
+		
 		logger.info("###################### Game is running on: " + appType.toString() + " ######################");
 		
 		
@@ -161,53 +164,76 @@ public class Arknoid1 implements ApplicationListener {
 	
 	
 	
-	// TODO: got to make everything back so it uses one texture atlas.. need to update that in ALL the draw methods!
-	
 	@Override
 	public void render () {
+		boolean profiling = profiler.isShown(); // every profiler call below is skipped while it's hidden
+		if(profiling){ profiler.begin(FrameProfiler.UPDATE); }
 
-		// much of the 'updating' is done automatically by the box2d physics engine,
-		// but still some custom updating must be done, thus the following methods..
-		ball1.update();
-		vaus1.update();
-		bricks.update();
+		accumulator += Gdx.graphics.getDeltaTime();
+		
+		int steps = 0;
+		while(accumulator >= STEP_TIME && steps < MAX_STEPS_PER_FRAME){
+			if(replay != null){
+				if(replay.isFinished(session)){ accumulator = 0; break; } // the recorded game is over, it just stays on it's last step
+				replay.feed(session); // the commands that were given before this step
+			}
+			session.step();
+			accumulator -= STEP_TIME;
+			steps++;
+		}
+		if(steps == MAX_STEPS_PER_FRAME){ accumulator %= STEP_TIME; } // we fell too far behind, drop the backlog instead of trying to catch up next frame
+		float renderAlpha = accumulator / STEP_TIME; // 0..1, how far this frame is between the previous and current simulation step, used by the draw() methods
+		session.dispatchEvents(); // sounds, score, lives, etc for everything that happened in this frame's steps
+		if(profiling){ profiler.end(FrameProfiler.UPDATE); }
 		
 		// clear the screen..
 		Gdx.gl.glClearColor(1, 0.5f, 0, 1);
 		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 		
-		box2dWorld.step(1/60f, 6, 2); // this is the physics update timestep, not clear about how this works at this time
-		
+		if(profiling){ profiler.begin(FrameProfiler.WORLD_DRAW); }
+		Object trace = GameTrace.on ? GameTrace.sink.beginRenderPass("world") : null;
 		camera.update();
 		batch.setProjectionMatrix(camera.combined);
 		
 		batch.begin();	
 		//background.draw(batch); // background implementation is in this class
-		walls.draw();
-		ball1.draw();
-		vaus1.draw();
-		bricks.draw();
+		session.walls.draw(batch, renderAlpha);
+		session.balls.draw(batch, renderAlpha); // every ball in one pass
+		session.vaus.draw(batch, renderAlpha);
+		session.bricks.draw(batch, renderAlpha);
 		//bonusItems.draw();
 		batch.end();
+		int renderCalls = batch.renderCalls; // begin() starts the count over
+		if(trace != null){ GameTrace.sink.endRenderPass(trace, batch.renderCalls); }
+		if(profiling){ profiler.end(FrameProfiler.WORLD_DRAW); profiler.begin(FrameProfiler.OSD_DRAW); }
+		trace = GameTrace.on ? GameTrace.sink.beginRenderPass("osd") : null;
 		
 		//switch to the OSDcamera to draw the static text on screen (score, lives, etc)..
 		OSDcamera.update();
 		batch.setProjectionMatrix(OSDcamera.combined);
 		batch.begin();
-		onScreenDisplay.draw();
+		onScreenDisplay.draw(batch, renderAlpha); // the profiler overlay too, when it's shown
 		batch.end();
+		renderCalls += batch.renderCalls;
+		if(trace != null){ GameTrace.sink.endRenderPass(trace, batch.renderCalls); }
+		if(profiling){ profiler.end(FrameProfiler.OSD_DRAW); profiler.begin(FrameProfiler.DEBUG_DRAW); }
+		trace = GameTrace.on ? GameTrace.sink.beginRenderPass("debug") : null;
 	
 		
 		// drawDebugGraphics shows useful screen debug graphics like grids, remove for production
 		// the only thing implemented right now is the grid, add bounding rectangles?
 		//debugGraphics.drawDebugGraphics();
 		
-		// box2dDebugRenderer shows outlines of the box2d bodies ..
-		box2dDebugRenderer.render(box2dWorld, viewport.getCamera().combined);
-		
+		// debugDraw shows outlines of the physics bodies, remove for production..
+		session.physics.debugDraw(viewport.getCamera().combined);
+		if(trace != null){ GameTrace.sink.endRenderPass(trace, 0); } // box2d's renderer has it's own batches, they aren't counted
+		if(profiling){
+			profiler.end(FrameProfiler.DEBUG_DRAW);
+			profiler.endFrame(steps, renderCalls);
+		}
 	}
-
-
+	
+	
 	// resize is called when user resizes window, also once after create() method exits..
 	// won't render correctly (or at all) if you don't update the viewports here, even if you don't need to resize the screen
 	@Override
@@ -232,16 +258,15 @@ public class Arknoid1 implements ApplicationListener {
 	@Override
 	public void dispose() {
 		batch.dispose();
-		atlas.dispose();
 		debugGraphics.dispose(); // testing only: remove this for production
-		box2dDebugRenderer.dispose(); // testing only: remove this for production
-		box2dWorld.dispose();
-		walls.dispose();
-		vaus1.dispose();
-		ball1.dispose();
-		bricks.dispose(); // nothing happening here, may not need it
+		if(recording != null){
+			recording.save(recordFile);
+			logger.info("saved " + recording.size() + " commands, " + recording.getEndTick() + " steps, to " + recordFile.path());
+		}
+		session.dispose();
 		onScreenDisplay.dispose();
 		sounds.dispose();
+		textures.dispose(); // last, after everything above has released it's images
 		logger.info("exiting dispose() in Arknoid1..");
 	}
 
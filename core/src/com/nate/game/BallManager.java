@@ -0,0 +1,354 @@
+/**
+ *
+ */
+package com.nate.game;
+
+import static com.nate.game.Arknoid1.SCENE_HEIGHT;
+import static com.nate.game.Arknoid1.SCENE_WIDTH;
+import static com.nate.game.Arknoid1.SCREEN_TO_WORLD;
+import static com.nate.game.Arknoid1.logger;
+import static com.nate.game.CreateBody.createBody;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.MathUtils;
+import com.nate.game.ContactProcessor.ContactCategories;
+import com.nate.game.GameBody.GameBodies;
+import com.nate.game.PhysicsWorld.BodyKind;
+
+/**
+ * @author Nathan Merris
+ * The BallManager is every ball in play, there can be any number of them (BALLS_2 and BALLS_3 bonus items, or the stress mode).
+ * It works like BrickField and ProjectileSystem: there is no object per ball, ball number slot is element slot of a set of parallel arrays,
+ * and the slots in play are kept in a live list so update() and draw() visit every ball in one pass.
+ * That includes the velocity each ball had right before it's latest contact, which ContactProcessor needs to straighten out a bad bounce,
+ * every ball has it's own so two balls hitting things in the same step don't mix them up.
+ * A slot's body is made the first time the slot is used and kept (inactive) when the ball is lost, so it can come back for the next split.
+ * The arrays double in size when every slot is in play, that only ever happens in update(), outside of physics.step().
+ * Each body carries a GameBody whose index is the slot, so ContactProcessor can go straight from a contact to the arrays.
+ * A ball that hits the floor is only taken out of play while there are more than startingBalls of them, the last ones cost a life instead
+ * and keep bouncing, which is how the single ball has always worked.
+ */
+public class BallManager implements GameObject {
+
+	private static final int INITIAL_CAPACITY = 8; // slots to start with, a normal game never needs more
+	private static final float GOLDEN_ANGLE = 137.50776f; // degrees, how much further around each new ball heads off than the one before it
+
+	// think of a right triangle: the hypotenuse represents the ball's travel vector
+	// the hypotenuse can be broken down to it's x and y components, call them Vx and Vy, using the  Pythagorean theorem
+	// the length of the hypotenuse represents the speed of the ball, and should never change regardless of the direction the ball is heading
+	// so essentially ballSpeed = hypotenuse.. since we are dealing with right triangles, we can use basic geometry to
+	// manipulate the ball's Vx and Vy, whilst keeping the hypotenuse (aka ballSpeed) the SAME
+	// this is used in the ContactProcessor class to alter the bounce-off angle of the ball depending on it's direction of travel and where on Vaus the ball hits
+	// but for this game, we don't want the ball to ever travel perfectly vertically or horizontally,
+	// ballMaxVx and ballMaxVy set the bounds for how close to perfectly vert/horiz the ball may ever travel
+	public static final float ballSpeed = 4.0f; // how fast every ball moves
+	public static final float ballMaxVx = ballSpeed * 0.97f, ballMaxVy = ballSpeed * 0.97f; // the max x and y components of a ball's velocity vector, need this to avoid a ball going too close to completely vertical or horizontal
+	public static final float ballMinVx = ballSpeed * 0.15f, ballMinVy = ballSpeed * 0.15f;
+	public static final float ballVxAtMaxVy = (float)Math.sqrt(ballSpeed * ballSpeed - ballMaxVy * ballMaxVy);
+	public static final float ballVyAtMaxVx = (float)Math.sqrt(ballSpeed * ballSpeed - ballMaxVx * ballMaxVx);
+	public static final float ballVyAtMinVx = (float)Math.sqrt(ballSpeed * ballSpeed - ballMinVx * ballMinVx);
+	public static final float ballVxAtMinVy = (float)Math.sqrt(ballSpeed * ballSpeed - ballMinVy * ballMinVy);
+
+	float box2dBallRadius;					// every ball is the same size, from the ball texture
+
+	private PhysicsWorld physics;			// the session's physics world
+	private WorldCommandQueue worldCommands;
+	private TextureCache textures;
+	private Walls walls;					// the balls bounce off them
+	private boolean arcadeCollisions;		// see GameSession.arcadeCollisions
+
+	private float startingVx, startingVy;
+	private int startingBalls;				// balls in play at the start of every level, see GameSession.startingBalls
+	private int pendingSplits;				// new balls waiting for update(), a split is found out about inside physics.step() where no body can be touched
+	private int splitCount;					// every ball that ever split off, each one's direction depends on it
+	private float minDegrees, maxDegrees;	// the angles away from horizontal a ball is allowed to travel at, from ballMaxVx and ballMinVx
+	private GameImage ballTex;				// texture to draw every ball with
+
+	// one element per slot, indexed by slot..
+	boolean[] isAlive;						// true while the ball is in play
+	int[] body;								// the slot's physics body handle, NO_BODY until the slot is first used
+	float[] previousX, previousY;			// ball position before the latest simulation step, used to interpolate drawing between steps, and ArcadeCollision sweeps from here
+	float[] preContactVx, preContactVy;		// the ball's velocity right before it's latest contact, see ContactProcessor.checkBallBounce()
+	private float[] pausedVx, pausedVy;		// only used in stop() and start()
+
+	// the live list, same as BrickField's: live[0] to live[liveCount - 1] are the slots in play
+	int[] live;
+	int liveCount;
+	private int[] livePosition;				// where slot is in the live list, -1 when it's not in play
+
+	private int[] free;						// slots not in play, on top are the ones that already have a body
+	private int freeCount;
+	private int capacity;
+
+
+	// constructor..
+	public BallManager(GameSession session, String textureFileName, int startingBalls){ // the texture file name string is read in by the session's LevelLoader
+		physics = session.physics;
+		worldCommands = session.worldCommands;
+		textures = session.textures;
+		walls = session.walls;
+		arcadeCollisions = session.arcadeCollisions;
+
+		startingVx = 1.85f; // the starting ball velocity vector x component ***MUST NOT BE > ballSpeed***
+		startingVy = -(float)Math.sqrt(ballSpeed * ballSpeed - startingVx * startingVx);
+
+		logger.info("ballSpeed = " + ballSpeed);
+		logger.info("ballMaxVx = ballMaxVy = " + ballMaxVx);
+		logger.info("startingVx = " + startingVx + " and startingVy = " + startingVy);
+		if(startingVx >= ballMaxVx){ logger.info("starting ball Vx exceeded ballMaxVx!!"); }
+		if(startingVy >= ballMaxVy){ logger.info("starting ball Vy exceeded ballMaxVy!!"); }
+		minDegrees = (float)Math.toDegrees(Math.acos(ballMaxVx / ballSpeed));
+		maxDegrees = (float)Math.toDegrees(Math.acos(ballMinVx / ballSpeed));
+
+		// load the texture..
+		ballTex = textures.acquire(textureFileName);
+		box2dBallRadius = ballTex.width * SCREEN_TO_WORLD * 0.5f;
+
+		this.startingBalls = Math.max(1, startingBalls);
+		allocate(Math.max(INITIAL_CAPACITY, MathUtils.nextPowerOfTwo(this.startingBalls)));
+
+		// the first ball goes in right away, the rest of the starting balls split off it in the first update()
+		launch(obtainSlot(), SCENE_WIDTH * 0.5f, Vaus.VAUS_ELEVATION * 4.5f, startingVx, startingVy);
+		pendingSplits = this.startingBalls - 1;
+
+		logger.info("BallManager constructor exiting..");
+	}
+
+
+	// makes the arrays bigger, keeping every slot where it is, the new slots go under the free ones so slots with bodies are still used first
+	private void allocate(int newCapacity){
+		isAlive = grow(isAlive, newCapacity);
+		body = grow(body, newCapacity);
+		previousX = grow(previousX, newCapacity);
+		previousY = grow(previousY, newCapacity);
+		preContactVx = grow(preContactVx, newCapacity);
+		preContactVy = grow(preContactVy, newCapacity);
+		pausedVx = grow(pausedVx, newCapacity);
+		pausedVy = grow(pausedVy, newCapacity);
+		live = grow(live, newCapacity);
+		livePosition = grow(livePosition, newCapacity);
+
+		int[] newFree = new int[newCapacity];
+		int added = newCapacity - capacity;
+		for(int i = 0; i < added; i++){ // backwards, so the lowest new slot is used first
+			int slot = newCapacity - 1 - i;
+			body[slot] = PhysicsWorld.NO_BODY;
+			livePosition[slot] = -1;
+			newFree[i] = slot;
+		}
+		if(free != null){ System.arraycopy(free, 0, newFree, added, freeCount); }
+		free = newFree;
+		freeCount += added;
+		capacity = newCapacity;
+	}
+
+	private static boolean[] grow(boolean[] a, int n){ boolean[] b = new boolean[n]; if(a != null){ System.arraycopy(a, 0, b, 0, a.length); } return b; }
+	private static int[] grow(int[] a, int n){ int[] b = new int[n]; if(a != null){ System.arraycopy(a, 0, b, 0, a.length); } return b; }
+	private static float[] grow(float[] a, int n){ float[] b = new float[n]; if(a != null){ System.arraycopy(a, 0, b, 0, a.length); } return b; }
+
+
+	// a free slot with a body, the arrays grow and the body is made if they have to be.. never call this inside physics.step()
+	private int obtainSlot(){
+		if(freeCount == 0){
+			allocate(capacity * 2);
+			logger.info("BallManager: more than " + (capacity / 2) + " balls in play, now room for " + capacity);
+		}
+		int slot = free[--freeCount];
+		if(body[slot] == PhysicsWorld.NO_BODY){
+
+			// with the arcade collision engine the ball goes right through bricks and walls as far as box2d is concerned,
+			// ArcadeCollision bounces it off them after every step instead, box2d only handles the ball against vaus and the flippers
+			// balls never hit each other either, so a split doesn't knock the new balls straight back into one another
+			short mask = arcadeCollisions ? (short)(ContactCategories.BRICK.getMask() & ContactCategories.WALLS.getMask() & ContactCategories.BALL.getMask())
+										  : ContactCategories.BALL.getMask();
+
+			// using overloaded createBody constructor for circular body creation..
+			body[slot] = createBody(physics, BodyKind.DYNAMIC, 		// body type
+					 false, ContactCategories.BALL, mask,				// is body a sensor?, sensor group bits, mask bits
+					 0, new GameBody<BallManager>(GameBodies.BALL, this, slot), // gravity scale, userData, the GameBody index is the slot
+					 SCENE_WIDTH * 0.5f, Vaus.VAUS_ELEVATION * 4.5f, 	// initial x and y positions
+					 1.0f, 1.0f, 0.0f, 									// density, restitution, friction
+					 box2dBallRadius); 									// radius of circular body to be created
+		}
+		return slot;
+	}
+
+
+	// puts a slot in play at (x, y) moving at (vx, vy)
+	private void launch(int slot, float x, float y, float vx, float vy){
+		isAlive[slot] = true;
+		physics.setActive(body[slot], true);
+		physics.setPosition(body[slot], x, y);
+		physics.setVelocity(body[slot], vx, vy);
+		previousX[slot] = x; // nothing to interpolate from yet
+		previousY[slot] = y;
+		preContactVx[slot] = vx;
+		preContactVy[slot] = vy;
+		livePosition[slot] = liveCount;
+		live[liveCount++] = slot;
+	}
+
+
+	// takes slot out of play, inside physics.step() the body is deactivated by the WorldCommandQueue right after the step
+	private void remove(int slot, boolean duringStep){
+		isAlive[slot] = false;
+		if(duringStep){ worldCommands.deactivate(body[slot]); }
+		else { physics.setActive(body[slot], false); }
+
+		// swap the last live slot into this slot's place in the live list..
+		int position = livePosition[slot];
+		int last = live[--liveCount];
+		live[position] = last;
+		livePosition[last] = position;
+		livePosition[slot] = -1;
+
+		free[freeCount++] = slot;
+	}
+
+
+	// called from ContactProcessor when vaus catches a BALLS_2 or BALLS_3 item, inside physics.step(), so the new balls wait for update()
+	public void split(int newBalls){
+		pendingSplits += newBalls;
+	}
+
+
+	/**
+	 * Called from ContactProcessor and ArcadeCollision when the ball in slot hits the floor.
+	 * While there are more than startingBalls in play the ball is simply taken out of play, otherwise it's the last one and costs a life.
+	 * box2d often reports the same hit twice, a ball that was already taken out in this step is ignored.
+	 * @return true if a life was lost, false if the ball was taken out of play (or already had been)
+	 */
+	public boolean lose(int slot){
+		if(!isAlive[slot]){ return false; }
+		if(liveCount <= startingBalls){ return true; } // the last ball keeps bouncing, like it always has
+		remove(slot, true);
+		return false;
+	}
+
+
+	// the ball's body handle in slot
+	public int getBody(int slot){
+		return body[slot];
+	}
+
+	// how many balls are in play right now
+	public int getLiveCount(){
+		return liveCount;
+	}
+
+
+	@Override
+	public void update(){
+		// new balls from a split head off from the first ball in play, each one in a direction of it's own,
+		// GOLDEN_ANGLE further around than the last ball that split off, so no two balls ever share a path no matter how many there are
+		if(pendingSplits > 0){
+			int source = live[0];
+			float x = physics.getX(body[source]), y = physics.getY(body[source]);
+			float sourceDegrees = MathUtils.atan2(physics.getVelocityY(body[source]), physics.getVelocityX(body[source])) * MathUtils.radiansToDegrees;
+			for(int k = 0; k < pendingSplits; k++){
+				float degrees = (sourceDegrees + ++splitCount * GOLDEN_ANGLE) % 360f;
+				if(degrees < 0){ degrees += 360f; }
+				// squeeze the angle into the part of it's quadrant the ball is allowed to travel in, not too close to horizontal or vertical
+				// (see ContactProcessor.checkBallBounce()), a squeeze and not a clamp so directions that were different stay different
+				int quadrant = (int)(degrees / 90f) & 3;
+				float angle = minDegrees + (degrees % 90f) * (maxDegrees - minDegrees) / 90f;
+				float vx = ballSpeed * MathUtils.cosDeg(angle), vy = ballSpeed * MathUtils.sinDeg(angle);
+				launch(obtainSlot(), x, y, quadrant == 1 || quadrant == 2 ? -vx : vx, quadrant >= 2 ? -vy : vy);
+			}
+			pendingSplits = 0;
+		}
+
+		if(arcadeCollisions){ return; } // ArcadeCollision never misses a wall, none of this is needed
+
+		// for some reason, box2d is not detecting when the ball collides with the wall or ceiling when
+		// the ball hits the wall/ceiling at too shallow an angle, I feel this is a glitch in the physics engine
+		// although I am abusing it somewhat by forcing things to have zero friction and gravity.. m.e.h.
+		// so to work around it, I am just manually changing the ball velocity vector as needed..
+		// won't work without the 1.1 multiplier
+		// TODO put all this in ContactProcessor class
+		float box2dWallWidth = walls.box2dWallWidth;
+		float right = SCENE_WIDTH - box2dWallWidth - box2dBallRadius * 1.1f, left = box2dWallWidth + box2dBallRadius * 1.1f;
+		float top = SCENE_HEIGHT - box2dWallWidth - box2dBallRadius * 1.1f, bottom = box2dWallWidth + box2dBallRadius * 1.1f;
+		for(int i = 0; i < liveCount; i++){
+			int b = body[live[i]];
+			float x = physics.getX(b), y = physics.getY(b);
+			if(x >= right || x <= left){ // ball hit either wall
+				physics.setVelocity(b, -physics.getVelocityX(b), physics.getVelocityY(b)); // reverse only the x direction when bouncing off either wall
+			}
+			else if(y >= top || y <= bottom){ // ball hit ceiling or floor
+				physics.setVelocity(b, physics.getVelocityX(b), -physics.getVelocityY(b)); // reverse y component
+			}
+		}
+	}
+
+
+	// called from GameSession before every simulation step
+	public void savePreviousPositions(){
+		for(int i = 0; i < liveCount; i++){
+			int slot = live[i];
+			previousX[slot] = physics.getX(body[slot]);
+			previousY[slot] = physics.getY(body[slot]);
+		}
+	}
+
+
+	@Override
+	public void draw(Batch batch, float renderAlpha){
+		// every ball part way between where it was before the last step and where it is now, so motion is smooth at any frame rate
+		// they all use the same image, so the whole lot goes to the batch in one go
+		float diameter = box2dBallRadius * 2.0f;
+		for(int i = 0; i < liveCount; i++){
+			int slot = live[i];
+			batch.draw(ballTex.region, // texture
+					   MathUtils.lerp(previousX[slot], physics.getX(body[slot]), renderAlpha) - box2dBallRadius, // bottom left x
+					   MathUtils.lerp(previousY[slot], physics.getY(body[slot]), renderAlpha) - box2dBallRadius, // bottom left y
+					   box2dBallRadius, box2dBallRadius, // originX, originY (for translations)
+					   diameter, diameter, // width, height
+					   1f, 1f, // scaleX, scaleY
+					   0 // rotate, 0 means do not rotate
+					   );
+		}
+	}
+
+
+	@Override
+	public void stop(){
+		for(int i = 0; i < liveCount; i++){
+			int slot = live[i];
+			pausedVx[slot] = physics.getVelocityX(body[slot]);
+			pausedVy[slot] = physics.getVelocityY(body[slot]);
+			physics.setVelocity(body[slot], 0, 0); // stop the ball instantly
+		}
+	}
+
+
+	@Override
+	public void start(){
+		for(int i = 0; i < liveCount; i++){
+			int slot = live[i];
+			physics.setVelocity(body[slot], pausedVx[slot], pausedVy[slot]); // resume with the same velocity before being stopped
+		}
+	}
+
+
+	// back to one ball where the first one started, moving the way it started, called from GameSession when the next level begins
+	// the rest of the starting balls split off it again in the next update()
+	public void reset(){
+		while(liveCount > 1){ remove(live[liveCount - 1], false); }
+		int slot = live[0];
+		physics.setPosition(body[slot], SCENE_WIDTH * 0.5f, Vaus.VAUS_ELEVATION * 4.5f);
+		physics.setVelocity(body[slot], startingVx, startingVy);
+		previousX[slot] = SCENE_WIDTH * 0.5f; // don't interpolate from where the last level ended
+		previousY[slot] = Vaus.VAUS_ELEVATION * 4.5f;
+		pendingSplits = startingBalls - 1;
+	}
+
+
+	// the bodies go away with the physics world, only the texture needs giving back
+	@Override
+	public void dispose(){
+		textures.release(ballTex);
+		logger.info("BallManager dispose() method exiting..");
+	}
+
+}
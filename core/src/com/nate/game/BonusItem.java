@@ -4,18 +4,12 @@
 package com.nate.game;
 
 import static com.nate.game.Arknoid1.SCREEN_TO_WORLD;
-import static com.nate.game.CreateBody.createBody;
-import static com.nate.game.Arknoid1.batch;
-import static com.nate.game.Arknoid1.logger;
 
-import static com.nate.game.Projectile.ProjectileTypes; // holds all the different projectileType types that can be fired from vaus
+import static com.nate.game.ProjectileSystem.ProjectileTypes; // holds all the different projectileType types that can be fired from vaus
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.physics.box2d.Body;
-import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.MathUtils;
 import com.nate.game.BonusItem.ItemTypes;
-import com.nate.game.ContactProcessor.ContactCategories;
 
 /**
  * @author natenator
@@ -24,67 +18,37 @@ import com.nate.game.ContactProcessor.ContactCategories;
 public class BonusItem implements GameObject{
 
 	public enum ItemTypes{ // items can be hidden inside bricks, some good, some bad
-		NO_ITEM, VAUS_WIDE, VAUS_SMALL, LASER, BOMB, BALLS_2, BALLS_3, BALL_BIG, GRAVITY, EXTRA_LIFE
+		NO_ITEM, VAUS_WIDE, VAUS_SMALL, LASER, BOMB, BALLS_2, BALLS_3, BALL_BIG, GRAVITY, EXTRA_LIFE,
+		RAPID_LASER, SPREAD_LASER // new ones go on the end, level files store these by ordinal
 	}
 	
 	boolean isAlive; // true when on screen
 	private float speed; // the rate of change of the bonus item as it drops from it's brick
 	private float startingX, startingY; // the x,y coords where the bonus item should start falling
 	private ItemTypes bonusItem; // represents the different types of bonus items that can be 'caught' by vaus
-	private Body body;
-	private Texture tex;
+	private BonusItemBodies.ItemBody itemBody; // borrowed from BonusItemBodies while falling, null until drop() and once it's gone
+	private int body = PhysicsWorld.NO_BODY; // itemBody's physics body handle, NO_BODY whenever itemBody is null
+	private BonusItemBodies bodies; // where itemBody goes back to
+	private GameImage tex; // only acquired once the item starts falling
 	private float width, height;
+	private float previousX, previousY; // body position before the latest simulation step, used to interpolate drawing between steps
+	private PhysicsWorld physics; // the session's physics world
+	private WorldCommandQueue worldCommands;
+	private TextureCache textures;
 	
 	// constructor..
 	// pass in the item type and the x,y coords where the ball hit the brick to reveal the bonus item
-	public BonusItem (ItemTypes type, float x, float y){
+	// made by BrickField.damage() when the item's brick is destroyed (until then the brick only keeps the item type), no body and no texture yet, see startFalling() and drop()
+	public BonusItem (GameSession session, ItemTypes type, float x, float y){
+		physics = session.physics;
+		worldCommands = session.worldCommands;
+		textures = session.textures;
 		this.bonusItem = type;
 		this.startingX = x;
 		this.startingY = y;
 		
 		speed = 1.5f;
 		isAlive = false; 
-		
-		switch(bonusItem){
-			case LASER:
-				this.tex = new Texture(Gdx.files.internal("item_laser.png")); // load the texture
-				this.width = tex.getWidth() * SCREEN_TO_WORLD;
-				this.height = tex.getHeight() * SCREEN_TO_WORLD;
-				break;
-			case BOMB:
-				this.tex = new Texture(Gdx.files.internal("item_bomb.png")); // load the texture
-				this.width = tex.getWidth() * SCREEN_TO_WORLD;
-				this.height = tex.getHeight() * SCREEN_TO_WORLD;
-				break;
-			case EXTRA_LIFE:
-				this.tex = new Texture(Gdx.files.internal("item_extralife.png")); // load the texture
-				this.width = tex.getWidth() * SCREEN_TO_WORLD;
-				this.height = tex.getHeight() * SCREEN_TO_WORLD;
-				break;
-			case NO_ITEM:
-				break;
-			default:
-				break;
-		}
-		
-		if(bonusItem != ItemTypes.NO_ITEM){
-			// we do not want the bonus item to collide with the ball, bricks, or projectiles
-			// to set the correct mask, bitwise AND the masks of the other objects you do not want to collide with..
-			short mask = (short)(ContactCategories.BRICK.getMask() & ContactCategories.BALL.getMask() & ContactCategories.PROJECTILE.getMask());
-				
-			
-			this.body = createBody(BodyType.DynamicBody,  			// body type
-				   	 false, ContactCategories.BONUS_ITEM, mask, 	// is body a sensor?, sensor category, sensor mask
-				   	 0.1f, new GameBody<BonusItem>(this),			// gravity scale, userData
-				   	 x, y,											// initial x and y positions
-					 1.0f, 0, 0, 									// density, restitution, friction
-					 width * 0.5f, height * 0.5f); 					// halfWidth, halfHeight
-			
-			body.setActive(false); // start inactive
-		}
-
-	
-	
 	}
 	
 	public ItemTypes getBonusItemType(){
@@ -96,7 +60,7 @@ public class BonusItem implements GameObject{
 	}
 	
 	public boolean isProjectile(){
-		if(bonusItem == ItemTypes.LASER || bonusItem == ItemTypes.BOMB){
+		if(getProjectileType() != ProjectileTypes.NO_PROJECTILE){
 			return true;
 		}
 		else return false;
@@ -109,6 +73,10 @@ public class BonusItem implements GameObject{
 				return ProjectileTypes.LASER;
 			case BOMB:
 				return ProjectileTypes.BOMB;
+			case RAPID_LASER:
+				return ProjectileTypes.RAPID_LASER;
+			case SPREAD_LASER:
+				return ProjectileTypes.SPREAD_LASER;
 			default:
 				return ProjectileTypes.NO_PROJECTILE;
 		}
@@ -117,32 +85,99 @@ public class BonusItem implements GameObject{
 	
 	
 
-	// as opposed to the other draw() methods, this one is only called from Bricks.java
+	// called from BrickField.damage() when this item's brick is destroyed, usually from inside a contact callback..
+	// a body can't be set up until the step is over, so BrickField.update() calls drop() before the next step
+	public void startFalling(){
+		if(bonusItem == ItemTypes.NO_ITEM || isAlive){ return; }
+		isAlive = true;
+		
+		switch(bonusItem){
+			case LASER:
+			case RAPID_LASER: // no capsule images of their own yet
+			case SPREAD_LASER:
+				this.tex = textures.acquire("item_laser.png"); // load the texture
+				break;
+			case BOMB:
+				this.tex = textures.acquire("item_bomb.png"); // load the texture
+				break;
+			case EXTRA_LIFE:
+			case BALLS_2: // no capsule images of their own yet
+			case BALLS_3:
+				this.tex = textures.acquire("item_extralife.png"); // load the texture
+				break;
+			default:
+				break;
+		}
+		if(tex != null){
+			this.width = tex.width * SCREEN_TO_WORLD;
+			this.height = tex.height * SCREEN_TO_WORLD;
+		}
+	}
+	
+	// true between startFalling() and drop(), the item is falling but has no body yet
+	public boolean needsBody(){
+		return isAlive && itemBody == null;
+	}
+	
+	// called from BrickField.update(), outside of physics.step().. borrows a body and starts it falling from where the brick was
+	public void drop(BonusItemBodies bodies){
+		this.bodies = bodies;
+		itemBody = bodies.obtain();
+		itemBody.gameBody.setSpecificBodyObject(this);
+		body = itemBody.body;
+		physics.setPosition(body, startingX, startingY);
+		physics.stop(body); // it might still be moving from the last item that used it
+		physics.setActive(body, true);
+		savePreviousPosition();
+	}
+	
+	// called from ContactProcessor when vaus catches the item or it hits the floor..
+	// box2d often reports the same hit twice, only the first call does anything, so the body goes back to the pool exactly once
+	// returns true only for that first call
+	public boolean kill(){
+		if(!isAlive){ return false; }
+		isAlive = false;
+		releaseBody(true);
+		return true;
+	}
+	
+	// the body is taken out of the simulation and handed back to BonusItemBodies, nobody takes it again before the next BrickField.update(),
+	// and by then the WorldCommandQueue has deactivated it.. the GameBody keeps pointing here until then, so a second report of the same hit
+	// in this step still finds this (dead) item
+	private void releaseBody(boolean duringStep){
+		if(itemBody == null){ return; }
+		if(duringStep){ worldCommands.deactivate(body); }
+		else { physics.setActive(body, false); }
+		bodies.free(itemBody);
+		itemBody = null;
+		body = PhysicsWorld.NO_BODY;
+	}
+
+	// called from BrickField.savePreviousPositions() before every simulation step
+	public void savePreviousPosition(){
+		if(body != PhysicsWorld.NO_BODY){
+			previousX = physics.getX(body);
+			previousY = physics.getY(body);
+		}
+	}
+
+	// as opposed to the other draw() methods, this one is only called from BrickField.java
 	// because each brick may or may not have a bonus item.. it makes intuitive sense, and it eliminates
 	// the need for a separate class and an associated array that draws each bonus item.. there is already
-	// an array in Bricks.java that loops through all the bricks, why not use it to call the BonusItem draw method
+	// a list in BrickField.java that holds the falling items, why not use it to call the BonusItem draw method
 	@Override
-	public void draw() {
+	public void draw(Batch batch, float renderAlpha) {
 		
-		// I wanted to put the setActive(boolean) methods in ContactProcessor class, but libgdx gets angry when you try to modify bodies in
-		// certain ways (like making them inactive) while they are in the process of detecting and reacting to collisions
 		if(bonusItem != ItemTypes.NO_ITEM){ // check if this brick has a bonus item
-			if(isAlive){ // the bonus item is alive, it 'dies' when you catch it with vaus, or it falls past the bottom of the screen
-				body.setActive(true); // set the box2d physics engine body to active
-				
-				batch.draw(tex, // texture
-					   	   body.getPosition().x - width * 0.5f, // bottom left x
-						   body.getPosition().y - height * 0.5f, // bottom left y
-						   body.getLocalCenter().x, body.getLocalCenter().y, // originX, originY (for translations)
+			if(isAlive && body != PhysicsWorld.NO_BODY && tex != null){ // the bonus item is alive, it 'dies' when you catch it with vaus, or it falls past the bottom of the screen
+				batch.draw(tex.region, // texture
+					   	   MathUtils.lerp(previousX, physics.getX(body), renderAlpha) - width * 0.5f, // bottom left x, interpolated between simulation steps
+						   MathUtils.lerp(previousY, physics.getY(body), renderAlpha) - height * 0.5f, // bottom left y
+						   width * 0.5f, height * 0.5f, // originX, originY (for translations)
 						   width, height, // width, height
 						   1f, 1f, // scaleX, scaleY
-						   0, // rotate, 0 means do not rotate
-						   0, 0, // srcX, srcY (?)
-						   tex.getWidth(), tex.getHeight(), // srcWidth, srcHeight
-						   false, false // flipX, flipY
+						   0 // rotate, 0 means do not rotate
 						   );
-			} else {
-				body.setActive(false); // remove this inactive bonus item from the box2d simulation
 			}
 		}
 		
@@ -151,10 +186,10 @@ public class BonusItem implements GameObject{
 
 
 
+	// nothing to do every step: startFalling() and kill() post the body changes to the WorldCommandQueue,
+	// because libgdx gets angry when you try to modify bodies while they are in the process of detecting and reacting to collisions
 	@Override
 	public void update() {
-		// TODO Auto-generated method stub
-		
 	}
 
 	@Override
@@ -169,9 +204,18 @@ public class BonusItem implements GameObject{
 		
 	}
 	
-	// TODO: need to call this dispose() method after it's isAlive field is set to false after it has already dropped..
+	// called from BrickField.removeAll() between levels, only an item that is still falling has a body to give back
+	public void releaseBody(){
+		isAlive = false;
+		releaseBody(false);
+	}
+	
+	// called from BrickField once the item is gone, or when the level is cleared out, calling it twice is fine
 	public void dispose() {
-		tex.dispose();
+		if(tex != null){ // only items that started falling acquired a texture
+			textures.release(tex);
+			tex = null;
+		}
 
 	}
 
@@ -0,0 +1,72 @@
+/**
+ *
+ */
+package com.nate.game;
+
+import static com.nate.game.Arknoid1.SCREEN_TO_WORLD;
+import static com.nate.game.Arknoid1.logger;
+import static com.nate.game.CreateBody.createBody;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+import com.nate.game.ContactProcessor.ContactCategories;
+import com.nate.game.GameBody.GameBodies;
+import com.nate.game.PhysicsWorld.BodyKind;
+
+/**
+ * @author Nathan Merris
+ * The physics bodies of falling bonus items, shared by every item of every level.
+ * A bonus item is just data while it's hidden in it's brick, it only borrows a body from here when it starts to fall,
+ * and gives it back when vaus catches it or it hits the floor, so a level with lots of items hidden in it doesn't cost any more
+ * bodies (or load time) than a level without any.
+ * MAX_FALLING bodies are made up front, that's more than ever fall at the same time, but if it ever runs out obtain() just makes another one.
+ * obtain() must only be called outside of physics.step(), because that's the only time a body can be created (BrickField.update() does it).
+ * A body waiting in the pool is inactive, so box2d skips it completely.
+ */
+public class BonusItemBodies extends Pool<BonusItemBodies.ItemBody> {
+
+	static final int MAX_FALLING = 8; // bonus items that can be falling at the same time before the pool has to grow
+	static final float ITEM_SIZE = 32 * SCREEN_TO_WORLD; // every item image is 32x32 pixels, so every pooled body is the same size
+
+	// one pooled body, and the GameBody that tells ContactProcessor which bonus item is using it right now
+	static class ItemBody {
+		int body;
+		GameBody<BonusItem> gameBody;
+	}
+
+
+	private PhysicsWorld physics; // the session's physics world, the bodies are made in it
+
+
+	// constructor..
+	public BonusItemBodies(PhysicsWorld physics){
+		super(MAX_FALLING);
+		this.physics = physics;
+		Array<ItemBody> warm = new Array<ItemBody>(MAX_FALLING);
+		for(int i = 0; i < MAX_FALLING; i++){ warm.add(obtain()); }
+		freeAll(warm);
+		logger.info("BonusItemBodies constructor exiting..");
+	}
+
+
+	@Override
+	protected ItemBody newObject(){
+		if(peak >= MAX_FALLING){ logger.info("BonusItemBodies: more than " + MAX_FALLING + " bonus items falling at once, making another body"); }
+
+		// we do not want the bonus item to collide with the ball, bricks, or projectiles
+		// to set the correct mask, bitwise AND the masks of the other objects you do not want to collide with..
+		short mask = (short)(ContactCategories.BRICK.getMask() & ContactCategories.BALL.getMask() & ContactCategories.PROJECTILE.getMask());
+
+		ItemBody itemBody = new ItemBody();
+		itemBody.gameBody = new GameBody<BonusItem>(GameBodies.BONUS_ITEM, null); // no item yet, BonusItem.drop() fills it in
+		itemBody.body = createBody(physics, BodyKind.DYNAMIC,  		// body type
+			   	 false, ContactCategories.BONUS_ITEM, mask, 		// is body a sensor?, sensor category, sensor mask
+			   	 0.1f, itemBody.gameBody,							// gravity scale, userData
+			   	 0, 0,												// initial x and y positions, BonusItem.drop() moves it to it's brick
+				 1.0f, 0, 0, 										// density, restitution, friction
+				 ITEM_SIZE * 0.5f, ITEM_SIZE * 0.5f); 				// halfWidth, halfHeight
+		physics.setActive(itemBody.body, false); // waits in the pool inactive
+		return itemBody;
+	}
+
+}
@@ -0,0 +1,302 @@
+/**
+ *
+ */
+package com.nate.game;
+
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.Box2DDebugRenderer;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.ContactFilter;
+import com.badlogic.gdx.physics.box2d.ContactImpulse;
+import com.badlogic.gdx.physics.box2d.ContactListener;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.Manifold;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.QueryCallback;
+import com.badlogic.gdx.physics.box2d.Shape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.physics.box2d.joints.RevoluteJointDef;
+
+/**
+ * @author Nathan Merris
+ * The PhysicsWorld the game has always used: box2d, through libgdx.
+ * Handles are indexes into the bodies array, freed handles are reused, so after the first level nothing grows.
+ * Each box2d body's userData is it's Handle, so a contact goes from box2d's bodies back to handles without looking anything up.
+ * Every body's collision filter bits are also kept here by handle, and box2d is given a ContactFilter that checks them,
+ * libgdx's own filter asks the native side for both fixtures' filter data every time two bodies' bounding boxes start overlapping,
+ * which with hundreds of balls (that never collide with each other) was a third of the step.
+ */
+public class Box2DPhysicsWorld implements PhysicsWorld {
+
+	private static final int VELOCITY_ITERATIONS = 6, POSITION_ITERATIONS = 2; // what Arknoid1 always stepped box2d with
+
+	// box2d body userData, one per handle, made once and reused along with the handle
+	private static class Handle {
+		final int id;
+		Handle(int id){ this.id = id; }
+	}
+
+	private World world;
+	private Body[] bodies = new Body[64];		// indexed by handle, null for a free handle
+	private GameBody<?>[] gameBodies = new GameBody<?>[64];
+	private Handle[] handles = new Handle[64];
+	private short[] categories = new short[64];	// each body's collision filter bits, by handle, see contactFilter
+	private short[] masks = new short[64];
+	private boolean[] isStatic = new boolean[64];	// by handle, static bodies never move so checksum() skips asking box2d where they are
+	private int highestHandle;					// handles from 0 to highestHandle - 1 have been handed out at some point
+	private int[] freeHandles = new int[64];	// destroyed bodies' handles, waiting to be reused
+	private int freeCount;
+	private int bodyCount;
+
+	private ContactHandler contactHandler;
+	private QueryHandler queryHandler; // the queryArea() in progress
+	private Box2DDebugRenderer debugRenderer; // only made the first time debugDraw() is called, never when running headless
+
+
+	// constructor..
+	public Box2DPhysicsWorld(float gravityX, float gravityY){
+		world = new World(new Vector2(gravityX, gravityY), true);
+		world.setContactFilter(contactFilter);
+		world.setContactListener(new ContactListener(){ // made once, just turns box2d's bodies into handles
+			@Override
+			public void beginContact(Contact contact){
+				if(contactHandler != null){ contactHandler.beginContact(handleOf(contact.getFixtureA()), handleOf(contact.getFixtureB())); }
+			}
+			@Override
+			public void endContact(Contact contact){
+				if(contactHandler != null){ contactHandler.endContact(handleOf(contact.getFixtureA()), handleOf(contact.getFixtureB())); }
+			}
+			@Override
+			public void preSolve(Contact contact, Manifold oldManifold){
+			}
+			@Override
+			public void postSolve(Contact contact, ContactImpulse impulse){
+				if(contactHandler != null){ contactHandler.postSolve(handleOf(contact.getFixtureA()), handleOf(contact.getFixtureB())); }
+			}
+		});
+	}
+
+
+	private static int handleOf(Fixture fixture){
+		return ((Handle) fixture.getBody().getUserData()).id;
+	}
+
+	// the same test box2d's default filter does (every body has one fixture and no group), only with the bits kept on this side
+	private final ContactFilter contactFilter = new ContactFilter(){
+		@Override
+		public boolean shouldCollide(Fixture fixtureA, Fixture fixtureB){
+			int a = handleOf(fixtureA), b = handleOf(fixtureB);
+			return (masks[a] & categories[b]) != 0 && (categories[a] & masks[b]) != 0;
+		}
+	};
+
+	private final QueryCallback queryCallback = new QueryCallback(){ // made once, so a query never allocates
+		@Override
+		public boolean reportFixture(Fixture fixture){
+			return queryHandler.report(handleOf(fixture));
+		}
+	};
+
+
+	@Override
+	public int createBox(BodyKind kind, boolean isSensor, short category, short mask, float gravityScale, GameBody<?> userData,
+			float x, float y, float density, float restitution, float friction, float halfWidth, float halfHeight){
+		PolygonShape shape = new PolygonShape();
+		shape.setAsBox(halfWidth, halfHeight);
+		return create(kind, isSensor, category, mask, gravityScale, userData, x, y, density, restitution, friction, shape);
+	}
+
+
+	@Override
+	public int createCircle(BodyKind kind, boolean isSensor, short category, short mask, float gravityScale, GameBody<?> userData,
+			float x, float y, float density, float restitution, float friction, float radius){
+		CircleShape shape = new CircleShape();
+		shape.setRadius(radius);
+		return create(kind, isSensor, category, mask, gravityScale, userData, x, y, density, restitution, friction, shape);
+	}
+
+
+	// one body with one fixture, the shape is disposed here
+	private int create(BodyKind kind, boolean isSensor, short category, short mask, float gravityScale, GameBody<?> userData,
+			float x, float y, float density, float restitution, float friction, Shape shape){
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.type = kind == BodyKind.STATIC ? BodyType.StaticBody : (kind == BodyKind.KINEMATIC ? BodyType.KinematicBody : BodyType.DynamicBody);
+		bodyDef.position.set(x, y);
+		bodyDef.angle = 0;
+		Body body = world.createBody(bodyDef);
+
+		FixtureDef fixtureDef = new FixtureDef();
+		fixtureDef.isSensor = isSensor;
+		fixtureDef.filter.categoryBits = category;
+		fixtureDef.filter.maskBits = mask;
+		fixtureDef.density = density;
+		fixtureDef.restitution = restitution;
+		fixtureDef.friction = friction;
+		fixtureDef.shape = shape;
+		body.createFixture(fixtureDef);
+		body.setGravityScale(gravityScale);
+		shape.dispose();
+
+		int handle = newHandle();
+		bodies[handle] = body;
+		gameBodies[handle] = userData;
+		categories[handle] = category;
+		masks[handle] = mask;
+		isStatic[handle] = kind == BodyKind.STATIC;
+		body.setUserData(handles[handle]);
+		bodyCount++;
+		return handle;
+	}
+
+
+	// a freed handle if there is one, otherwise the next new one
+	private int newHandle(){
+		if(freeCount > 0){ return freeHandles[--freeCount]; }
+		if(highestHandle == bodies.length){
+			int capacity = highestHandle * 2;
+			Body[] newBodies = new Body[capacity];
+			GameBody<?>[] newGameBodies = new GameBody<?>[capacity];
+			Handle[] newHandles = new Handle[capacity];
+			short[] newCategories = new short[capacity];
+			short[] newMasks = new short[capacity];
+			boolean[] newIsStatic = new boolean[capacity];
+			System.arraycopy(bodies, 0, newBodies, 0, highestHandle);
+			System.arraycopy(gameBodies, 0, newGameBodies, 0, highestHandle);
+			System.arraycopy(handles, 0, newHandles, 0, highestHandle);
+			System.arraycopy(categories, 0, newCategories, 0, highestHandle);
+			System.arraycopy(masks, 0, newMasks, 0, highestHandle);
+			System.arraycopy(isStatic, 0, newIsStatic, 0, highestHandle);
+			bodies = newBodies;
+			gameBodies = newGameBodies;
+			handles = newHandles;
+			categories = newCategories;
+			masks = newMasks;
+			isStatic = newIsStatic;
+		}
+		handles[highestHandle] = new Handle(highestHandle);
+		return highestHandle++;
+	}
+
+
+	@Override
+	public void createHinge(int anchorBody, int body, float anchorX, float anchorY, float bodyAnchorX, float bodyAnchorY, float lowerAngle, float upperAngle){
+		RevoluteJointDef jointDef = new RevoluteJointDef();
+		jointDef.bodyA = bodies[anchorBody]; // the anchor body
+		jointDef.bodyB = bodies[body]; // the body that swings on the pin
+		jointDef.collideConnected = false; // so the connected bodies do not collide with one another
+		jointDef.localAnchorA.set(jointDef.bodyA.getLocalCenter().x + anchorX, jointDef.bodyA.getLocalCenter().y + anchorY);
+		jointDef.localAnchorB.set(jointDef.bodyB.getLocalCenter().x + bodyAnchorX, jointDef.bodyB.getLocalCenter().y + bodyAnchorY);
+		jointDef.enableLimit = true;
+		jointDef.lowerAngle = lowerAngle;
+		jointDef.upperAngle = upperAngle;
+		world.createJoint(jointDef);
+	}
+
+
+	@Override
+	public void destroyBody(int body){
+		world.destroyBody(bodies[body]);
+		bodies[body] = null;
+		gameBodies[body] = null;
+		if(freeCount == freeHandles.length){
+			int[] newFree = new int[freeCount * 2];
+			System.arraycopy(freeHandles, 0, newFree, 0, freeCount);
+			freeHandles = newFree;
+		}
+		freeHandles[freeCount++] = body;
+		bodyCount--;
+	}
+
+
+	@Override public void setActive(int body, boolean active){ bodies[body].setActive(active); }
+
+	@Override public float getX(int body){ return bodies[body].getPosition().x; }
+	@Override public float getY(int body){ return bodies[body].getPosition().y; }
+	@Override public float getVelocityX(int body){ return bodies[body].getLinearVelocity().x; }
+	@Override public float getVelocityY(int body){ return bodies[body].getLinearVelocity().y; }
+	@Override public void setVelocity(int body, float vx, float vy){ bodies[body].setLinearVelocity(vx, vy); }
+	@Override public void setPosition(int body, float x, float y){ bodies[body].setTransform(x, y, 0); }
+	@Override public void stop(int body){ bodies[body].setLinearVelocity(0, 0); bodies[body].setAngularVelocity(0); }
+	@Override public void setGravityScale(int body, float scale){ bodies[body].setGravityScale(scale); }
+	@Override public void applyForce(int body, float forceX, float forceY){ bodies[body].applyForceToCenter(forceX, forceY, true); }
+	@Override public GameBody<?> getGameBody(int body){ return gameBodies[body]; }
+
+
+	@Override
+	public void setContactHandler(ContactHandler handler){
+		contactHandler = handler;
+	}
+
+
+	@Override
+	public void queryArea(float lowerX, float lowerY, float upperX, float upperY, QueryHandler handler){
+		queryHandler = handler;
+		world.QueryAABB(queryCallback, lowerX, lowerY, upperX, upperY);
+		queryHandler = null;
+	}
+
+
+	@Override
+	public void step(float timeStep){
+		world.step(timeStep, VELOCITY_ITERATIONS, POSITION_ITERATIONS);
+	}
+
+
+	@Override
+	public int getBodyCount(){
+		return bodyCount;
+	}
+
+	@Override
+	public int getContactCount(){
+		return world.getContactCount();
+	}
+
+
+	@Override
+	public long checksum(long hash){
+		for(int h = 0; h < highestHandle; h++){
+			Body body = bodies[h];
+			if(body == null){ continue; }
+			hash = StateChecksum.mix(hash, h);
+			if(isStatic[h]){ continue; } // it's where it was made, every time
+			Vector2 position = body.getPosition(), velocity = body.getLinearVelocity(); // box2d reuses these, so use them right away
+			hash = StateChecksum.mix(hash, position.x);
+			hash = StateChecksum.mix(hash, position.y);
+			hash = StateChecksum.mix(hash, velocity.x);
+			hash = StateChecksum.mix(hash, velocity.y);
+			hash = StateChecksum.mix(hash, body.getAngle());
+			hash = StateChecksum.mix(hash, body.getAngularVelocity());
+		}
+		return hash;
+	}
+
+
+	@Override
+	public void debugDraw(Matrix4 projection){
+		if(debugRenderer == null){
+			debugRenderer = new Box2DDebugRenderer(
+					true, /* draw bodies */
+					true, /* don't draw joints */
+					true, /* draw aabbs */
+					true, /* draw inactive bodies */
+					true, /* draw velocities */
+					true /* draw contacts */);
+		}
+		debugRenderer.render(world, projection);
+	}
+
+
+	@Override
+	public void dispose(){
+		if(debugRenderer != null){ debugRenderer.dispose(); }
+		world.dispose();
+	}
+
+}
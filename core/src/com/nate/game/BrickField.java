@@ -0,0 +1,327 @@
+/**
+ *
+ */
+package com.nate.game;
+
+import static com.nate.game.Arknoid1.SCREEN_TO_WORLD;
+import static com.nate.game.Arknoid1.logger;
+import static com.nate.game.CreateBody.createBody;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.nate.game.BonusItem.ItemTypes;
+import com.nate.game.ContactProcessor.ContactCategories;
+import com.nate.game.GameBody.GameBodies;
+import com.nate.game.PhysicsWorld.BodyKind;
+
+/**
+ * @author Nathan Merris
+ * The BrickField holds every brick on a single level.
+ * There is no object per brick: each brick is just an id, and everything about brick number id is element id of a set of parallel arrays
+ * (position, size, toughness, point value, alive flag, bonus item, image and physics body).
+ * Walking one array touches memory in order instead of chasing a pointer per brick all over the heap.
+ * The ids of the bricks that are still alive are kept in a separate live list, so drawing only visits live bricks,
+ * and destroying a brick takes it out of the live list in constant time by swapping the last live id into it's place.
+ * A destroyed brick's body is destroyed through the WorldCommandQueue right after the step it died in, nothing is left behind in the physics world.
+ * Bricks are added from LevelLoader.loadBricks() at the start of the game, and from LevelPreloader between levels.
+ * The physics body of each brick carries a GameBody whose index is the brick id, so ContactProcessor can go straight from a contact to the arrays.
+ */
+public class BrickField implements GameObject {
+
+	private static final int INITIAL_CAPACITY = 64; // the arrays double in size whenever they fill up
+	private static final ItemTypes[] ITEM_TYPES = ItemTypes.values(); // bonusItem holds ordinals, this turns them back into ItemTypes
+
+	int numBricks;		// the total number of all bricks, including indestructible and destroyed bricks, ids go from 0 to numBricks - 1
+	int bricksRemaining; // destructible bricks still alive, when this reaches zero the level is complete
+	int layoutVersion;	// goes up every time bricks are added or removed (not destroyed), ArcadeCollision rebuilds it's brick grid when this changes
+
+	// one element per brick, indexed by brick id..
+	float[] x, y;					// center of the brick in world units, bricks never move so there's no need to ask the physics world
+	float[] width, height;			// in world units, always calculated from the image size
+	short[] toughness;				// how many hits it takes to destroy the brick
+	short[] pointValue;				// how many points the brick is worth
+	boolean[] isIndestructible;		// true if the brick can not be destroyed
+	boolean[] isAlive;				// set to false when the brick has been destroyed
+	private byte[] bonusItem;		// ItemTypes ordinal of the item hidden in the brick, the BonusItem is only made when the brick is destroyed and it drops
+	private GameImage[] image;		// the brick's image, bricks with the same texture file share one GameImage
+	private int[] body;				// the brick's physics body handle, NO_BODY once the brick is destroyed
+
+	// the live list: the ids of all bricks that are still alive, in no particular order..
+	private int[] live;				// live[0] to live[liveCount - 1] are live brick ids
+	private int liveCount;
+	private int[] livePosition;		// where brick id is in the live list, -1 once it's destroyed
+
+	private Array<BonusItem> fallingItems; // bonus items that have dropped out of their brick and are still alive
+	private BonusItemBodies itemBodies; // bodies for the falling items, made once and reused for every level
+
+	private GameSession session; // every bonus item needs it too
+	private PhysicsWorld physics; // the session's physics world
+	private WorldCommandQueue worldCommands;
+	private TextureCache textures;
+
+	private IntArray queryHits = new IntArray(); // brick ids the physics world reports to blastQuery, reused for every query
+	private PhysicsWorld.QueryHandler blastQuery = new PhysicsWorld.QueryHandler(){ // made once, so a query never allocates
+		@Override
+		public boolean report(int handle){
+			GameBody<?> gameBody = physics.getGameBody(handle);
+			if(gameBody.getType() == GameBodies.BRICK){ queryHits.add(gameBody.getIndex()); }
+			return true; // keep going, we want all of them
+		}
+	};
+
+
+	// constructor..
+	public BrickField(GameSession session){
+		this.session = session;
+		physics = session.physics;
+		worldCommands = session.worldCommands;
+		textures = session.textures;
+		setCapacity(INITIAL_CAPACITY);
+		fallingItems = new Array<BonusItem>(false, 16); // unordered, so removing an item swaps the last one into it's place
+		itemBodies = new BonusItemBodies(physics);
+		logger.info("BrickField constructor exiting..");
+	}
+
+
+	/**
+	 * Adds one live brick centered on (x, y) and creates it's physics body.
+	 * Must not be called while physics.step() is running.
+	 * @return the new brick's id
+	 */
+	public int add(short pointValue, short toughness, boolean isIndestructible, String textureFileName, ItemTypes bonusItemType, float x, float y){
+		GameImage img = textures.acquire(textureFileName);
+		return add(pointValue, toughness, isIndestructible, img, bonusItemType, x, y, img.width * SCREEN_TO_WORLD, img.height * SCREEN_TO_WORLD);
+	}
+
+	/**
+	 * Same as the other add(), with the brick's size in world units already worked out from it's image, LevelPreloader does that on it's worker thread.
+	 * @return the new brick's id
+	 */
+	public int add(short pointValue, short toughness, boolean isIndestructible, String textureFileName, ItemTypes bonusItemType, float x, float y, float width, float height){
+		return add(pointValue, toughness, isIndestructible, textures.acquire(textureFileName), bonusItemType, x, y, width, height);
+	}
+
+	// img was acquired for this brick, it's released when the brick goes
+	private int add(short pointValue, short toughness, boolean isIndestructible, GameImage img, ItemTypes bonusItemType, float x, float y, float width, float height){
+		if(numBricks == this.x.length){ setCapacity(numBricks * 2); }
+
+		int id = numBricks++;
+		this.x[id] = x;
+		this.y[id] = y;
+		this.pointValue[id] = pointValue;
+		this.toughness[id] = toughness;
+		this.isIndestructible[id] = isIndestructible;
+		this.isAlive[id] = true;
+		this.bonusItem[id] = (byte)bonusItemType.ordinal();
+
+		image[id] = img;
+		this.width[id] = width;
+		this.height[id] = height;
+
+		body[id] = createBody(physics, BodyKind.STATIC,  				// body type
+			   	 false, ContactCategories.BRICK, (short)~0x0000, 	// is body a sensor?, sensor group, sensor mask (collide with everything)
+			   	 0, new GameBody<BrickField>(GameBodies.BRICK, this, id),				// gravity scale, userData, the GameBody index is the brick id
+				 x, y,												// initial x and y positions
+				 0, 0, 0, 											// density, restitution, friction
+				 width * 0.5f, height * 0.5f); 						// halfWidth, halfHeight based on brick texture dimensions
+
+		livePosition[id] = liveCount;
+		live[liveCount++] = id;
+		if(!isIndestructible){ bricksRemaining++; }
+		layoutVersion++;
+
+		return id;
+	}
+
+
+	/**
+	 * Deals damage to one brick, called from ContactProcessor when the ball or a projectile hits it.
+	 * Safe to call from inside the physics contact callbacks, the body is only destroyed once the WorldCommandQueue is applied after the step.
+	 * @return true if this hit destroyed the brick, false if it survived, was indestructible, or was already destroyed earlier in the same step
+	 */
+	public boolean damage(int id, int amount){
+		if(!isAlive[id] || isIndestructible[id]){ return false; }
+		toughness[id] -= amount;
+		if(toughness[id] > 0){ return false; }
+
+		isAlive[id] = false; // won't be drawn and won't interact with anything
+		bricksRemaining--;
+
+		// swap the last live brick into this brick's slot in the live list..
+		int slot = livePosition[id];
+		int lastId = live[--liveCount];
+		live[slot] = lastId;
+		livePosition[lastId] = slot;
+		livePosition[id] = -1;
+
+		worldCommands.destroy(body[id]);
+		body[id] = PhysicsWorld.NO_BODY;
+		textures.release(image[id]); // a destroyed brick is never drawn again
+		image[id] = null;
+
+		if(bonusItem[id] != ItemTypes.NO_ITEM.ordinal()){ // this brick had a bonus item, start it falling
+			BonusItem item = new BonusItem(session, ITEM_TYPES[bonusItem[id]], x[id], y[id]);
+			item.startFalling();
+			fallingItems.add(item);
+			GameLog.debug("  there WAS a bonus item in the brick, and the item was:", item.getBonusItemType());
+		}
+		return true;
+	}
+
+
+	/**
+	 * Finds every live brick that a circle touches, for bomb blasts.
+	 * The physics world's broad phase finds the bricks whose bounding box overlaps the circle's bounding box (PhysicsWorld.queryArea()), so only the bricks
+	 * near the blast are looked at no matter how many bricks there are, then each one is checked against the actual circle.
+	 * Only reads the world, so it's fine to call from inside a contact callback.
+	 * @param ids cleared, then filled with the brick ids
+	 * @param distances cleared, then filled with the distance from (x, y) to the closest point of each brick, in the same order as ids
+	 */
+	public void findBricksInRadius(float x, float y, float radius, IntArray ids, FloatArray distances){
+		ids.clear();
+		distances.clear();
+		queryHits.clear();
+		physics.queryArea(x - radius, y - radius, x + radius, y + radius, blastQuery);
+		for(int i = 0; i < queryHits.size; i++){
+			int id = queryHits.get(i);
+			if(!isAlive[id]){ continue; } // destroyed earlier in this same step, it's body isn't gone yet
+			// distance from the center to the closest point of the brick's rectangle, 0 if the center is inside it
+			float dx = Math.max(Math.abs(x - this.x[id]) - width[id] * 0.5f, 0f);
+			float dy = Math.max(Math.abs(y - this.y[id]) - height[id] * 0.5f, 0f);
+			float distanceSquared = dx * dx + dy * dy;
+			if(distanceSquared <= radius * radius){
+				ids.add(id);
+				distances.add((float)Math.sqrt(distanceSquared));
+			}
+		}
+	}
+
+
+	public void update(){
+		// destroyed bricks need nothing here, their bodies were handed to the WorldCommandQueue the moment they died..
+		// falling bonus items are simulated until they are caught or hit the floor (see BonusItem.kill()), then removed from the list
+		for(int i = fallingItems.size - 1; i >= 0; i--){ // backwards, so removing an item does not skip the one after it
+			BonusItem item = fallingItems.get(i);
+			if(item.needsBody()){ item.drop(itemBodies); } // it's brick was destroyed during the last step, this is the first chance to give it a body
+			if(!item.isAlive){
+				fallingItems.removeIndex(i); // unordered array, the last item is swapped into this slot
+				item.dispose(); // gives back it's texture, it's body is already back in itemBodies
+			}
+		}
+	}
+
+
+	// called from GameSession before every simulation step, only falling bonus items move so only they need their positions remembered
+	public void savePreviousPositions(){
+		for(int i = 0; i < fallingItems.size; i++){
+			fallingItems.get(i).savePreviousPosition();
+		}
+	}
+
+
+	@Override
+	public void draw(Batch batch, float renderAlpha){
+		// only live bricks are visited, destroyed bricks are not in the live list anymore
+		for(int i = 0; i < liveCount; i++){
+			int id = live[i];
+			float w = width[id], h = height[id];
+			batch.draw(image[id].region, // texture
+					   x[id] - w * 0.5f, y[id] - h * 0.5f, // bottom left x, y
+					   w * 0.5f, h * 0.5f, // originX, originY (for translations)
+					   w, h, // width, height
+					   1f, 1f, // scaleX, scaleY
+					   0 // rotate, 0 means do not rotate
+					   );
+		}
+		for(int i = 0; i < fallingItems.size; i++){
+			fallingItems.get(i).draw(batch, renderAlpha);
+		}
+	}
+
+
+	// how many bricks are still alive, including indestructible ones
+	public int getLiveCount(){
+		return liveCount;
+	}
+
+
+	// clears out the level that was just finished so the next level's bricks can be added..
+	// only called between simulation steps, bodies can't be destroyed during physics.step()
+	public void removeAll(){
+		for(int id = 0; id < numBricks; id++){
+			if(body[id] != PhysicsWorld.NO_BODY){ physics.destroyBody(body[id]); body[id] = PhysicsWorld.NO_BODY; } // destroyed bricks already lost their body
+			if(image[id] != null){ textures.release(image[id]); image[id] = null; }
+		}
+		for(int i = 0; i < fallingItems.size; i++){ // items that already fell were disposed and removed in update()
+			fallingItems.get(i).releaseBody(); // caught ones gave theirs back already
+			fallingItems.get(i).dispose();
+		}
+		fallingItems.clear();
+		numBricks = 0;
+		liveCount = 0;
+		bricksRemaining = 0;
+		layoutVersion++;
+	}
+
+
+	// grows (never shrinks) every per brick array to hold capacity bricks
+	private void setCapacity(int capacity){
+		float[] newX = new float[capacity], newY = new float[capacity], newWidth = new float[capacity], newHeight = new float[capacity];
+		short[] newToughness = new short[capacity], newPointValue = new short[capacity];
+		boolean[] newIsIndestructible = new boolean[capacity], newIsAlive = new boolean[capacity];
+		byte[] newBonusItem = new byte[capacity];
+		GameImage[] newImage = new GameImage[capacity];
+		int[] newBody = new int[capacity];
+		int[] newLive = new int[capacity], newLivePosition = new int[capacity];
+
+		if(x != null){
+			System.arraycopy(x, 0, newX, 0, numBricks);
+			System.arraycopy(y, 0, newY, 0, numBricks);
+			System.arraycopy(width, 0, newWidth, 0, numBricks);
+			System.arraycopy(height, 0, newHeight, 0, numBricks);
+			System.arraycopy(toughness, 0, newToughness, 0, numBricks);
+			System.arraycopy(pointValue, 0, newPointValue, 0, numBricks);
+			System.arraycopy(isIndestructible, 0, newIsIndestructible, 0, numBricks);
+			System.arraycopy(isAlive, 0, newIsAlive, 0, numBricks);
+			System.arraycopy(bonusItem, 0, newBonusItem, 0, numBricks);
+			System.arraycopy(image, 0, newImage, 0, numBricks);
+			System.arraycopy(body, 0, newBody, 0, numBricks);
+			System.arraycopy(live, 0, newLive, 0, liveCount);
+			System.arraycopy(livePosition, 0, newLivePosition, 0, numBricks);
+		}
+
+		x = newX; y = newY; width = newWidth; height = newHeight;
+		toughness = newToughness; pointValue = newPointValue;
+		isIndestructible = newIsIndestructible; isAlive = newIsAlive;
+		bonusItem = newBonusItem; image = newImage; body = newBody;
+		live = newLive; livePosition = newLivePosition;
+	}
+
+
+	@Override
+	public void dispose(){
+		for(int id = 0; id < numBricks; id++){
+			if(image[id] != null){ textures.release(image[id]); }
+		}
+		for(int i = 0; i < fallingItems.size; i++){
+			fallingItems.get(i).dispose();
+		}
+	}
+
+
+	@Override
+	public void stop() {
+		// TODO Auto-generated method stub
+
+	}
+
+
+	@Override
+	public void start() {
+		// TODO Auto-generated method stub
+
+	}
+
+}
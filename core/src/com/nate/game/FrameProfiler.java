@@ -0,0 +1,178 @@
+/**
+ *
+ */
+package com.nate.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input.Keys;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import static com.nate.game.Arknoid1.logger;
+
+/**
+ * @author Nathan Merris
+ * Times where each rendered frame goes: update (the fixed steps and the events, minus the physics), physics (box2d's step, see GameSession.step()),
+ * world draw, OSD draw and debug draw, and counts what the frame did: simulation steps, SpriteBatch render calls, texture binds, bodies, contacts and GC runs.
+ * The last HISTORY frames are kept, OnScreenDisplay draws them as the profiler overlay, and dump() writes them to a .csv file.
+ * It only measures while the overlay is shown (F3 toggles it, F4 dumps), Arknoid1 checks isShown() once per frame and skips every timer when it's hidden,
+ * and libgdx's GLProfiler (it wraps every GL call to count the texture binds) is only switched on while it's shown, so a hidden profiler costs nothing.
+ */
+public class FrameProfiler {
+
+	// the phases of a frame, in the order Arknoid1.render() goes through them..
+	public static final int UPDATE = 0, PHYSICS = 1, WORLD_DRAW = 2, OSD_DRAW = 3, DEBUG_DRAW = 4;
+	public static final int PHASES = 5;
+	static final String[] PHASE_NAMES = {"update", "physics", "world draw", "osd draw", "debug draw"};
+
+	public static final int HISTORY = 600; // frames kept, 10 seconds at 60 fps
+	static final String DUMP_FILE = "frame-profile.csv"; // where F4 writes, in the local (writable) folder
+
+	// how many times the garbage collector ran since the game started, the desktop launcher gives one (java.lang.management is desktop only)
+	public interface GcCounter {
+		long collections();
+	}
+
+	private GameSession session;
+	private GcCounter gc; // null when the platform can't say, the GC column is -1 then
+	private boolean shown;
+
+	// one element per frame, frame f is at f % HISTORY..
+	private final float[][] millis = new float[PHASES][HISTORY];
+	private final int[] steps = new int[HISTORY], renderCalls = new int[HISTORY], textureBinds = new int[HISTORY];
+	private final int[] bodies = new int[HISTORY], contacts = new int[HISTORY], gcRuns = new int[HISTORY];
+	private int frames; // frames measured since the overlay was last shown
+
+	private final long[] started = new long[PHASES];
+	private final float[] current = new float[PHASES]; // this frame's milliseconds so far
+	private long lastGcCount;
+
+
+	// constructor..
+	public FrameProfiler(GameSession session, GcCounter gc){
+		this.session = session;
+		this.gc = gc;
+	}
+
+
+	public boolean isShown(){ return shown; }
+
+	// shows the overlay and starts measuring from scratch, or hides it and stops measuring
+	public void toggle(){
+		shown = !shown;
+		session.timePhysics = shown;
+		if(shown){
+			frames = 0;
+			lastGcCount = gc == null ? 0 : gc.collections();
+			GLProfiler.enable();
+			GLProfiler.reset();
+		}
+		else {
+			GLProfiler.disable();
+		}
+	}
+
+
+	// F3 toggles the overlay, F4 writes the kept frames to DUMP_FILE, true if it was one of them
+	public boolean handleKey(int keycode){
+		if(keycode == Keys.F3){
+			toggle();
+			return true;
+		}
+		if(keycode == Keys.F4){
+			if(frames == 0){ logger.info("FrameProfiler: nothing to dump, F3 shows the profiler and starts measuring"); }
+			else { dump(Gdx.files.local(DUMP_FILE), HISTORY); }
+			return true;
+		}
+		return false;
+	}
+
+
+	// the timers, only call them while isShown()..
+	public void begin(int phase){
+		started[phase] = TimeUtils.nanoTime();
+	}
+
+	public void end(int phase){
+		current[phase] += (TimeUtils.nanoTime() - started[phase]) / 1000000f;
+	}
+
+
+	/**
+	 * Stores the frame that just finished and starts the next one, called at the very end of Arknoid1.render() while isShown().
+	 * @param frameSteps how many simulation steps the frame did
+	 * @param frameRenderCalls SpriteBatch.renderCalls of every batch pass of the frame, added up
+	 */
+	public void endFrame(int frameSteps, int frameRenderCalls){
+		int f = frames % HISTORY;
+		float physics = session.physicsNanos / 1000000f; // box2d's share of the steps, it was timed as part of update too
+		session.physicsNanos = 0;
+		current[UPDATE] -= physics;
+		current[PHYSICS] = physics;
+		for(int p = 0; p < PHASES; p++){
+			millis[p][f] = current[p];
+			current[p] = 0;
+		}
+		steps[f] = frameSteps;
+		renderCalls[f] = frameRenderCalls;
+		textureBinds[f] = GLProfiler.textureBindings;
+		bodies[f] = session.physics.getBodyCount();
+		contacts[f] = session.physics.getContactCount();
+		if(gc != null){
+			long count = gc.collections();
+			gcRuns[f] = (int)(count - lastGcCount);
+			lastGcCount = count;
+		}
+		else { gcRuns[f] = -1; }
+		GLProfiler.reset();
+		frames++;
+	}
+
+
+	// for the overlay, framesAgo 0 is the newest frame, only ask for less than getFrames()..
+	public int getFrames(){ return Math.min(frames, HISTORY); }
+	public float getMillis(int phase, int framesAgo){ return millis[phase][index(framesAgo)]; }
+	public int getSteps(int framesAgo){ return steps[index(framesAgo)]; }
+	public int getRenderCalls(int framesAgo){ return renderCalls[index(framesAgo)]; }
+	public int getTextureBinds(int framesAgo){ return textureBinds[index(framesAgo)]; }
+	public int getBodies(int framesAgo){ return bodies[index(framesAgo)]; }
+	public int getContacts(int framesAgo){ return contacts[index(framesAgo)]; }
+	public int getGcRuns(int framesAgo){ return gcRuns[index(framesAgo)]; }
+
+	// GC runs over the newest n frames, -1 when there's no GcCounter
+	public int getGcRunsOver(int n){
+		if(gc == null){ return -1; }
+		int runs = 0;
+		for(int i = 0; i < n; i++){ runs += gcRuns[index(i)]; }
+		return runs;
+	}
+
+	private int index(int framesAgo){
+		return (frames - 1 - framesAgo) % HISTORY;
+	}
+
+
+	/**
+	 * Writes the newest lastFrames kept frames (or all of them if there are fewer) to file as comma separated values, oldest first, one row per frame.
+	 * @return how many frames were written
+	 */
+	public int dump(FileHandle file, int lastFrames){
+		int n = Math.min(lastFrames, getFrames());
+		StringBuilder csv = new StringBuilder(64 * (n + 1));
+		csv.append("frame");
+		for(int p = 0; p < PHASES; p++){ csv.append(',').append(PHASE_NAMES[p].replace(' ', '_')).append("_ms"); }
+		csv.append(",steps,render_calls,texture_binds,bodies,contacts,gc_runs\n");
+		for(int i = n - 1; i >= 0; i--){
+			int f = index(i);
+			csv.append(frames - 1 - i);
+			for(int p = 0; p < PHASES; p++){ csv.append(',').append(millis[p][f]); }
+			csv.append(',').append(steps[f]).append(',').append(renderCalls[f]).append(',').append(textureBinds[f])
+				.append(',').append(bodies[f]).append(',').append(contacts[f]).append(',').append(gcRuns[f]).append('\n');
+		}
+		file.writeString(csv.toString(), false, "UTF-8");
+		logger.info("FrameProfiler: wrote the last " + n + " frames to " + file.path());
+		return n;
+	}
+
+}
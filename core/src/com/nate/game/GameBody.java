@@ -9,46 +9,41 @@ package com.nate.game;
  */
 public class GameBody<T> { // horray for generics!
 	
-	public static enum GameBodies{ // a list of all the different types of bodies in the box2d world
-		VAUS, FLIPPER, BALL, WALL, BRICK, PROJECTILE, BONUS_ITEM, BOMB_BLAST, ANDROID_BUTTON
+	// a list of all the different types of bodies in the box2d world..
+	// each body is given it's type when it's created, and ContactProcessor looks up what to do about a contact by the two types' ordinals,
+	// so bodies that need telling apart in a collision (the floor from the other walls, the flippers from the rest of vaus) get their own type
+	public static enum GameBodies{
+		VAUS, FLIPPER, VAUS_FLAT_TOP, BALL, WALL, CEILING, FLOOR, BRICK, PROJECTILE, BONUS_ITEM, BOMB_BLAST, ANDROID_BUTTON
 	}
 	private GameBodies bodyType; // each GameBody object has it's own type, used in collision detection
 	private T specificBodyObject; // each GameBody has it's own unique object that contains ALL the data needed for game play processing
-	// for example, each Brick body has it's own toughness and bonus item
+	private int index; // when one object owns many bodies (like BrickField), which one this is, for example the brick id
 	
 	// constructor..
-	public GameBody(T object){
+	public GameBody(GameBodies type, T object){
+		this(type, object, 0);
+	}
+	
+	// for objects that own many bodies of the same kind, index says which one
+	public GameBody(GameBodies type, T object, int index){
+		bodyType = type;
 		specificBodyObject = object;
-		String bodyClass = object.getClass().getName();
-		switch(bodyClass){
-			case "com.nate.game.Ball":
-				bodyType = GameBodies.BALL;
-				break;
-			case "com.nate.game.Brick":
-				bodyType = GameBodies.BRICK;
-				break;
-			case "com.nate.game.Vaus":
-				bodyType = GameBodies.VAUS;
-				break;
-			case "com.nate.game.Walls":
-				bodyType = GameBodies.WALL;
-				break;
-			case "com.nate.game.Projectile":
-				bodyType = GameBodies.PROJECTILE;
-				break;
-			case "com.nate.game.BonusItem":
-				bodyType = GameBodies.BONUS_ITEM;
-				break;
-			case "com.nate.game.OnScreenDisplay":
-				bodyType = GameBodies.ANDROID_BUTTON;
-			default:
-				break;
-		}
+		this.index = index;
 	}
 	
 	public T getSpecificBodyObject(){
 		return specificBodyObject;
 	}
+
+	// pooled bodies (see BonusItemBodies) belong to a different object every time they are reused
+	public void setSpecificBodyObject(T object){
+		specificBodyObject = object;
+	}
+
+	
+	public int getIndex(){
+		return index;
+	}
 	
 	
 	public GameBodies getType(){
@@ -0,0 +1,119 @@
+/**
+ *
+ */
+package com.nate.game;
+
+import com.badlogic.gdx.utils.Array;
+import com.nate.game.BonusItem.ItemTypes;
+
+/**
+ * @author Nathan Merris
+ * Things that happen during a simulation step (a brick was destroyed, the ball was lost, an item was caught) are posted here
+ * from ContactProcessor as small event records, and everything that only needs to react to them (sounds, statistics) reads them all at once,
+ * once per frame, from Arknoid1.dispatchEvents().  The Scoreboard is the exception, the score and lives are game state, it counts each step's
+ * events at the end of the step (see Scoreboard.countStep()).
+ * That keeps the box2d callbacks short: posting an event is filling in a few fields of a record that already exists.
+ * It also means a bomb blast that destroys 30 bricks is handled in one pass by each listener, for example the score goes up once
+ * by the total and the brick destroyed sound is played once, instead of 30 separate sound and score updates in the middle of the step.
+ * The event records are created up front and reused every frame, new ones are only created if a frame ever has more events than that.
+ * Only used on the game thread.
+ */
+public class GameEventBus {
+
+	public enum EventTypes {
+		BALL_VAUS_HIT,		// ball = the slot of the ball that bounced off the flat top of vaus
+		BALL_BRICK_HIT,		// ball = the slot of the ball that hit a brick, whether or not it was destroyed
+		BRICK_DESTROYED,	// brick = the brick id, value = it's point value
+		BALL_LOST,			// ball = the slot of the last ball in play, it hit the floor
+		ITEM_CAUGHT,		// item = what vaus caught
+		ITEM_LOST			// item = what fell past vaus
+	}
+
+	// one event, the fields that don't apply to it's type are just left over from whatever the record was used for last
+	public static class GameEvent {
+		EventTypes type;
+		int brick;
+		int value;
+		int ball; // the ball's slot in the BallManager
+		ItemTypes item;
+	}
+
+	// everything that reacts to events implements this, handleEvents() gets every event posted since the last frame
+	public interface GameEventListener {
+		void handleEvents(GameEventBus events);
+	}
+
+	private static final int INITIAL_CAPACITY = 256;
+
+	private GameEvent[] events;
+	private int count;
+	private Array<GameEventListener> listeners = new Array<GameEventListener>();
+
+
+	// constructor..
+	public GameEventBus(){
+		events = new GameEvent[INITIAL_CAPACITY];
+		for(int i = 0; i < events.length; i++){ events[i] = new GameEvent(); }
+	}
+
+
+	public void addListener(GameEventListener listener){
+		listeners.add(listener);
+	}
+
+
+	// posting methods, called from inside the box2d callbacks..
+	public void post(EventTypes type){
+		next().type = type;
+	}
+
+	public void postBall(EventTypes type, int ball){
+		GameEvent e = next();
+		e.type = type;
+		e.ball = ball;
+	}
+
+	public void postBrick(EventTypes type, int brick, int value){
+		GameEvent e = next();
+		e.type = type;
+		e.brick = brick;
+		e.value = value;
+	}
+
+	public void postItem(EventTypes type, ItemTypes item){
+		GameEvent e = next();
+		e.type = type;
+		e.item = item;
+	}
+
+
+	// the next free record, the array only ever grows
+	private GameEvent next(){
+		if(count == events.length){
+			GameEvent[] bigger = new GameEvent[count * 2];
+			System.arraycopy(events, 0, bigger, 0, count);
+			for(int i = count; i < bigger.length; i++){ bigger[i] = new GameEvent(); }
+			events = bigger;
+		}
+		return events[count++];
+	}
+
+
+	// for the listeners..
+	public int size(){ return count; }
+	public GameEvent get(int i){ return events[i]; }
+
+
+	/**
+	 * Hands every event posted since the last dispatch to each listener in the order they were added, then starts over empty.
+	 * Called once per frame from Arknoid1, after all of the frame's simulation steps.
+	 */
+	public void dispatch(){
+		if(count == 0){ return; }
+		for(int i = 0; i < listeners.size; i++){
+			listeners.get(i).handleEvents(this);
+		}
+		count = 0;
+	}
+
+}
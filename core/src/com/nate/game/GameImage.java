@@ -0,0 +1,41 @@
+/**
+ *
+ */
+package com.nate.game;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * @author Nathan Merris
+ * A GameImage is one image from the TextureCache: a texture region plus its dimensions in screen pixels.
+ * Every box2d body in this game is sized from its image, so the dimensions are needed even when nothing is ever drawn.
+ * When Arknoid1 runs headless there is no OpenGL context to upload a texture to, so only the dimensions are known and region is null.
+ * draw() methods are never called in headless mode, so they don't need to check.
+ * Don't create these yourself, get them from textures.acquire() and give them back with textures.release().
+ */
+public class GameImage {
+
+	final String fileName;		// the key this image is cached under in TextureCache
+	final TextureRegion region;	// the region to draw, usually part of the shared atlas page, null when running headless
+	final int width, height;	// image dimensions in screen pixels, multiply by SCREEN_TO_WORLD to get box2d world units
+	int references;				// how many game objects are currently using this image, maintained by TextureCache
+
+	private Texture ownTexture;	// only set if the image was not in the atlas and had to be loaded as a texture of it's own
+
+
+	GameImage(String fileName, TextureRegion region, Texture ownTexture, int width, int height){
+		this.fileName = fileName;
+		this.region = region;
+		this.ownTexture = ownTexture;
+		this.width = width;
+		this.height = height;
+	}
+
+
+	// only called from TextureCache, once nobody is using this image anymore
+	void dispose(){
+		if(ownTexture != null){ ownTexture.dispose(); } // atlas regions are disposed along with the atlas
+	}
+
+}
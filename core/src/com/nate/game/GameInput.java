@@ -0,0 +1,163 @@
+/**
+ *
+ */
+package com.nate.game;
+
+import static com.nate.game.Arknoid1.SCREEN_HEIGHT;
+import static com.nate.game.Arknoid1.WORLD_TO_SCREEN;
+import static com.nate.game.Arknoid1.logger;
+
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.Input.Keys; // represents the keyboard keys that user can press
+import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * @author Nathan Merris
+ * GameInput is the user input listener, it turns mouse clicks, taps and keys into the GameSession's commands
+ * (vaus only ever moves, flips and fires), so the session itself never needs to know about screens or cameras.
+ * This used to be Vaus' job, it's split out because only a session that is being played on a screen has input.
+ * Everything gets to the session right away, between simulation steps, which is when libgdx polls the input.
+ */
+public class GameInput implements InputProcessor {
+
+	private GameSession session; // the game being played
+	private Viewport viewport; // the game world viewport, to turn screen coords into world coords
+	private OnScreenDisplay onScreenDisplay; // where the Android buttons are
+	private FrameProfiler profiler; // gets it's keys first (F3, F4)
+	private boolean android; // true on Android, which needs clickable buttons on screen, everything else uses keyboard and mouse
+	private Vector3 point = new Vector3(); // used to temporarily store the translated touched/clicked coords to world coords, needs to be 3D vector for unproject to work
+
+
+	// constructor..
+	public GameInput(GameSession session, Viewport viewport, OnScreenDisplay onScreenDisplay, FrameProfiler profiler, boolean android){
+		this.session = session;
+		this.viewport = viewport;
+		this.onScreenDisplay = onScreenDisplay;
+		this.profiler = profiler;
+		this.android = android;
+	}
+
+
+	@Override
+	public boolean touchDown(int screenX, int screenY, int pointer, int button) { // desktop: left mouse button, android: tap screen (both work as-is)
+
+		// translate touched/clicked coords to world coords and store in point(x,y,z)
+		viewport.getCamera().unproject(point.set(screenX, screenY, 0));
+		boolean androidButtonTapped = false;
+
+		if(button == Input.Buttons.LEFT){ // left mouse button or screen tap on Android
+
+			logger.info("%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%");
+			logger.info("inside GameInput.touchDown: screenX, screenY = " + screenX + ", " + screenY);
+
+			logger.info("%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%");
+			logger.info("inside GameInput.touchDown: point.x, point.y = " + point.x + ", " + point.y);
+
+			// check if either the 'fire' or 'flip' buttons were pressed and take appropriate action, only check on Android platforms because everything else has keyboard and mouse..
+			if(android){
+				androidButtonTapped = processAndroidButtonTap((int) (point.x * WORLD_TO_SCREEN), (int) (point.y * WORLD_TO_SCREEN)); // for Android button tap, use screen coords, not box2d world coords
+				logger.info("%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%");
+				logger.info("inside GameInput.touchDown, inside if(android app): point.x, point.y multiplied by 100 = " + (int) (point.x * WORLD_TO_SCREEN) + ", " + (int) (point.y * WORLD_TO_SCREEN));
+			}
+
+			if(!androidButtonTapped){ // don't want anything else to happen if player just tapped either button on Android platform
+				session.moveVausTo(point.x);
+			}
+		} // end input button LEFT
+		else if(button == Input.Buttons.RIGHT){ // whack the ball with the flippers! (right mouse button), does nothing in android
+			session.flip();
+		} // end input button RIGHT
+		return false;
+	}
+
+
+	/**
+	 * This method determines if either button was tapped, only used on Android platforms because otherwise you have a mouse to use.
+	 * It also fires your weapon if you have one, or flips your flippers, depending on which button was just tapped.
+	 * X and Y coords must be already translated to Arknoid1.SCREEN_WIDTH and Arknoid1.SCREEN_HEIGHT dimensions (so be sure to use camera.unproject before passing in coords to this method).
+	 * @param x X coordinate of user's tap on screen, in translated screen coords
+	 * @param y Y coordinate of user's tap on screen, in translated screen coords
+	 * @return true if either button was just tapped
+	 */
+	private boolean processAndroidButtonTap(int x, int y) {
+		int buttonPadding = 5; // it always annoys me when you have to super-precisely tap something on a touchscreen, so I'm giving it some padding pixels so you just have to be close enough
+		boolean androidButtonTapped = false;
+		OnScreenDisplay osd = onScreenDisplay;
+
+		if(x > osd.androidFireButtonX - buttonPadding && x < osd.androidFireButtonX + osd.screenButtonWidth + buttonPadding){ // player tapped screen within fire button X range
+			if(y > SCREEN_HEIGHT - osd.androidFireButtonY - osd.screenButtonWidth - buttonPadding && y < SCREEN_HEIGHT - osd.androidFireButtonY - buttonPadding){ // and player tapped screen with fire button Y range
+				androidButtonTapped = true;
+				// player just tapped the fire button in Android platform..
+				session.pullTrigger(); // fire projectile weapon if player has one
+			}
+		} // end Android fire button detection
+		else if(x > osd.androidFlipButtonX - buttonPadding && x < osd.androidFlipButtonX + osd.screenButtonWidth + buttonPadding){ // player tapped screen within fire button X range
+			if(y > SCREEN_HEIGHT - osd.androidFlipButtonY - osd.screenButtonWidth - buttonPadding && y < SCREEN_HEIGHT - osd.androidFlipButtonY - buttonPadding){ // and player tapped screen with fire button Y range
+				androidButtonTapped = true;
+				session.flip();
+			}
+		} // end Android flip button detection
+		return androidButtonTapped;
+	} // end processAndroidButtonTap
+
+
+	@Override
+	public boolean keyDown(int keycode) {
+		if(profiler.handleKey(keycode)){ return true; } // not the game's, nothing gets recorded
+
+		switch(keycode){
+			case Keys.P:
+				logger.info("you pushed 'P' or 'p' key to toggle ball pause");
+				session.togglePause();
+				break;
+
+			case Keys.SPACE:
+				logger.info("you pushed SPACE to fire your projectileType weapon");
+				session.pullTrigger();
+				break;
+
+			default:
+				break;
+		}
+
+		return false;
+	}
+
+
+	@Override
+	public boolean keyUp(int keycode) {
+		if(keycode == Keys.SPACE){ session.releaseTrigger(); } // rapid fire weapons stop firing
+		return false;
+	}
+
+
+	@Override
+	public boolean touchUp(int screenX, int screenY, int pointer, int button) {
+		session.releaseTrigger(); // lifting any finger lets go of the Android fire button, good enough with two buttons
+		return false;
+	}
+
+
+	@Override
+	public boolean keyTyped(char character) {
+		return false;
+	}
+
+	@Override
+	public boolean touchDragged(int screenX, int screenY, int pointer) {
+		return false;
+	}
+
+	@Override
+	public boolean mouseMoved(int screenX, int screenY) {
+		return false;
+	}
+
+	@Override
+	public boolean scrolled(int amount) {
+		return false;
+	}
+
+}
@@ -0,0 +1,137 @@
+/**
+ *
+ */
+package com.nate.game;
+
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * @author Nathan Merris
+ * Logging for code that runs every collision or every step (ContactProcessor mostly).
+ * The libgdx Logger builds a new String for every message with + before it even checks if the message will be printed,
+ * and then prints it to the console right there on the game thread. Do that a few dozen times per collision and Android is
+ * garbage collecting all the time, right when the bricks are flying.
+ * So instead:
+ *   - every method checks the level first and returns right away if it's turned off, no work at all
+ *   - there is no string building at the call site: the message is a string literal and the values are passed in as primitives
+ *     (or an object that already exists, like an enum), and they are only put together into text when the record is written out
+ *   - an enabled record is copied into a preallocated ring buffer, so logging never allocates and never waits on the console or a file
+ * LogFlusher (desktop and headless only, it needs threads and java.io) drains the ring buffer on it's own thread and writes it to a file.
+ * When nothing drains it (Android, HTML), the ring buffer just keeps the most recent CAPACITY records, and the oldest ones are overwritten.
+ * Only call the logging methods from the game thread, the ring buffer has one writer (the game) and at most one reader (LogFlusher).
+ * Anything that plays several GameSessions on several threads at once (SessionRunner) has to set the level to NONE.
+ */
+public class GameLog {
+
+	// same numbers as the libgdx Logger levels, a level lets through everything at or below it
+	public static final int NONE = 0, ERROR = 1, INFO = 2, DEBUG = 3;
+
+	private static final int CAPACITY = 4096; // must be a power of 2
+	private static final int MASK = CAPACITY - 1;
+
+	// what kind of values a record carries, so the flusher knows how to print them
+	private static final byte NO_ARGS = 0, ONE_INT = 1, ONE_FLOAT = 2, TWO_FLOATS = 3, ONE_OBJECT = 4;
+
+	private static volatile int level = INFO; // per collision logging is DEBUG, so by default it costs nothing
+
+	// the ring buffer, one element per record..
+	private static final String[] message = new String[CAPACITY];
+	private static final byte[] recordLevel = new byte[CAPACITY];
+	private static final byte[] kind = new byte[CAPACITY];
+	private static final float[] valueA = new float[CAPACITY], valueB = new float[CAPACITY]; // an int value is stored in valueA too, it's printed as an int
+	private static final Object[] object = new Object[CAPACITY];
+	private static final long[] millis = new long[CAPACITY];
+
+	// head only ever changes on the game thread, tail only on the reader's thread (or the game thread when there is no reader)
+	// a record is readable once head has moved past it
+	private static volatile long head, tail;
+	private static volatile boolean hasReader; // set by LogFlusher, until then a full buffer overwrites it's oldest record
+	private static volatile int dropped; // records thrown away because the reader fell behind, only the game thread writes it
+	private static int droppedReported; // how many of those the reader has already mentioned, only the reader's thread touches it
+
+
+	public static void setLevel(int level){ GameLog.level = level; }
+	public static int getLevel(){ return level; }
+	public static boolean isDebug(){ return level >= DEBUG; }
+
+
+	// the same five shapes of message for each level, the level check is the first thing in each one..
+	public static void debug(String msg){ if(level >= DEBUG){ record(DEBUG, msg, NO_ARGS, 0, 0, null); } }
+	public static void debug(String msg, int value){ if(level >= DEBUG){ record(DEBUG, msg, ONE_INT, value, 0, null); } }
+	public static void debug(String msg, float value){ if(level >= DEBUG){ record(DEBUG, msg, ONE_FLOAT, value, 0, null); } }
+	public static void debug(String msg, float a, float b){ if(level >= DEBUG){ record(DEBUG, msg, TWO_FLOATS, a, b, null); } }
+	public static void debug(String msg, Object value){ if(level >= DEBUG){ record(DEBUG, msg, ONE_OBJECT, 0, 0, value); } }
+
+	public static void info(String msg){ if(level >= INFO){ record(INFO, msg, NO_ARGS, 0, 0, null); } }
+	public static void info(String msg, int value){ if(level >= INFO){ record(INFO, msg, ONE_INT, value, 0, null); } }
+	public static void info(String msg, float value){ if(level >= INFO){ record(INFO, msg, ONE_FLOAT, value, 0, null); } }
+	public static void info(String msg, float a, float b){ if(level >= INFO){ record(INFO, msg, TWO_FLOATS, a, b, null); } }
+	public static void info(String msg, Object value){ if(level >= INFO){ record(INFO, msg, ONE_OBJECT, 0, 0, value); } }
+
+	public static void error(String msg){ if(level >= ERROR){ record(ERROR, msg, NO_ARGS, 0, 0, null); } }
+	public static void error(String msg, int value){ if(level >= ERROR){ record(ERROR, msg, ONE_INT, value, 0, null); } }
+	public static void error(String msg, float value){ if(level >= ERROR){ record(ERROR, msg, ONE_FLOAT, value, 0, null); } }
+	public static void error(String msg, float a, float b){ if(level >= ERROR){ record(ERROR, msg, TWO_FLOATS, a, b, null); } }
+	public static void error(String msg, Object value){ if(level >= ERROR){ record(ERROR, msg, ONE_OBJECT, 0, 0, value); } }
+
+
+	private static void record(int lvl, String msg, byte k, float a, float b, Object o){
+		long h = head;
+		if(h - tail == CAPACITY){ // full
+			if(hasReader){ dropped++; return; } // never wait for the reader, just lose this record and count it
+			tail = h - CAPACITY + 1; // nobody reads, so forget the oldest record
+		}
+		int i = (int)(h & MASK);
+		message[i] = msg;
+		recordLevel[i] = (byte)lvl;
+		kind[i] = k;
+		valueA[i] = a;
+		valueB[i] = b;
+		object[i] = o;
+		millis[i] = TimeUtils.millis();
+		head = h + 1; // volatile write, the reader can see the whole record from here on
+	}
+
+
+	// called once by LogFlusher before it starts draining, from then on a full buffer drops new records instead of overwriting old ones
+	static void attachReader(){
+		hasReader = true;
+	}
+
+
+	/**
+	 * Formats every record written since the last drain and appends them to out, one line each.
+	 * Only one thread may drain, that's normally LogFlusher.
+	 * @return how many records were appended
+	 */
+	static int drainTo(StringBuilder out){
+		long t = tail, h = head;
+		for(long r = t; r < h; r++){
+			int i = (int)(r & MASK);
+			out.append(millis[i]).append(' ');
+			switch(recordLevel[i]){
+				case ERROR: out.append("ERROR "); break;
+				case INFO: out.append("INFO  "); break;
+				default: out.append("DEBUG "); break;
+			}
+			out.append(message[i]);
+			switch(kind[i]){
+				case ONE_INT: out.append(' ').append((int)valueA[i]); break;
+				case ONE_FLOAT: out.append(' ').append(valueA[i]); break;
+				case TWO_FLOATS: out.append(' ').append(valueA[i]).append(", ").append(valueB[i]); break;
+				case ONE_OBJECT: out.append(' ').append(object[i]); break;
+				default: break;
+			}
+			out.append('\n');
+			object[i] = null; // don't keep game objects alive from the log
+		}
+		tail = h; // the game thread can reuse these slots now
+		int d = dropped - droppedReported;
+		if(d > 0){
+			droppedReported += d;
+			out.append("(").append(d).append(" log records dropped, the log was writing faster than it could be saved)\n");
+		}
+		return (int)(h - t);
+	}
+
+}
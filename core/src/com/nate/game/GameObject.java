@@ -3,8 +3,10 @@
  */
 package com.nate.game;
 
+import com.badlogic.gdx.graphics.g2d.Batch;
+
 /**
- *  All game objects must be controlled from the Arknoid1.java main program.
+ *  All game objects must be controlled from the GameSession they belong to.
  *  They must each implement a number of methods that allow for basic control,
  *  such as pausing, stopping, drawing, and updating.
  *  @author natenator
@@ -13,10 +15,11 @@ package com.nate.game;
 public interface GameObject {
 	
 	/**
-	 * 
-	 *
+	 * Draws the object, called from inside the batch rendering block by whoever is drawing the GameSession (Arknoid1).
+	 * @param batch the batch to draw with, the same batch is used for everything (Arknoid1's SpriteBatch, or a stand-in that needs no OpenGL, like the benchmarks' CountingBatch)
+	 * @param renderAlpha 0..1, how far the frame is between the previous and current simulation step, to interpolate anything that moves
 	 */
-	void draw();
+	void draw(Batch batch, float renderAlpha);
 	
 	/**
 	 * 
@@ -0,0 +1,283 @@
+/**
+ *
+ */
+package com.nate.game;
+
+import static com.nate.game.Arknoid1.logger;
+
+import com.badlogic.gdx.utils.TimeUtils;
+import com.nate.game.GameEventBus.GameEventListener;
+import com.nate.game.ProjectileSystem.ProjectileTypes;
+
+/**
+ * @author Nathan Merris
+ * A GameSession is one whole game: the physics world, every ball, vaus, the bricks and walls, the level progression, the score and lives,
+ * and vaus' input state.  Nothing it owns is static, so any number of sessions can be played side by side in one process,
+ * each one exactly the same as if it were the only one (headless soak tests, checking a game on a server, benchmarks).
+ * A session never draws anything and never plays a sound, Arknoid1 does that with what the session exposes,
+ * and HeadlessSimulation just steps it.  The only thing shared is the TextureCache passed in, a headless one only knows image sizes.
+ * A session must only be used from one thread at a time, and all of it's bodies live and die in it's own physics world.
+ */
+public class GameSession {
+
+	// fixed timestep stuff..
+	// the physics world always advances in STEP_TIME sized steps, whoever is stepping the session decides how many steps per frame
+	static final float STEP_TIME = 1 / 60f; // length of one simulation step in seconds
+
+	// level progression stuff..
+	// once the last brick is destroyed the game waits LEVEL_END_DELAY (game time) so the player can enjoy it,
+	// then the next level, which was preloaded in the background, is installed a few bricks per simulation step
+	static final float LEVEL_END_DELAY = 2.0f;
+
+	static final int STARTING_LIVES = 180;
+
+	final boolean arcadeCollisions; // true to bounce the balls off bricks and walls with ArcadeCollision instead of box2d
+	final int startingBalls; // balls in play at the start of every level, anything more than 1 is the stress mode
+
+	// physics is common to all game elements that use physics
+	// the game objects only ever hold handles to their bodies and go through physics for everything, see PhysicsWorld
+	final PhysicsWorld physics; // the world all the physics bodies live in, box2d underneath (Box2DPhysicsWorld)
+	final WorldCommandQueue worldCommands; // body changes posted during physics.step(), applied right after it
+	final GameEventBus gameEvents; // what happened during the simulation steps, the sounds, statistics, etc catch up on it once per frame, the scoreboard every step
+	final TextureCache textures; // every game image comes from here, they all share the texture atlas pages
+
+	final Walls walls;
+	final BallManager balls; // every ball in play
+	final Vaus vaus;
+	final BrickField bricks; // every brick of the current level
+	final ContactProcessor contactProcessor; // deals with all physics contact logic that is not automatically done by the box2d physics engine itself
+	final ArcadeCollision arcadeCollision; // only when arcadeCollisions is true, null otherwise
+	final Scoreboard scoreboard; // score and lives
+	final GameStatistics statistics; // counts of everything that happened, for the headless runs
+
+	private LevelLoader levelLoader; // reads in the level data
+	private LevelPreloader levelPreloader; // gets the next level ready on a worker thread while the current one is being played
+	int levelNumber; // the level being played
+	private float levelEndTime; // game time since the last brick of this level was destroyed
+	private boolean installingLevel; // true while levelPreloader is still adding the next level's bricks
+	private boolean gameOver; // out of lives, the balls were stopped the step it happened and stay stopped
+	long ticks; // simulation steps since the session started
+	private InputRecording recording; // every command given, only after startRecording()
+	private boolean checksums; // true once enableChecksums() was called, they cost a little every step so they're off by default
+	private long checksum; // rolling checksum of the whole game, see getChecksum()
+	boolean timePhysics; // true while the FrameProfiler is shown, it wants box2d's share of the steps..
+	long physicsNanos; // ..added up here, it takes it (and sets it back to 0) once per frame
+
+
+	/**
+	 * Builds the first level, ready to step.  Must be called from a thread that can create physics bodies (any thread, for box2d),
+	 * and with a TextureCache that nobody else is using from another thread at the same time.
+	 * @param textures where every image comes from, it's not disposed with the session
+	 * @param levelNumber the level to start on, same numbering as LevelLoader.loadLevel()
+	 * @param arcadeCollisions true to bounce the balls off bricks and walls with ArcadeCollision instead of box2d
+	 * @param startingBalls balls in play at the start of every level, 1 for a normal game
+	 */
+	public GameSession(TextureCache textures, int levelNumber, boolean arcadeCollisions, int startingBalls){
+		this.textures = textures;
+		this.levelNumber = levelNumber;
+		this.arcadeCollisions = arcadeCollisions;
+		this.startingBalls = startingBalls;
+
+		// create the physics world, box2d is the only PhysicsWorld for now..
+		physics = new Box2DPhysicsWorld(0, -9.8f);
+		worldCommands = new WorldCommandQueue(physics);
+		gameEvents = new GameEventBus();
+
+		// the order of the object instantiation matters here or you get a null pointer exception..
+		// the walls go first, everything that moves needs to know how thick they are
+		levelLoader = new LevelLoader();
+		levelLoader.loadLevel(levelNumber); // load level data for level X, everything needed to construct a level retrieved here
+
+		walls = new Walls(this, levelLoader.getLeftWallTexture(), levelLoader.getRightWallTexture(), levelLoader.getCeilingTexture()); // each level may have it's own unique wall and ceiling textures
+		balls = new BallManager(this, levelLoader.getBallTexture(), startingBalls); // each level may have it's own unique ball texture
+		vaus = new Vaus(this, levelLoader.getVausTexture()); // each level may have it's own unique vaus texture
+		bricks = new BrickField(this); // holds every brick of the current level
+		levelLoader.loadBricks(bricks);
+		contactProcessor = new ContactProcessor(this); // needs the bricks, balls and vaus
+		arcadeCollision = arcadeCollisions ? new ArcadeCollision(this) : null; // needs the ball and walls sizes
+		scoreboard = new Scoreboard(STARTING_LIVES);
+		statistics = new GameStatistics();
+		gameEvents.addListener(scoreboard); // counts every step itself, as a listener it only hears when the bus starts over
+		gameEvents.addListener(statistics);
+
+		levelPreloader = new LevelPreloader(levelLoader, textures);
+		levelPreloader.preload(levelLoader.nextLevelNumber(levelNumber)); // start getting the next level ready right away, it has the whole level to finish
+
+		if(startingBalls > 1){ logger.info("###################### stress mode: " + startingBalls + " balls ######################"); }
+		logger.info("ball collisions with bricks and walls: " + (arcadeCollisions ? "ArcadeCollision" : "box2d"));
+		logger.info("GameSession constructor exiting..");
+	}
+
+
+	// the music for the level the session started on, it's up to whoever plays sounds to play it
+	public String getBackgroundMusic(){
+		return levelLoader.getBackgroundMusic();
+	}
+
+
+	// advances the game by exactly one STEP_TIME, does not draw anything
+	public void step(){
+		// remember where everything was before this step, the draw() methods interpolate from here..
+		balls.savePreviousPositions();
+		vaus.savePreviousPosition();
+		bricks.savePreviousPositions();
+
+		// much of the 'updating' is done automatically by the box2d physics engine,
+		// but still some custom updating must be done, thus the following methods..
+		balls.update();
+		vaus.update();
+		bricks.update();
+
+		Object trace = GameTrace.on ? GameTrace.sink.beginStep() : null;
+		if(timePhysics){
+			long start = TimeUtils.nanoTime();
+			physics.step(STEP_TIME);
+			physicsNanos += TimeUtils.nanoTime() - start;
+		}
+		else { physics.step(STEP_TIME); } // always the same step size, so the simulation does not depend on the frame rate
+		if(trace != null){ GameTrace.sink.endStep(trace, physics.getBodyCount(), physics.getContactCount()); }
+		if(arcadeCollision != null){ arcadeCollision.sweepBalls(); } // the balls against bricks and walls, along the whole path each just moved
+		worldCommands.apply(); // destroy/deactivate whatever died during the step, each exactly once
+
+		updateLevelProgress(); // bodies can only be destroyed and created outside of physics.step()
+		scoreboard.countStep(gameEvents); // the score and lives are up to date after every step, however many steps go by before the events are dispatched
+		if(!gameOver && scoreboard.getLives() <= 0){ // only the once, stopping them again would overwrite the velocities a pause kept
+			gameOver = true;
+			balls.stop(); // stop the balls, why not?  maybe then make the ball explode!!
+		}
+		ticks++;
+		if(checksums){ checksum = checksum(checksum); }
+		if(recording != null){
+			recording.endTick = (int)ticks;
+			if(ticks % InputRecording.CHECKSUM_INTERVAL == 0){ recording.addChecksum(checksum); }
+		}
+	}
+
+
+	// hands everything that happened since the last call to the listeners (score, statistics, and whatever else was added, like sounds)
+	public void dispatchEvents(){
+		gameEvents.dispatch();
+	}
+
+
+	// listeners are called in the order they were added, the session's own scoreboard and statistics always go first
+	public void addEventListener(GameEventListener listener){
+		gameEvents.addListener(listener);
+	}
+
+
+	// checks if the level is finished and swaps in the preloaded next level, called once per simulation step..
+	private void updateLevelProgress(){
+		if(installingLevel){
+			if(levelPreloader.install(bricks)){ // last few bricks just went in
+				installingLevel = false;
+				levelNumber = levelPreloader.getLevelNumber();
+				balls.reset();
+				if(gameOver){ balls.stop(); } // a bomb still in the air can clear a level after the game is over, the new ball stays put too
+				levelPreloader.preload(levelLoader.nextLevelNumber(levelNumber)); // and start on the one after
+				logger.info("GameSession: now playing level " + levelNumber);
+			}
+		}
+		else if(bricks.bricksRemaining <= 0){
+			levelEndTime += STEP_TIME;
+			if(levelEndTime >= LEVEL_END_DELAY){ // normally the preload finished long ago, if not install() waits for it, so the next level always starts on the same step
+				levelEndTime = 0;
+				bricks.removeAll(); // the old level's bricks and any bonus items still falling
+				balls.stop(); // hold the balls still while the bricks go in, reset() starts one again
+				installingLevel = true;
+			}
+		}
+	}
+
+
+	// the player's input, this is everything that can be done to a session from the outside..
+	// GameInput turns mouse, keyboard and touch into these, they are applied right away, between steps
+	// the session always plays out the same for the same commands given before the same steps, that's what makes InputRecording work
+
+	// vaus starts moving towards x (world units) and stops when she gets there
+	public void moveVausTo(float x){ record(InputRecording.MOVE, x); vaus.moveTo(x); }
+
+	// whack the ball with the flippers!
+	public void flip(){ record(InputRecording.FLIP, 0); vaus.actuateFlippers(); }
+
+	// fires the weapon vaus has, if any, a rapid fire weapon keeps firing until releaseTrigger()
+	public void pullTrigger(){ record(InputRecording.FIRE, 0); vaus.fireWeapon(); }
+
+	public void releaseTrigger(){ record(InputRecording.RELEASE, 0); vaus.releaseTrigger(); }
+
+	// stops every ball where it is, or starts them all again
+	public void togglePause(){ record(InputRecording.PAUSE, 0); vaus.togglePause(); }
+
+	// vaus gets a weapon as if she caught it's item, not something a player can do, it's for test scenarios like FrameBudgetSuite's bomber
+	public void giveWeapon(ProjectileTypes type){ record(InputRecording.WEAPON, type.ordinal()); vaus.giveWeapon(type); }
+
+	private void record(byte command, float x){
+		if(recording != null){ recording.add(ticks, command, x); }
+	}
+
+
+	/**
+	 * Starts keeping every command given to this session from now on, stamped with the step it came before, see InputRecording.
+	 * The recording also keeps the session's checksum every InputRecording.CHECKSUM_INTERVAL steps, so this turns on the checksums.
+	 * Has to be called before the first step, a replay always starts from a brand new session.
+	 * @return the recording, it keeps growing until the session is disposed, save it whenever
+	 */
+	public InputRecording startRecording(){
+		enableChecksums();
+		recording = new InputRecording(InputRecording.buildFingerprint(), levelNumber, arcadeCollisions, startingBalls);
+		return recording;
+	}
+
+
+	// starts updating getChecksum() after every step, has to be called before the first step so two sessions' checksums can be compared
+	public void enableChecksums(){
+		if(ticks != 0){ throw new IllegalStateException("checksums have to start before the first step"); }
+		checksums = true;
+		checksum = StateChecksum.START;
+	}
+
+
+	/**
+	 * A rolling checksum of the whole game: every step mixes the step count, every physics body's position, angle and velocities,
+	 * every brick's toughness, the score, lives and level into the checksum the step before left.
+	 * So two sessions that were the same game up to a step have the same checksum there, and once they go different ways they never match again.
+	 * Only kept after enableChecksums() (or startRecording()).
+	 */
+	public long getChecksum(){
+		return checksum;
+	}
+
+
+	private long checksum(long hash){
+		hash = StateChecksum.mix(hash, ticks);
+		hash = physics.checksum(hash);
+		for(int id = 0; id < bricks.numBricks; id++){
+			hash = StateChecksum.mix(hash, bricks.isAlive[id] ? bricks.toughness[id] : -1);
+		}
+		hash = StateChecksum.mix(hash, scoreboard.getScore());
+		hash = StateChecksum.mix(hash, scoreboard.getLives());
+		return StateChecksum.mix(hash, levelNumber);
+	}
+
+
+	public int getScore(){ return scoreboard.getScore(); }
+	public int getLives(){ return scoreboard.getLives(); }
+	public boolean isGameOver(){ return gameOver; }
+	public int getLevelNumber(){ return levelNumber; }
+	public int getBricksRemaining(){ return bricks.bricksRemaining; }
+	public long getTicks(){ return ticks; }
+	public GameStatistics getStatistics(){ return statistics; }
+
+
+	// everything but the TextureCache, which belongs to whoever made the session
+	public void dispose(){
+		levelPreloader.dispose(); // before the world, a preload may still be running
+		physics.dispose();
+		walls.dispose();
+		vaus.dispose();
+		balls.dispose();
+		bricks.dispose();
+		logger.info("GameSession dispose() exiting..");
+	}
+
+}
@@ -0,0 +1,48 @@
+/**
+ *
+ */
+package com.nate.game;
+
+import com.nate.game.GameEventBus.GameEvent;
+import com.nate.game.GameEventBus.GameEventListener;
+
+/**
+ * @author Nathan Merris
+ * Counts what happened during the game, fed from the GameEventBus once per frame like every other event listener.
+ * Nothing in the game itself reads these, they are for the headless runs (see HeadlessSimulation) and for tuning levels.
+ */
+public class GameStatistics implements GameEventListener {
+
+	int ballBrickHits;		// every time the ball touched a brick
+	int bricksDestroyed;	// by the ball or a projectile
+	int ballVausHits;		// bounces off the flat top of vaus
+	int ballsLost;			// times the ball hit the floor
+	int itemsCaught;
+	int itemsLost;			// bonus items that fell past vaus
+
+
+	@Override
+	public void handleEvents(GameEventBus events){
+		for(int i = 0; i < events.size(); i++){
+			GameEvent e = events.get(i);
+			switch(e.type){
+				case BALL_BRICK_HIT: ballBrickHits++; break;
+				case BRICK_DESTROYED: bricksDestroyed++; break;
+				case BALL_VAUS_HIT: ballVausHits++; break;
+				case BALL_LOST: ballsLost++; break;
+				case ITEM_CAUGHT: itemsCaught++; break;
+				case ITEM_LOST: itemsLost++; break;
+				default: break;
+			}
+		}
+	}
+
+
+	// one line summary, for logging
+	@Override
+	public String toString(){
+		return "bricks destroyed " + bricksDestroyed + ", ball-brick hits " + ballBrickHits + ", ball-vaus hits " + ballVausHits
+				+ ", balls lost " + ballsLost + ", items caught " + itemsCaught + ", items lost " + itemsLost;
+	}
+
+}
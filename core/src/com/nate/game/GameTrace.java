@@ -0,0 +1,51 @@
+/**
+ *
+ */
+package com.nate.game;
+
+/**
+ * @author Nathan Merris
+ * Hooks for an outside recorder (the desktop launcher plugs in Java Flight Recorder, see JfrTrace) to see what the game is doing and how long it takes:
+ * every physics step (with the body and contact count), every contact callback by category, each phase of loading a level, and each render pass.
+ * Every call site looks like
+ *     Object trace = GameTrace.on ? GameTrace.sink.beginSomething(..) : null;
+ *     .. the work ..
+ *     if(trace != null){ GameTrace.sink.endSomething(trace, ..); }
+ * so while nothing is recording it costs one read of a boolean per site and nothing else, no arguments are worked out and no calls are made,
+ * and on platforms that never install a Sink (Android, HTML, headless) on is never true at all.
+ * The sink hands back whatever it wants to keep for the matching end call (JfrTrace gives back the jdk.jfr.Event it began), so nothing is shared
+ * between two things being traced at the same time, LevelPreloader reads levels on it's worker thread while the game thread is stepping.
+ * The names handed to the sink are constants (enum names and string literals), nothing is built per call.
+ */
+public class GameTrace {
+
+	// gets told about everything, only called while on is true
+	public interface Sink {
+		Object beginStep();
+		void endStep(Object step, int bodies, int contacts);
+
+		Object beginContact(String category, String callback); // category is the ContactProcessor belligerents, callback is beginContact, postSolve or endContact
+		void endContact(Object contact);
+
+		Object beginLevelLoad(String phase, int levelNumber);
+		void endLevelLoad(Object load, int count); // count is what the phase went through: bricks, or textures
+
+		Object beginRenderPass(String pass);
+		void endRenderPass(Object pass, int renderCalls);
+	}
+
+	public static volatile boolean on; // true while the sink wants to hear about things, JfrTrace turns it on and off with the recordings
+	static Sink sink; // only read after on was seen to be true
+
+
+	// the sink goes in first, then on can be turned on
+	public static void install(Sink s){
+		on = false;
+		sink = s;
+	}
+
+	public static void setOn(boolean enabled){
+		on = enabled && sink != null;
+	}
+
+}
@@ -0,0 +1,108 @@
+/**
+ * 
+ */
+package com.nate.game;
+
+import static com.nate.game.Arknoid1.logger;
+import static com.nate.game.GameSession.STEP_TIME;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Logger;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * @author Nathan Merris
+ * HeadlessSimulation runs a level with no rendering and no audio, it is started from the headless launcher (libgdx headless backend, no GPU needed).
+ * It's a GameSession like the real game plays, just with nobody drawing it, listening to it or playing it.
+ * Every call to render() advances the game by one fixed STEP_TIME, and the headless backend calls render() as fast as the cpu allows,
+ * so many game minutes go by in a few real seconds.  Used to soak-test the game logic on build machines.
+ */
+public class HeadlessSimulation extends ApplicationAdapter {
+	
+	private static final long PROGRESS_INTERVAL = Math.round(60f / STEP_TIME); // log a progress line every simulated game minute
+	
+	private long ticksToRun; // how many fixed steps to simulate before exiting
+	private long ticks; // how many fixed steps have been simulated so far
+	private long startTime; // real time the simulation started, in nanoseconds
+	private boolean verbose; // true to keep the normal game logging, which slows things down a LOT
+	private int levelNumber; // the level to start on
+	
+	public boolean arcadeCollisions; // same as Arknoid1's, set by the launcher (-arcade) before the simulation starts
+	public int startingBalls = 1; // same as Arknoid1's, set by the launcher (-balls N)
+	public FileHandle replayFile; // set by the launcher (-replay FILE), plays a recorded game back as fast as possible, for exactly as many steps as it lasted
+	
+	private TextureCache textures; // only knows image sizes, nothing is ever drawn
+	private GameSession session;
+	private ReplayPlayer replay; // only when replayFile is set
+	
+	// constructor..
+	public HeadlessSimulation(int levelNumber, float gameMinutes, boolean verbose){
+		this.levelNumber = levelNumber;
+		this.ticksToRun = Math.round(gameMinutes * 60.0 / STEP_TIME);
+		this.verbose = verbose;
+	}
+	
+	@Override
+	public void create(){
+		if(!verbose){ logger.setLevel(Logger.ERROR); } // the game logs a lot, which would be most of the run time here
+		GameLog.setLevel(verbose ? GameLog.DEBUG : GameLog.ERROR); // every single collision is logged at DEBUG
+		textures = new TextureCache("texturepack.atlas", true);
+		if(replayFile != null){
+			InputRecording recording = InputRecording.load(replayFile);
+			replay = new ReplayPlayer(recording);
+			session = replay.createSession(textures);
+			ticksToRun = recording.getEndTick();
+			Gdx.app.log("HeadlessSimulation", "replaying " + replayFile.path() + ", " + recording.size() + " commands");
+		}
+		else{
+			session = new GameSession(textures, levelNumber, arcadeCollisions, startingBalls);
+		}
+		startTime = TimeUtils.nanoTime();
+		Gdx.app.log("HeadlessSimulation", "simulating " + ticksToRun + " steps (" + (ticksToRun * STEP_TIME / 60f) + " game minutes)");
+	}
+	
+	@Override
+	public void render(){
+		if(ticks >= ticksToRun){ return; } // the headless backend may call render() once more after exit()
+		
+		if(replay != null){ replay.feed(session); }
+		session.step(); // no accumulator here, one step per call no matter how much real time went by
+		session.dispatchEvents();
+		if(replay != null){ replay.check(session); }
+		ticks++;
+		
+		if(ticks % PROGRESS_INTERVAL == 0){
+			logStatus("progress");
+		}
+		if(ticks >= ticksToRun){
+			logStatus("finished");
+			Gdx.app.exit(); // the headless backend calls dispose() for us after this
+		}
+	}
+	
+	// logs a one line summary of the simulation so far..
+	private void logStatus(String what){
+		float realSeconds = (TimeUtils.nanoTime() - startTime) / 1000000000f;
+		float gameSeconds = ticks * STEP_TIME;
+		Gdx.app.log("HeadlessSimulation", what + ": " + ticks + " steps, "
+				+ gameSeconds + " game seconds in " + realSeconds + " real seconds (" + (realSeconds > 0 ? gameSeconds / realSeconds : 0) + "x real time), "
+				+ "level " + session.getLevelNumber() + ", score " + session.getScore() + ", lives " + session.getLives() + ", bricks remaining " + session.getBricksRemaining());
+		if(what.equals("finished")){ Gdx.app.log("HeadlessSimulation", "statistics: " + session.getStatistics()); }
+		if(what.equals("finished") && replay != null){
+			if(replay.hasDiverged()){
+				Gdx.app.log("HeadlessSimulation", "the replay went different from the recording between step " + (replay.getDivergedTick() - replay.getChecksumInterval())
+						+ " and step " + replay.getDivergedTick());
+			}
+			else{ Gdx.app.log("HeadlessSimulation", "the replay matched the recording at all " + replay.getChecksumsChecked(session) + " checksums"); }
+		}
+	}
+	
+	@Override
+	public void dispose(){
+		session.dispose();
+		textures.dispose();
+	}
+
+}
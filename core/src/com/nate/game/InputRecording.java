@@ -0,0 +1,247 @@
+/**
+ *
+ */
+package com.nate.game;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.nate.game.ProjectileSystem.ProjectileTypes;
+
+/**
+ * @author Nathan Merris
+ * Every command the player gave a GameSession (see GameSession.moveVausTo() and the rest), each stamped with the simulation step it
+ * was given before, plus what the session was started with.  The session is the same every time for the same start and the same commands,
+ * so this is the whole game: ReplayPlayer feeds it back in through the same command methods and the game plays out exactly the same
+ * (on the same platform, box2d's floating point can differ between cpus and compilers, and on the same build, see buildFingerprint()).
+ * Saved as a small binary replay file, all numbers big endian:
+ *   int magic "ARKR", short version, the build fingerprint as a string (UTF-8 byte count as a short, then the bytes),
+ *   int level number, byte 1 for arcade collisions, int starting balls, int steps the game lasted, int command count,
+ *   then each command: steps since the previous command as a varint (7 bits per byte, low bits first), the command byte,
+ *   and for MOVE the x as a float, then int checksum interval, int checksum count and the checksums as longs.
+ *   A few minutes of frantic clicking comes to a few KB.
+ * The checksums are the session's getChecksum() after every CHECKSUM_INTERVAL steps, so a replay can tell when it stopped being the same game.
+ */
+public class InputRecording {
+
+	static final int REPLAY_FILE_MAGIC = 0x41524B52; // "ARKR"
+	static final short REPLAY_FILE_VERSION = 3; // 2 added the checksums, 3 the WEAPON command
+	static final String FINGERPRINT_FILE = "build.fingerprint"; // written into the assets by core's writeBuildFingerprint gradle task
+
+	// the session's commands..
+	public static final byte MOVE = 0, FLIP = 1, FIRE = 2, RELEASE = 3, PAUSE = 4, WEAPON = 5; // WEAPON's x is the ProjectileTypes ordinal
+
+	static final int CHECKSUM_INTERVAL = 60; // steps between checksums, one per game second is 480 bytes a minute
+
+	private static final int INITIAL_CAPACITY = 256;
+
+	final String fingerprint;		// the build that recorded it
+	final int levelNumber;			// what the session was started with..
+	final boolean arcadeCollisions;
+	final int startingBalls;
+	int endTick;					// the steps the recorded game lasted, commands can only come before one of them
+
+	// one element per command, in the order they were given..
+	int count;
+	long[] tick;					// the step the command came right before, the session's getTicks() at the time
+	byte[] command;
+	float[] x;						// MOVE's x, and WEAPON's ProjectileTypes ordinal
+
+	// the session's checksum after every checksumInterval steps, checksums[i] is the one after step (i + 1) * checksumInterval..
+	int checksumInterval = CHECKSUM_INTERVAL;
+	int checksumCount;
+	long[] checksums;
+
+
+	InputRecording(String fingerprint, int levelNumber, boolean arcadeCollisions, int startingBalls){
+		this.fingerprint = fingerprint;
+		this.levelNumber = levelNumber;
+		this.arcadeCollisions = arcadeCollisions;
+		this.startingBalls = startingBalls;
+		tick = new long[INITIAL_CAPACITY];
+		command = new byte[INITIAL_CAPACITY];
+		x = new float[INITIAL_CAPACITY];
+		checksums = new long[INITIAL_CAPACITY];
+	}
+
+
+	// called by the session, for every command it's given
+	void add(long atTick, byte cmd, float atX){
+		if(count == tick.length){
+			long[] newTick = new long[count * 2];
+			byte[] newCommand = new byte[count * 2];
+			float[] newX = new float[count * 2];
+			System.arraycopy(tick, 0, newTick, 0, count);
+			System.arraycopy(command, 0, newCommand, 0, count);
+			System.arraycopy(x, 0, newX, 0, count);
+			tick = newTick;
+			command = newCommand;
+			x = newX;
+		}
+		tick[count] = atTick;
+		command[count] = cmd;
+		x[count] = atX;
+		count++;
+	}
+
+
+	// called by the session after every checksumInterval steps
+	void addChecksum(long checksum){
+		if(checksumCount == checksums.length){
+			long[] newChecksums = new long[checksumCount * 2];
+			System.arraycopy(checksums, 0, newChecksums, 0, checksumCount);
+			checksums = newChecksums;
+		}
+		checksums[checksumCount++] = checksum;
+	}
+
+
+	public int getLevelNumber(){ return levelNumber; }
+	public boolean isArcadeCollisions(){ return arcadeCollisions; }
+	public int getStartingBalls(){ return startingBalls; }
+	public int getEndTick(){ return endTick; }
+	public String getFingerprint(){ return fingerprint; }
+	public int size(){ return count; }
+
+
+	/**
+	 * A fingerprint of the game code and levels this is running, from the build.fingerprint file in the assets.
+	 * A replay only plays out the same on the build that recorded it, any change to the game code or a level can change every step after it.
+	 * @return the fingerprint, or "unknown" when the file is missing (run from an IDE without the gradle build)
+	 */
+	public static String buildFingerprint(){
+		FileHandle file = Gdx.files.internal(FINGERPRINT_FILE);
+		return file.exists() ? file.readString("UTF-8").trim() : "unknown";
+	}
+
+
+	public void save(FileHandle file){
+		file.writeBytes(toBytes(), false);
+	}
+
+	public static InputRecording load(FileHandle file){
+		return fromBytes(ByteBuffer.wrap(file.readBytes()));
+	}
+
+
+	byte[] toBytes(){
+		byte[] fingerprintBytes = utf8(fingerprint);
+		ByteBuffer buffer = ByteBuffer.allocate(4 + 2 + 2 + fingerprintBytes.length + 4 + 1 + 4 + 4 + 4 + count * (10 + 1 + 4) + 4 + 4 + checksumCount * 8); // room for the longest varints
+		buffer.putInt(REPLAY_FILE_MAGIC);
+		buffer.putShort(REPLAY_FILE_VERSION);
+		buffer.putShort((short)fingerprintBytes.length);
+		buffer.put(fingerprintBytes);
+		buffer.putInt(levelNumber);
+		buffer.put((byte)(arcadeCollisions ? 1 : 0));
+		buffer.putInt(startingBalls);
+		buffer.putInt(endTick);
+		buffer.putInt(count);
+
+		long previous = 0;
+		for(int i = 0; i < count; i++){
+			putVarLong(buffer, tick[i] - previous);
+			previous = tick[i];
+			buffer.put(command[i]);
+			if(command[i] == MOVE){ buffer.putFloat(x[i]); }
+			else if(command[i] == WEAPON){ buffer.put((byte)x[i]); } // the ProjectileTypes ordinal
+		}
+		buffer.putInt(checksumInterval);
+		buffer.putInt(checksumCount);
+		for(int i = 0; i < checksumCount; i++){ buffer.putLong(checksums[i]); }
+
+		byte[] bytes = new byte[buffer.position()];
+		buffer.flip();
+		buffer.get(bytes);
+		return bytes;
+	}
+
+
+	/**
+	 * Reads a replay file's bytes.
+	 * @throws GdxRuntimeException if it's not a replay file, was written by a different REPLAY_FILE_VERSION, or is cut short
+	 */
+	static InputRecording fromBytes(ByteBuffer buffer){
+		try {
+			if(buffer.getInt() != REPLAY_FILE_MAGIC){ throw new GdxRuntimeException("not a replay file"); }
+			short version = buffer.getShort();
+			if(version != REPLAY_FILE_VERSION){ throw new GdxRuntimeException("replay file version is " + version + ", expected " + REPLAY_FILE_VERSION); }
+
+			byte[] fingerprintBytes = new byte[buffer.getShort()];
+			buffer.get(fingerprintBytes);
+			int levelNumber = buffer.getInt();
+			boolean arcade = buffer.get() != 0;
+			int startingBalls = buffer.getInt();
+			InputRecording recording = new InputRecording(string(fingerprintBytes), levelNumber, arcade, startingBalls);
+			recording.endTick = buffer.getInt();
+
+			int n = buffer.getInt();
+			long previous = 0;
+			for(int i = 0; i < n; i++){
+				long t = previous + getVarLong(buffer);
+				byte cmd = buffer.get();
+				if(cmd < MOVE || cmd > WEAPON){ throw new GdxRuntimeException("command " + i + " is " + cmd + ", not a command"); }
+				float value = 0;
+				if(cmd == MOVE){ value = buffer.getFloat(); }
+				else if(cmd == WEAPON){
+					value = buffer.get();
+					if(value < 0 || value >= ProjectileTypes.values().length){ throw new GdxRuntimeException("command " + i + " gives weapon " + (int)value + ", not a weapon"); }
+				}
+				recording.add(t, cmd, value);
+				previous = t;
+			}
+
+			recording.checksumInterval = buffer.getInt();
+			if(recording.checksumInterval <= 0){ throw new GdxRuntimeException("bad checksum interval " + recording.checksumInterval); }
+			int checksumCount = buffer.getInt();
+			for(int i = 0; i < checksumCount; i++){ recording.addChecksum(buffer.getLong()); }
+			return recording;
+		}
+		catch (BufferUnderflowException e){
+			throw new GdxRuntimeException("replay file is cut short");
+		}
+	}
+
+
+	// steps between commands are mostly small, so most of them take a single byte
+	private static void putVarLong(ByteBuffer buffer, long value){
+		while((value & ~0x7FL) != 0){
+			buffer.put((byte)((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte)value);
+	}
+
+	private static long getVarLong(ByteBuffer buffer){
+		long value = 0;
+		for(int shift = 0; shift < 64; shift += 7){
+			byte b = buffer.get();
+			value |= (long)(b & 0x7F) << shift;
+			if((b & 0x80) == 0){ return value; }
+		}
+		throw new GdxRuntimeException("bad step count in replay file");
+	}
+
+
+	private static byte[] utf8(String s){
+		try {
+			return s.getBytes("UTF-8");
+		}
+		catch (UnsupportedEncodingException e) { // every java platform has UTF-8, this can't really happen
+			throw new GdxRuntimeException(e);
+		}
+	}
+
+	private static String string(byte[] utf8){
+		try {
+			return new String(utf8, "UTF-8");
+		}
+		catch (UnsupportedEncodingException e) {
+			throw new GdxRuntimeException(e);
+		}
+	}
+
+}
@@ -0,0 +1,116 @@
+/**
+ *
+ */
+package com.nate.game;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Logger;
+import com.nate.game.LevelLoader.LevelData;
+
+/**
+ * @author Nathan Merris
+ * Build tool, not part of the game: compiles every "level-XYZ.json" file in a folder into a binary "level-XYZ.lvl" file next to it.
+ * Run by the compileLevels task in core/build.gradle, which passes in the android/assets folder.
+ * The binary file holds exactly what LevelLoader.LevelData holds: bonus items are stored as their ItemTypes ordinal,
+ * and each brick stores an index into a table of texture file names instead of the file name itself.
+ * LevelLoader.readBinary() is the other half of this, keep the two in step and bump LevelLoader.LEVEL_FILE_VERSION when the layout changes.
+ * Uses java.io so it's excluded from the GWT module (see Arknoid1.gwt.xml).
+ */
+public class LevelCompiler {
+
+	public static void main(String[] args) throws IOException {
+		if(args.length < 1){
+			System.err.println("usage: LevelCompiler <assets folder>");
+			System.exit(1);
+		}
+		Arknoid1.logger.setLevel(Logger.ERROR); // LevelLoader logs through this
+
+		File folder = new File(args[0]);
+		File[] files = folder.listFiles();
+		if(files == null){ throw new IOException("not a folder: " + folder); }
+
+		int compiled = 0;
+		for(File json : files){
+			String name = json.getName();
+			if(!name.matches("level-\\d+\\.json")){ continue; }
+
+			FileHandle jsonFile = new FileHandle(json);
+			LevelData data = new LevelJsonReader().read(jsonFile); // a mistake in the file fails the build, with the line number
+			data.sourceHash = LevelLoader.sourceHash(jsonFile.readBytes()); // so LevelLoader can tell when the .json was edited after this
+
+			File lvl = new File(folder, name.substring(0, name.length() - ".json".length()) + ".lvl");
+			try (OutputStream out = new FileOutputStream(lvl)) {
+				writeBinary(data, out);
+			}
+			System.out.println("LevelCompiler: " + name + " (" + json.length() + " bytes) -> " + lvl.getName() + " (" + lvl.length() + " bytes), " + data.numBricks + " bricks");
+			compiled++;
+		}
+		System.out.println("LevelCompiler: compiled " + compiled + " levels");
+	}
+
+
+	/**
+	 * Writes one level in the binary .lvl format, all numbers are big endian (the ByteBuffer default on the reading side).
+	 * The brick texture file names go first in the string table, so a brick's texture index is also it's string table index.
+	 */
+	static void writeBinary(LevelData data, OutputStream out) throws IOException {
+		ArrayList<String> strings = new ArrayList<String>();
+		for(String s : data.textureFiles){ strings.add(s); }
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream dataOut = new DataOutputStream(bytes);
+
+		dataOut.writeInt(LevelLoader.LEVEL_FILE_MAGIC);
+		dataOut.writeShort(LevelLoader.LEVEL_FILE_VERSION);
+		dataOut.writeInt(data.sourceHash);
+		dataOut.writeInt(data.levelNumber);
+
+		// header strings are written as string table indexes, but the table has to come first, so work out the indexes now..
+		short[] header = {
+				index(strings, data.levelBackgroundMusic), index(strings, data.ballTexture), index(strings, data.vausTexture),
+				index(strings, data.leftWallTexture), index(strings, data.rightWallTexture), index(strings, data.ceilingTexture) };
+
+		dataOut.writeShort(strings.size());
+		for(String s : strings){
+			byte[] utf8 = s.getBytes("UTF-8");
+			dataOut.writeShort(utf8.length);
+			dataOut.write(utf8);
+		}
+		for(short h : header){ dataOut.writeShort(h); }
+		dataOut.writeShort(data.textureFiles.length);
+
+		int n = data.numBricks;
+		dataOut.writeInt(n);
+		for(int i = 0; i < n; i++){ dataOut.writeFloat(data.positionX[i]); }
+		for(int i = 0; i < n; i++){ dataOut.writeFloat(data.positionY[i]); }
+		dataOut.write(data.bonusItem, 0, n);
+		for(int i = 0; i < n; i++){ dataOut.writeShort(data.toughness[i]); }
+		for(int i = 0; i < n; i++){ dataOut.writeByte(data.isIndestructible[i] ? 1 : 0); }
+		for(int i = 0; i < n; i++){ dataOut.writeShort(data.textureIndex[i]); }
+		for(int i = 0; i < n; i++){ dataOut.writeShort(data.pointValue[i]); }
+
+		dataOut.flush();
+		out.write(bytes.toByteArray());
+	}
+
+
+	// string table index of s, adding it to the table if it's not there yet, -1 for a string that was never set
+	private static short index(ArrayList<String> strings, String s){
+		if(s == null){ return -1; }
+		int i = strings.indexOf(s);
+		if(i < 0){
+			i = strings.size();
+			strings.add(s);
+		}
+		return (short)i;
+	}
+
+}
@@ -0,0 +1,262 @@
+/**
+ *
+ */
+package com.nate.game;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BooleanArray;
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.SerializationException;
+import com.badlogic.gdx.utils.ShortArray;
+import com.nate.game.BonusItem.ItemTypes;
+import com.nate.game.LevelLoader.LevelData;
+
+/**
+ * @author Nathan Merris
+ * Reads a level .json file straight into a LevelData, one value at a time as libgdx's JsonReader tokenizes the file.
+ * JsonReader normally builds a whole tree of JsonValue objects, but it hands every value to the methods overridden here first,
+ * so by not calling super nothing is built: each brick field goes right into it's own growing primitive array, no per brick objects at all.
+ * Only uses libgdx, so it works on desktop, Android and HTML (the Gson version it replaced did not work with GWT).
+ * Anything wrong with the file (bad JSON, a brick missing a field, an unknown bonus item) throws a GdxRuntimeException with the line number in it.
+ * So does a file that isn't a level at all: not an object, no "bricks", or one of the textures the level needs (ball, vaus, walls, ceiling) not given,
+ * so it fails right here with the file name instead of later in TextureCache. The background music is optional.
+ * Create a new one for every file you read, it keeps the state of the file being read.
+ *
+ * The bricks can be a plain array: "bricks": [ {...}, {...} ]
+ * or the way libgdx's Array class writes itself out, which is how the level files were first made: "bricks": { "items": [ {...}, {...} ], "size": 2 }
+ */
+class LevelJsonReader extends JsonReader {
+
+	// each brick field gets one bit, a brick is only complete when all of them are set..
+	private static final int POSITION_X = 1, POSITION_Y = 2, BONUS_ITEM = 4, TOUGHNESS = 8, INDESTRUCTIBLE = 16, TEXTURE_FILE = 32, POINT_VALUE = 64;
+	private static final int ALL_FIELDS = 127;
+
+	private LevelData data = new LevelData(0); // header fields are filled in as they are read, the brick arrays are swapped in at the end
+
+	private int depth; // how many objects/arrays deep we are, the outermost object is depth 1
+	private boolean inBricksObject; // inside "bricks": { ... } (only in the libgdx Array format)
+	private int bricksArrayDepth = -1; // the depth of the brick array, -1 when not in it
+	private boolean sawObject, sawBricks; // the outermost object, and the brick array in it, a level without them is not a level
+	private int fieldsRead; // bits for the fields read so far for the current brick
+
+	// the brick arrays grow as bricks are read, the final brick count is not known until the end of the file..
+	private FloatArray positionX = new FloatArray(), positionY = new FloatArray();
+	private ByteArray bonusItem = new ByteArray();
+	private ShortArray toughness = new ShortArray();
+	private BooleanArray isIndestructible = new BooleanArray();
+	private ShortArray textureIndex = new ShortArray();
+	private ShortArray pointValue = new ShortArray();
+	private Array<String> textureFiles = new Array<String>();
+	private ObjectIntMap<String> textureIndexes = new ObjectIntMap<String>();
+
+
+	/**
+	 * Reads one level file.
+	 * @throws GdxRuntimeException if the file can't be read or is not a valid level, the message has the file name and line number
+	 */
+	public LevelData read(FileHandle file){
+		return readString(file.readString("UTF-8"), file.name()); // a level file is only a few KB, and parse(FileHandle) would wrap the line number message in another exception
+	}
+
+
+	// same as read(), for a level that is already in memory, fileName is only used in error messages
+	public LevelData readString(String json, String fileName){
+		try {
+			parse(json);
+		}
+		catch (SerializationException e){ // JsonReader puts the line number in it's message, and anything thrown below ends up as the cause
+			String message = e.getMessage();
+			if(e.getCause() != null){ // one of the checks below failed, the "near: ..." part is just a long chunk of the file, the line number is enough
+				int near = message.indexOf(" near:");
+				message = (near == -1 ? message : message.substring(0, near)) + ": " + e.getCause().getMessage();
+			}
+			throw new GdxRuntimeException(fileName + ": " + message);
+		}
+		if(depth != 0){ throw new GdxRuntimeException(fileName + ": ends before all objects and arrays are closed"); }
+		if(!sawObject){ throw new GdxRuntimeException(fileName + ": a level file must be one object, { ... }"); }
+		if(!sawBricks){ throw new GdxRuntimeException(fileName + ": has no \"bricks\" array"); }
+		String missing = missingHeader();
+		if(missing.length() > 0){ throw new GdxRuntimeException(fileName + ": is missing " + missing); }
+
+		int n = positionX.size;
+		LevelData level = data;
+		level.numBricks = n;
+		level.positionX = positionX.toArray();
+		level.positionY = positionY.toArray();
+		level.bonusItem = bonusItem.toArray();
+		level.toughness = toughness.toArray();
+		level.isIndestructible = isIndestructible.toArray();
+		level.textureIndex = textureIndex.toArray();
+		level.pointValue = pointValue.toArray();
+		level.textureFiles = textureFiles.toArray(String.class);
+		return level;
+	}
+
+
+	private boolean inBrick(){
+		return bricksArrayDepth != -1 && depth == bricksArrayDepth + 1;
+	}
+
+
+	@Override
+	protected void startObject(String name){
+		depth++;
+		if(depth == 1){ sawObject = true; }
+		else if(depth == 2 && "bricks".equals(name)){
+			inBricksObject = true;
+		}
+		else if(inBrick()){ // a new brick, give it a slot in every array
+			fieldsRead = 0;
+			positionX.add(0);
+			positionY.add(0);
+			bonusItem.add((byte)ItemTypes.NO_ITEM.ordinal());
+			toughness.add((short)0);
+			isIndestructible.add(false);
+			textureIndex.add((short)0);
+			pointValue.add((short)0);
+		}
+	}
+
+
+	@Override
+	protected void startArray(String name){
+		depth++;
+		if(depth == 1){ throw new GdxRuntimeException("a level file must be one object, { ... }, not an array"); }
+		if((depth == 2 && "bricks".equals(name)) || (inBricksObject && depth == 3 && "items".equals(name))){
+			bricksArrayDepth = depth;
+			sawBricks = true;
+		}
+	}
+
+
+	@Override
+	protected void pop(){
+		if(inBrick() && fieldsRead != ALL_FIELDS){
+			throw new GdxRuntimeException("brick " + (positionX.size - 1) + " is missing " + missingFields());
+		}
+		if(depth == bricksArrayDepth){ bricksArrayDepth = -1; }
+		if(depth == 2){ inBricksObject = false; }
+		depth--;
+	}
+
+
+	@Override
+	protected void string(String name, String value){
+		if(inBrick()){
+			if("bonusItem".equals(name)){ setBonusItem(value); }
+			else if("textureFile".equals(name)){ setTextureFile(value); }
+			else { unexpected(name, value); }
+		}
+		else if(depth == 1){
+			if("levelBackgroundMusic".equals(name)){ data.levelBackgroundMusic = value; }
+			else if("ballTexture".equals(name)){ data.ballTexture = value; }
+			else if("vausTexture".equals(name)){ data.vausTexture = value; }
+			else if("leftWallTexture".equals(name)){ data.leftWallTexture = value; }
+			else if("rightWallTexture".equals(name)){ data.rightWallTexture = value; }
+			else if("ceilingTexture".equals(name)){ data.ceilingTexture = value; }
+		}
+	}
+
+
+	@Override
+	protected void number(String name, double value, String stringValue){
+		if(inBrick()){
+			int last = positionX.size - 1;
+			if("positionX".equals(name)){ positionX.set(last, (float)value); fieldsRead |= POSITION_X; }
+			else if("positionY".equals(name)){ positionY.set(last, (float)value); fieldsRead |= POSITION_Y; }
+			else if("toughness".equals(name)){ toughness.set(last, toShort(name, value)); fieldsRead |= TOUGHNESS; }
+			else if("pointValue".equals(name)){ pointValue.set(last, toShort(name, value)); fieldsRead |= POINT_VALUE; }
+			else { unexpected(name, stringValue); }
+		}
+		else if(depth == 1 && "levelNumber".equals(name)){
+			data.levelNumber = (int)value;
+		}
+		// anything else (like the "size" next to "items") is ignored
+	}
+
+
+	@Override
+	protected void number(String name, long value, String stringValue){
+		number(name, (double)value, stringValue); // whole numbers come through here, positions like 4 instead of 4.0 are still fine
+	}
+
+
+	@Override
+	protected void bool(String name, boolean value){
+		if(inBrick()){
+			if("isIndestructible".equals(name)){ isIndestructible.set(positionX.size - 1, value); fieldsRead |= INDESTRUCTIBLE; }
+			else { unexpected(name, String.valueOf(value)); }
+		}
+	}
+
+
+	// using if-else ladder for efficiency: most bricks will not have a bonus item (faster than a switch?)
+	private void setBonusItem(String value){
+		ItemTypes type;
+		if(value.equals("none")){ type = ItemTypes.NO_ITEM; }
+		else if(value.equals("laser")){ type = ItemTypes.LASER; }
+		else if(value.equals("bomb")){ type = ItemTypes.BOMB; }
+		else if(value.equals("extralife")){ type = ItemTypes.EXTRA_LIFE; }
+		else if(value.equals("rapidlaser")){ type = ItemTypes.RAPID_LASER; }
+		else if(value.equals("spreadlaser")){ type = ItemTypes.SPREAD_LASER; }
+		else if(value.equals("balls2")){ type = ItemTypes.BALLS_2; }
+		else if(value.equals("balls3")){ type = ItemTypes.BALLS_3; }
+		else { throw new GdxRuntimeException("unknown bonusItem \"" + value + "\", expected none, laser, bomb, extralife, rapidlaser, spreadlaser, balls2 or balls3"); }
+		bonusItem.set(positionX.size - 1, (byte)type.ordinal());
+		fieldsRead |= BONUS_ITEM;
+	}
+
+
+	private void setTextureFile(String value){
+		int index = textureIndexes.get(value, -1);
+		if(index == -1){ // first brick with this texture
+			index = textureFiles.size;
+			textureFiles.add(value);
+			textureIndexes.put(value, index);
+		}
+		textureIndex.set(positionX.size - 1, (short)index);
+		fieldsRead |= TEXTURE_FILE;
+	}
+
+
+	private static short toShort(String name, double value){
+		if(value != (short)value){ throw new GdxRuntimeException(name + " must be a whole number from " + Short.MIN_VALUE + " to " + Short.MAX_VALUE + ", was " + value); }
+		return (short)value;
+	}
+
+
+	private static void unexpected(String name, String value){
+		throw new GdxRuntimeException("unexpected brick field " + name + ": " + value);
+	}
+
+
+	// the header strings every level has to have, the same way missingFields() does it for a brick
+	private String missingHeader(){
+		StringBuilder missing = new StringBuilder();
+		if(data.ballTexture == null){ missing.append(" ballTexture"); }
+		if(data.vausTexture == null){ missing.append(" vausTexture"); }
+		if(data.leftWallTexture == null){ missing.append(" leftWallTexture"); }
+		if(data.rightWallTexture == null){ missing.append(" rightWallTexture"); }
+		if(data.ceilingTexture == null){ missing.append(" ceilingTexture"); }
+		return missing.toString().trim();
+	}
+
+
+	private String missingFields(){
+		StringBuilder missing = new StringBuilder();
+		if((fieldsRead & POSITION_X) == 0){ missing.append(" positionX"); }
+		if((fieldsRead & POSITION_Y) == 0){ missing.append(" positionY"); }
+		if((fieldsRead & BONUS_ITEM) == 0){ missing.append(" bonusItem"); }
+		if((fieldsRead & TOUGHNESS) == 0){ missing.append(" toughness"); }
+		if((fieldsRead & INDESTRUCTIBLE) == 0){ missing.append(" isIndestructible"); }
+		if((fieldsRead & TEXTURE_FILE) == 0){ missing.append(" textureFile"); }
+		if((fieldsRead & POINT_VALUE) == 0){ missing.append(" pointValue"); }
+		return missing.toString().trim();
+	}
+
+}
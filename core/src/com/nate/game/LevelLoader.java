@@ -1,20 +1,17 @@
 /**
- * 
+ *
  */
 package com.nate.game;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.GdxRuntimeException;
-import com.google.gson.Gson;
 
 import static com.nate.game.Arknoid1.logger;
 
-import java.io.BufferedReader;
-//import java.io.File;
-import java.io.FileNotFoundException;
-//import java.io.FileReader;
-import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 
 
 
@@ -22,51 +19,70 @@ import java.io.IOException;
 /**
  * @author Nathan Merris
  * This class handles all file read and write operations
- * All file IO is handled using Gson: level data is read in from a standard .json text file and converted to POJO's here
- * If I get to the level editor, Gson will also be used to convert POJO's back to .json text files
- * The idea is that one single JSON text file holds all info needed to create one single level of play
+ * The idea is that one single file holds all info needed to create one single level of play
  * The file includes info such as: how many bricks, where each brick is, texture image file names (ie the walls may look different from on level to the next), etc
+ * Levels are written by hand as standard .json text files ("level-XYZ.json"), and the build compiles each one into a compact binary "level-XYZ.lvl" file (see LevelCompiler)
+ * The game reads the binary file when there is one, it's a lot smaller and there is nothing to parse, every value is read straight into an array
+ * If there is no .lvl file, or it was compiled from a different version of the .json file (like when you are editing a level and did not rebuild),
+ * the .json file is read instead, see LevelJsonReader. Every .lvl file carries a hash of the .json it was compiled from to tell.
+ * On Android only the .lvl files are packaged, with no .json next to it a .lvl file is always used.
+ * Nothing in here uses reflection or java.io, so the same loader runs on desktop, Android and HTML
  */
 public class LevelLoader {
-	
-	private Gson gson; // Gson is google's open source JSON to POJO and back library
+
+	// binary level file stuff..
+	// if you change the layout in readBinary() or LevelCompiler.writeBinary(), bump LEVEL_FILE_VERSION so old .lvl files get rejected instead of misread
+	// the layout is: magic, version, source hash, level number, string table, header strings (as string table indexes), brick count, then one array per brick field
+	static final int LEVEL_FILE_MAGIC = 0x41524B4C; // "ARKL"
+	static final short LEVEL_FILE_VERSION = 2;
+
+	private static final BonusItem.ItemTypes[] ITEM_TYPES = BonusItem.ItemTypes.values(); // bonus items are stored as ordinals in LevelData, this turns them back into ItemTypes
 	private LevelData levelData;
-	
-	
-	// I wanted the .json text file to be as simple and straight forward as possible, so only the absolutely necessary data is in the file itself
-	// this class will read the essential data in, and fill in everything else, thus the TempBrick inner class...
-	// I may be able to get rid of TempBrick inner class..
-	class TempBrick{ // the field names in this inner class EXACTLY match the property names in the .json file for each element in the "bricks" array part of the file
-		float positionX;
-		float positionY;
-		String bonusItem;
-		short toughness;
-		boolean isIndestructible;
-		String textureFile;
-		short pointValue;
-	}
-	
-	// a LevelData object (levelData) is populated via gson in the loadLevel method below..
+
+
+	// a LevelData object (levelData) is filled in by the loadLevel method below..
 	// everthing needed to create one level of play is stored in levelData
-	class LevelData{ // the field names in this inner class EXACTLY match the property names in the .json file, which is just levelNumber and the bricks array right now
+	// each brick field is it's own array, brick i is element i of every array, this is also exactly how the bricks are laid out in a .lvl file
+	static class LevelData{
 		int levelNumber;
+		int sourceHash; // sourceHash() of the .json file the level was compiled from, only for levels that came out of (or go into) a .lvl file
 		String levelBackgroundMusic;
 		String ballTexture;
 		String vausTexture;
 		String leftWallTexture, rightWallTexture, ceilingTexture;
-		
-		Array<TempBrick> bricks = new Array<TempBrick>();
+
+		String[] textureFiles; // every distinct brick texture file name in the level, the bricks refer to these by index
+		int numBricks;
+		float[] positionX, positionY;
+		byte[] bonusItem; // BonusItem.ItemTypes ordinals
+		short[] toughness;
+		boolean[] isIndestructible;
+		short[] textureIndex; // index into textureFiles
+		short[] pointValue;
+
+		LevelData(int numBricks){
+			this.numBricks = numBricks;
+			positionX = new float[numBricks];
+			positionY = new float[numBricks];
+			bonusItem = new byte[numBricks];
+			toughness = new short[numBricks];
+			isIndestructible = new boolean[numBricks];
+			textureIndex = new short[numBricks];
+			pointValue = new short[numBricks];
+		}
+
+		String getTextureFile(int brick){ return textureFiles[textureIndex[brick]]; }
+		BonusItem.ItemTypes getBonusItem(int brick){ return ITEM_TYPES[bonusItem[brick]]; }
 	}
-	
-	
-	
+
+
+
 	// constructor..
 	public LevelLoader(){
-		levelData = new LevelData();
-		gson = new Gson(); // Gson is google's open source JSON to POJO and back library
+		levelData = new LevelData(0);
 		logger.info("LevelLoader constructor exiting..");
 	}
-	
+
 	// getters..
 	public String getBallTexture(){	return levelData.ballTexture; }
 	public String getVausTexture(){ return levelData.vausTexture; }
@@ -74,75 +90,193 @@ public class LevelLoader {
 	public String getRightWallTexture(){ return levelData.rightWallTexture; }
 	public String getCeilingTexture(){ return levelData.ceilingTexture; }
 	public String getBackgroundMusic(){ return levelData.levelBackgroundMusic; }
-	
-	
+
+
 	/**
-	 * loadBricks should be called from Arknoid1 main program: it returns a ready-to-go Array of bricks to pass to a single level's Bricks object
-	 * This method fills and returns an array with Brick objects.
-	 * I want to keep the .json level data file as simple as possible, so only the essential brick stuff is in the file, 
-	 * this method fills in all the rest and gets the array ready for Bricks to process.
-	 * @return An array of Brick objects ready for Bricks class to use, just pass the whole array to the Bricks constructor.
+	 * loadBricks should be called from Arknoid1 main program: it adds every brick of the loaded level to a single level's BrickField
+	 * I want to keep the level data file as simple as possible, so only the essential brick stuff is in the file,
+	 * BrickField fills in all the rest (size, body, image) as each brick is added.
+	 * @param bricks an empty BrickField, each brick's id will be it's position in the level file
 	 */
-	public Array<Brick> loadBricks(){
-		
-		Array<Brick> bricks = new Array<Brick>(); // this will be returned and should be passed to Bricks in Arknoid1
-		int id = 0; // each brick has it's own unique ID
-		BonusItem.ItemTypes bonusItem; // each brick may contain a bonus item
-		
-		for(TempBrick b: levelData.bricks){// loop through the simple bricks in the array in levelData
-			id++;
-			// set the bonusItem.. using if-else ladder for efficiency: most bricks will not have a bonus item (faster than a switch?)
-			if(b.bonusItem.equals("none")){ bonusItem = BonusItem.ItemTypes.NO_ITEM; }
-			else if(b.bonusItem.equals("laser")){ bonusItem = BonusItem.ItemTypes.LASER; }
-			else if(b.bonusItem.equals("bomb")){ bonusItem = BonusItem.ItemTypes.BOMB; }
-			else if(b.bonusItem.equals("extralife")){ bonusItem = BonusItem.ItemTypes.EXTRA_LIFE; }
-			else { bonusItem = BonusItem.ItemTypes.NO_ITEM; } // Java requires bonusItem to be initialized, this should never be reached unless the .json file is corrupt
-			
-			// id simply increments for each simple brick in levelData.bricks
-			// 5th parameter in Brick constructor is isAlive, all bricks start alive so just set to true for every brick
-			bricks.add(new Brick(id, b.pointValue, b.toughness, b.isIndestructible, true, b.textureFile, bonusItem, b.positionX, b.positionY));
-			
+	public void loadBricks(BrickField bricks){
+		Object trace = GameTrace.on ? GameTrace.sink.beginLevelLoad("add bricks", levelData.levelNumber) : null;
+		for(int i = 0; i < levelData.numBricks; i++){
+			bricks.add(levelData.pointValue[i], levelData.toughness[i], levelData.isIndestructible[i],
+					levelData.getTextureFile(i), levelData.getBonusItem(i), levelData.positionX[i], levelData.positionY[i]);
 		}
-		
-		return bricks;
-		
-		
+		if(trace != null){ GameTrace.sink.endLevelLoad(trace, levelData.numBricks); }
+	}
+
+
+	// the level that comes after levelNumber, wraps back around to level 1 after the last level file
+	public int nextLevelNumber(int levelNumber){
+		int next = levelNumber + 1;
+		return (Gdx.files.internal(binaryFileName(next)).exists() || Gdx.files.internal(jsonFileName(next)).exists()) ? next : 1;
 	}
-	
-	
+
+
+	static String jsonFileName(int levelNumber){
+		return "level-" + levelNumber + ".json";
+	}
+
+	static String binaryFileName(int levelNumber){
+		return "level-" + levelNumber + ".lvl";
+	}
+
+
 	/**
 	 * loadLevel should be called once at the beginning of each level
-	 * this method reads in all the level data from a .json file and converts it to POJO's used in this game elsewhere
-	 * if you pass in a levelNumber that does not have a matching .json file, an error will occur
-	 * @param levelNumber the integer value representing the level to load, file MUST be named as follows: "level-XYZ.json" where XYZ = 001 for level 1, XYZ = 123 for level 123, etc
+	 * this method reads in all the level data from a level file and converts it to the LevelData used in this game elsewhere
+	 * if you pass in a levelNumber that does not have a matching level file, an error will occur
+	 * @param levelNumber the integer value representing the level to load, file MUST be named as follows: "level-XYZ.json" (or .lvl) where XYZ = 001 for level 1, XYZ = 123 for level 123, etc
 	 */
 	public void loadLevel(int levelNumber){
-		logger.info("just entered LevelLoader.loadLevel, about to read in level data from .json file for level: " + levelNumber);
-		
-		String levelToLoad = "level-" + levelNumber + ".json";
+		logger.info("just entered LevelLoader.loadLevel, about to read in level data for level: " + levelNumber);
+
+		LevelData data = readLevelData(levelNumber);
+		if(data == null){ throw new GdxRuntimeException("level " + levelNumber + " could not be loaded, see the error above"); } // can't start a game without a level
+		levelData = data;
+
+	}// end loadLevel
+
+
+	/**
+	 * Reads one level's file into a brand new LevelData without touching this LevelLoader's current level.
+	 * The compiled .lvl file is used if there is one, otherwise the .json file.
+	 * Nothing in here touches OpenGL or the box2d world, so LevelPreloader calls it on it's worker thread while the current level is still being played.
+	 * @return the level data, or null if the file could not be read
+	 */
+	LevelData readLevelData(int levelNumber){
+		Object trace = GameTrace.on ? GameTrace.sink.beginLevelLoad("read", levelNumber) : null;
+		LevelData data = readLevelFile(levelNumber);
+		if(trace != null){ GameTrace.sink.endLevelLoad(trace, data == null ? 0 : data.numBricks); }
+		return data;
+	}
+
+	// readLevelData() without the trace, it has a return for each way it can go
+	private LevelData readLevelFile(int levelNumber){
+
+		FileHandle binaryFile = Gdx.files.internal(binaryFileName(levelNumber));
+		FileHandle jsonFile = Gdx.files.internal(jsonFileName(levelNumber));
+		if(binaryFile.exists()){
+			try {
+				LevelData data = readBinary(ByteBuffer.wrap(binaryFile.readBytes())); // the whole file is only a few KB, so just read it all at once
+				if(jsonFile.exists() && sourceHash(jsonFile.readBytes()) != data.sourceHash){ // hashing the text is still a lot cheaper than parsing it
+					logger.error("  " + binaryFile.name() + " was compiled from an older " + jsonFile.name() + ", using the .json file instead, rebuild the levels");
+				}
+				else {
+					logger.info("  level data was read in from file name: " + binaryFile.name() + ", numBricks: " + data.numBricks);
+					return data;
+				}
+			}
+			catch (GdxRuntimeException e){ // bad or out of date .lvl file, the .json file is still there to fall back on
+				logger.error("  could not read " + binaryFile.name() + ", using the .json file instead: " + e.getMessage());
+			}
+		}
+
+		String levelToLoad = jsonFile.name();
 		logger.info("  levelToLoad String is: " + levelToLoad);
-		
 
-		try (BufferedReader reader = new BufferedReader(Gdx.files.internal(levelToLoad).reader())) { // try with resources so it closes file automatically
-            levelData = gson.fromJson(reader, LevelData.class); // read in from file and populate a LevelData object
-            
-    		logger.info("  level data was read in from file name: " + levelToLoad);
-    		logger.info("  levelData.bricks.size after reading in from file is: " + levelData.bricks.size);
+		try {
+			LevelData data = new LevelJsonReader().read(jsonFile);
+			logger.info("  level data was read in from file name: " + levelToLoad + ", numBricks: " + data.numBricks);
+			return data;
+		}
+		catch (GdxRuntimeException e){ // missing file, or a mistake in the file, the message says which line
+			logger.error("  could not read level " + levelNumber + ": " + e.getMessage());
+			return null;
+		}
+	}
+
+
+	// FNV-1a over the bytes of a .json level file, LevelCompiler stores it in the .lvl file so a stale .lvl file can be told apart from a fresh one
+	static int sourceHash(byte[] json){
+		int hash = 0x811C9DC5;
+		for(int i = 0; i < json.length; i++){
+			hash ^= json[i] & 0xFF;
+			hash *= 0x01000193;
+		}
+		return hash;
+	}
+
+
+	/**
+	 * Reads a compiled .lvl file, see LevelCompiler.writeBinary() for the other half.
+	 * Every brick field is one array in the file, so each one is filled with a single tight loop, no objects are created per brick.
+	 * @throws GdxRuntimeException if the file is not a level file, was written by a different LEVEL_FILE_VERSION, or is cut short
+	 */
+	static LevelData readBinary(ByteBuffer buffer){
+		try {
+			if(buffer.getInt() != LEVEL_FILE_MAGIC){ throw new GdxRuntimeException("not a level file"); }
+			short version = buffer.getShort();
+			if(version != LEVEL_FILE_VERSION){ throw new GdxRuntimeException("level file version is " + version + ", expected " + LEVEL_FILE_VERSION + ", rebuild the levels"); }
+
+			int sourceHash = buffer.getInt();
+			int levelNumber = buffer.getInt();
+
+			String[] strings = new String[buffer.getShort()]; // string table, every file name in the level once
+			for(int i = 0; i < strings.length; i++){
+				strings[i] = readString(buffer);
+			}
+
+			String music = readString(buffer, strings), ball = readString(buffer, strings), vaus = readString(buffer, strings);
+			String leftWall = readString(buffer, strings), rightWall = readString(buffer, strings), ceiling = readString(buffer, strings);
 
+			String[] textureFiles = new String[buffer.getShort()]; // brick textures are the first entries in the string table
+			System.arraycopy(strings, 0, textureFiles, 0, textureFiles.length);
+
+			LevelData data = new LevelData(buffer.getInt());
+			data.levelNumber = levelNumber;
+			data.sourceHash = sourceHash;
+			data.levelBackgroundMusic = music;
+			data.ballTexture = ball;
+			data.vausTexture = vaus;
+			data.leftWallTexture = leftWall;
+			data.rightWallTexture = rightWall;
+			data.ceilingTexture = ceiling;
+			data.textureFiles = textureFiles;
+
+			int n = data.numBricks;
+			for(int i = 0; i < n; i++){ data.positionX[i] = buffer.getFloat(); }
+			for(int i = 0; i < n; i++){ data.positionY[i] = buffer.getFloat(); }
+			buffer.get(data.bonusItem);
+			for(int i = 0; i < n; i++){ data.toughness[i] = buffer.getShort(); }
+			for(int i = 0; i < n; i++){ data.isIndestructible[i] = buffer.get() != 0; }
+			for(int i = 0; i < n; i++){ data.textureIndex[i] = buffer.getShort(); }
+			for(int i = 0; i < n; i++){ data.pointValue[i] = buffer.getShort(); }
+
+			for(int i = 0; i < n; i++){ // catch a corrupt file here instead of with an exception in the middle of the game
+				if(data.bonusItem[i] < 0 || data.bonusItem[i] >= ITEM_TYPES.length){ throw new GdxRuntimeException("brick " + i + " has bad bonus item " + data.bonusItem[i]); }
+				if(data.textureIndex[i] < 0 || data.textureIndex[i] >= textureFiles.length){ throw new GdxRuntimeException("brick " + i + " has bad texture index " + data.textureIndex[i]); }
+			}
+
+			return data;
 		}
-		catch (GdxRuntimeException e){ // libgdx customer exception
-			logger.info("  unfortunately there was an exception, GdxRuntimeException was: " + e.getMessage());
+		catch (BufferUnderflowException e){
+			throw new GdxRuntimeException("level file is cut short");
 		}
-		catch (FileNotFoundException e) { // standard Java exception
-			logger.info("  unfortunately the file was not found, FileNotFoundException was: " + e.getMessage());
-        }
-		catch (IOException e) { // standard Java excpetion
-			logger.info("  unfortunately an IO exception occurred, IOException was: " + e.getMessage());
-        }
-		
-	}// end loadLevel
-	
-	
-	
-	
+	}
+
+
+	// a string in a .lvl file is it's UTF-8 byte count as a short, then the bytes
+	private static String readString(ByteBuffer buffer){
+		byte[] bytes = new byte[buffer.getShort()];
+		buffer.get(bytes);
+		try {
+			return new String(bytes, "UTF-8");
+		}
+		catch (UnsupportedEncodingException e) { // every java platform has UTF-8, this can't really happen
+			throw new GdxRuntimeException(e);
+		}
+	}
+
+	// reads a string table index and looks it up, -1 means the string was not set in the .json file
+	private static String readString(ByteBuffer buffer, String[] strings){
+		short index = buffer.getShort();
+		return index < 0 ? null : strings[index];
+	}
+
+
+
+
 }
@@ -0,0 +1,172 @@
+/**
+ *
+ */
+package com.nate.game;
+
+import static com.nate.game.Arknoid1.SCREEN_TO_WORLD;
+import static com.nate.game.Arknoid1.logger;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+import com.nate.game.LevelLoader.LevelData;
+
+/**
+ * @author Nathan Merris
+ * The LevelPreloader gets the next level ready while the current one is still being played, so there is no hitch between levels.
+ * All the slow stuff happens on a worker thread: reading the level's file, working out where every brick goes and how big it's body is,
+ * and decoding any brick image that is not in the texture atlas.
+ * What's left has to happen on the render thread, because physics bodies and OpenGL textures can't be created anywhere else,
+ * so install() only creates a few brick bodies per simulation step until the whole level is in.
+ * It's a fixed number of bricks per step and not as many as fit in some time budget: the step the next level starts on, and the order the
+ * bricks' bodies go into the physics world in between the projectiles', are part of the game, a replay has to get the same ones on any machine.
+ */
+public class LevelPreloader implements Disposable {
+
+	static final int BRICKS_PER_STEP = 8; // how many bricks install() creates per simulation step, keeps each step short, about 5 microseconds each
+
+	private AsyncExecutor executor; // one worker thread, only one level is ever preloaded at a time
+	private AsyncResult<PreparedLevel> result; // the level being prepared on the worker thread, null when nothing was requested
+	private PreparedLevel prepared; // the level being installed, null until install() is first called after a preload()
+	private int installed; // how many of prepared's bricks install() has created so far
+	private LevelLoader levelLoader;
+	private TextureCache textures; // the session's, isInAtlas() is safe from the worker thread, it never changes
+
+
+	// everything for one level that could be worked out away from the render thread..
+	class PreparedLevel {
+		int levelNumber;
+		LevelData data; // null if the level file could not be read
+		ObjectMap<String, Pixmap> pixmaps = new ObjectMap<String, Pixmap>(); // decoded brick images that are not in the texture atlas, keyed by file name
+		float[] width, height; // every brick's size in world units, from it's image, so install() only has to create the bodies
+	}
+
+
+	// constructor..
+	public LevelPreloader(LevelLoader levelLoader, TextureCache textures){
+		this.levelLoader = levelLoader;
+		this.textures = textures;
+		executor = new AsyncExecutor(1);
+		logger.info("LevelPreloader constructor exiting..");
+	}
+
+
+	/**
+	 * Starts getting a level ready on the worker thread, returns right away.
+	 * Call isReady() to find out when it's done, then install() to put it into the game.
+	 * @param levelNumber the level to get ready, same numbering as LevelLoader.loadLevel()
+	 */
+	public void preload(final int levelNumber){
+		logger.info("LevelPreloader: preloading level " + levelNumber);
+		prepared = null; // the last installed level is done with
+		result = executor.submit(new AsyncTask<PreparedLevel>(){
+			@Override
+			public PreparedLevel call() throws Exception {
+				return prepare(levelNumber);
+			}
+		});
+	}
+
+
+	// runs on the worker thread, must not touch the physics world or OpenGL
+	private PreparedLevel prepare(int levelNumber){
+		PreparedLevel level = new PreparedLevel();
+		level.levelNumber = levelNumber;
+		level.data = levelLoader.readLevelData(levelNumber);
+		if(level.data == null){ return level; }
+
+		// atlas images are already on the GPU, anything else gets decoded now so install() only has to upload it..
+		Object trace = GameTrace.on ? GameTrace.sink.beginLevelLoad("decode textures", levelNumber) : null;
+		for(String textureFile : level.data.textureFiles){
+			if(!textures.isInAtlas(textureFile)){
+				level.pixmaps.put(textureFile, new Pixmap(Gdx.files.internal(textureFile)));
+			}
+		}
+		if(trace != null){ GameTrace.sink.endLevelLoad(trace, level.pixmaps.size); }
+
+		// the image sizes are known now, atlas or not, so the body sizes can be worked out here too..
+		LevelData d = level.data;
+		float[] textureWidth = new float[d.textureFiles.length], textureHeight = new float[d.textureFiles.length];
+		for(int t = 0; t < d.textureFiles.length; t++){
+			Pixmap p = level.pixmaps.get(d.textureFiles[t]);
+			textureWidth[t] = (p != null ? p.getWidth() : textures.getAtlasWidth(d.textureFiles[t])) * SCREEN_TO_WORLD;
+			textureHeight[t] = (p != null ? p.getHeight() : textures.getAtlasHeight(d.textureFiles[t])) * SCREEN_TO_WORLD;
+		}
+		level.width = new float[d.numBricks];
+		level.height = new float[d.numBricks];
+		for(int i = 0; i < d.numBricks; i++){
+			level.width[i] = textureWidth[d.textureIndex[i]];
+			level.height[i] = textureHeight[d.textureIndex[i]];
+		}
+
+		return level;
+	}
+
+
+	// true once the level passed to preload() has been prepared and can be installed without waiting
+	public boolean isReady(){
+		return result != null && result.isDone();
+	}
+
+
+	// the level number that install() is putting into the game
+	public int getLevelNumber(){
+		return prepared.levelNumber;
+	}
+
+
+	/**
+	 * Puts the preloaded level's bricks into bricks, a few per call, must be called on the render thread between simulation steps.
+	 * If the worker thread is not done yet the first call waits for it, instead of the game waiting a few more steps,
+	 * that way how fast the worker thread happened to be never changes the game (a replay has to play out exactly the same).
+	 * @return true when every brick has been added, after that the preloader is free to preload() another level
+	 */
+	public boolean install(BrickField bricks){
+		if(prepared == null){ // first call since preload()
+			prepared = result.get(); // normally done long ago, so this does not block
+			result = null;
+			installed = 0;
+			Object trace = GameTrace.on ? GameTrace.sink.beginLevelLoad("upload textures", prepared.levelNumber) : null;
+			for(ObjectMap.Entry<String, Pixmap> e : prepared.pixmaps){
+				textures.preload(e.key, e.value); // GL upload, textures.preload() disposes the pixmap
+			}
+			if(trace != null){ GameTrace.sink.endLevelLoad(trace, prepared.pixmaps.size); }
+			prepared.pixmaps.clear();
+			if(prepared.data == null){
+				logger.error("LevelPreloader: level " + prepared.levelNumber + " could not be read, it has no bricks");
+			}
+		}
+
+		LevelData d = prepared.data;
+		int numBricks = d == null ? 0 : d.numBricks;
+		int end = Math.min(installed + BRICKS_PER_STEP, numBricks);
+		Object trace = GameTrace.on ? GameTrace.sink.beginLevelLoad("install bricks", prepared.levelNumber) : null; // one per call, a few bricks each
+		for(int i = installed; i < end; i++){
+			bricks.add(d.pointValue[i], d.toughness[i], d.isIndestructible[i], d.getTextureFile(i), d.getBonusItem(i), d.positionX[i], d.positionY[i], prepared.width[i], prepared.height[i]);
+		}
+		if(trace != null){ GameTrace.sink.endLevelLoad(trace, end - installed); }
+		installed = end;
+
+		if(installed >= numBricks){
+			logger.info("LevelPreloader: level " + prepared.levelNumber + " installed, " + numBricks + " bricks");
+			return true; // prepared is kept around so getLevelNumber() still works, it's cleared by the next preload()
+		}
+		return false;
+	}
+
+
+	@Override
+	public void dispose(){
+		executor.dispose(); // waits for a preload that is still running
+		if(result != null){ // preloaded but never installed, nobody else will dispose these
+			for(Pixmap p : result.get().pixmaps.values()){
+				p.dispose();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,91 @@
+/**
+ *
+ */
+package com.nate.game;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * @author Nathan Merris
+ * Drains GameLog's ring buffer on a background thread and appends it to a text file, so the game thread never waits on disk or console.
+ * Started from the desktop and headless launchers, it uses threads and java.io so it's excluded from the GWT module (see Arknoid1.gwt.xml).
+ * Android and HTML don't start one, GameLog just keeps the latest records in memory there.
+ * The thread is a daemon, so it never keeps the game from exiting, and it does one last drain when the JVM shuts down.
+ */
+public class LogFlusher implements Runnable {
+
+	private static final long FLUSH_INTERVAL_MILLIS = 100; // at 60 steps a second a busy log fills a few hundred records in this time, well under GameLog.CAPACITY
+
+	private final Writer out;
+	private final StringBuilder text = new StringBuilder(16 * 1024); // reused every drain, only this thread touches it
+	private volatile boolean running = true;
+
+
+	private LogFlusher(File file) throws IOException {
+		out = new OutputStreamWriter(new FileOutputStream(file, false), "UTF-8");
+	}
+
+
+	/**
+	 * Starts draining GameLog into file on a new daemon thread.
+	 * @return the flusher, call stop() on it to write out the last records and close the file (a JVM shutdown does the same)
+	 */
+	public static LogFlusher start(File file) throws IOException {
+		final LogFlusher flusher = new LogFlusher(file);
+		GameLog.attachReader();
+		Thread thread = new Thread(flusher, "GameLog flusher");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY); // the game always comes first
+		thread.start();
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable(){ public void run(){ flusher.stop(); } }));
+		return flusher;
+	}
+
+
+	@Override
+	public void run(){
+		while(running){
+			drain();
+			try {
+				Thread.sleep(FLUSH_INTERVAL_MILLIS);
+			}
+			catch (InterruptedException e) {
+				break;
+			}
+		}
+	}
+
+
+	// writes whatever is in the ring buffer right now
+	private synchronized void drain(){
+		text.setLength(0);
+		if(GameLog.drainTo(text) == 0 && text.length() == 0){ return; }
+		try {
+			out.append(text);
+			out.flush();
+		}
+		catch (IOException e){ // nothing sensible to do about a broken log file, don't take the game down over it
+			System.err.println("GameLog: could not write the log file, logging stopped: " + e.getMessage());
+			running = false;
+		}
+	}
+
+
+	// last drain and close the file, safe to call more than once
+	public synchronized void stop(){
+		if(!running){ return; }
+		running = false;
+		drain();
+		try {
+			out.close();
+		}
+		catch (IOException e){
+			// closing anyway
+		}
+	}
+
+}
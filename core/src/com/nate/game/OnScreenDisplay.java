@@ -5,29 +5,23 @@ package com.nate.game;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.physics.box2d.Body;
-import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
-import com.badlogic.gdx.utils.Logger;
-import com.nate.game.ContactProcessor.ContactCategories;
-import com.badlogic.gdx.Application.ApplicationType;
+import com.badlogic.gdx.graphics.g2d.Batch;
 
 import static com.nate.game.Arknoid1.SCENE_HEIGHT;
 import static com.nate.game.Arknoid1.SCENE_WIDTH;
 import static com.nate.game.Arknoid1.SCREEN_HEIGHT;
 import static com.nate.game.Arknoid1.SCREEN_WIDTH;
 import static com.nate.game.Arknoid1.WORLD_TO_SCREEN;
-import static com.nate.game.Arknoid1.SCREEN_TO_WORLD;
 import static com.nate.game.Arknoid1.logger;
-import static com.nate.game.CreateBody.createBody;
-import static com.nate.game.Arknoid1.batch;
-import static com.nate.game.Walls.box2dWallWidth;
 
 /**
  * @author natenator
  * This class implements all on screen display items, including the 'flip' and 'fire' buttons only used with Android
+ * It only draws, the score and lives it shows are kept by the session's Scoreboard, so it's only made when there's a screen to draw on
+ * It also draws the FrameProfiler overlay while it's shown (F3): avg and max milliseconds and a strip of bars for each phase of the frame, and the frame's counters
  */
 
 public class OnScreenDisplay implements GameObject {
@@ -43,39 +37,44 @@ public class OnScreenDisplay implements GameObject {
 	
 	// the following 5 fields locate both the buttons on the screen on Android devices, X and Y coords for both buttons are calculated from wall width and button texture width (buttons must always be square)
 	static final float OSD_BUTTON_PADDING = 32; // the distance past the wall the Android buttons will be located onscreen
-	static float androidFireButtonX; // fire button top left corner X coordinate, these coords are used in Vaus.touchDown to determine if an Android platform user has tapped a button
-	static float androidFireButtonY; // flip button top left corner Y
-	static float androidFlipButtonX; // flip button X
-	static float androidFlipButtonY; // flip button Y
+	float androidFireButtonX; // fire button top left corner X coordinate, these coords are used in GameInput.touchDown to determine if an Android platform user has tapped a button
+	float androidFireButtonY; // flip button top left corner Y
+	float androidFlipButtonX; // flip button X
+	float androidFlipButtonY; // flip button Y
 	
 	private BitmapFont font;		// the font that will be drawn on screen while playing
-	private Bricks bricks;			// need this to determine when level completed so we can draw congratulatory text on the screen
-	private Ball ball;				// using this to stop the ball when you run out of lives, not so useful for final game
-	private Vaus vaus;
+	private GameSession session;	// the game being shown: score, lives, bricks remaining, shots
+	private boolean android;		// the Android buttons are only drawn on Android, and the play instructions everywhere else
+	private TextureCache textures;
 	
-	private int score; // exactly what you think it is
-	private int lives;		
-	private int shots; // how many shots user has left, when it gets to zero, both the shot counter and weapon name are removed from the screen
+	private GameImage fireButtonTexture, flipButtonTexture; // the images for the Android fire and flip buttons
+	int screenButtonWidth; // width and height, in screen units, of Android buttons, which are square and both the same size, so only one dimension needed, GameInput uses it to determine if button tapped, not final because it depends on the texture dimensions
 	
-	private Texture fireButtonTexture, flipButtonTexture; // the images for the Android fire and flip buttons
-	static int screenButtonWidth; // width and height, in screen units, of Android buttons, which are square and both the same size, so only one dimension needed, static because Vaus class uses it to determine if button tapped, not final because it depends on the texture dimensions
+	// the profiler overlay, in screen pixels like everything else here..
+	static final int PROFILE_BARS = 150; // frames in each phase's strip, newest on the right
+	static final float PROFILE_BAR_WIDTH = 2f, PROFILE_ROW_HEIGHT = 28f;
+	static final float PROFILE_X = 30f, PROFILE_BARS_X = 330f, PROFILE_TOP = 640f;
+	static final Color[] PROFILE_COLORS = {Color.GREEN, Color.ORANGE, Color.SKY, Color.YELLOW, Color.MAGENTA}; // one per FrameProfiler phase
+	private FrameProfiler profiler;
+	private Texture white; // 1x1 white pixel, tinted and stretched into the bars, only made once the overlay is first shown
+	private final StringBuilder text = new StringBuilder(); // reused for the overlay's text, it's drawn every frame
 	
 	
 	// constructor..
-	public OnScreenDisplay(Bricks b, Ball ball, Vaus v, int lives) {
+	public OnScreenDisplay(GameSession session, FrameProfiler profiler, boolean android) {
 		
-		bricks = b;
-		this.ball = ball;
-		vaus = v;
+		this.session = session;
+		this.profiler = profiler;
+		this.android = android;
+		textures = session.textures;
 		font = new BitmapFont(Gdx.files.internal("osd1.fnt")); // load the font file
 		font.setColor(Color.LIGHT_GRAY);
 		logger.info("OnScreenDisplay constructor exiting..");
-		score = 0;
-		this.lives = lives;
 		
-		fireButtonTexture = new Texture(Gdx.files.internal("firebutton.png")); // load the Android button file textures, loaded every time but only used on Android platforms
-		flipButtonTexture = new Texture(Gdx.files.internal("flipbutton.png"));
-		screenButtonWidth = fireButtonTexture.getWidth(); // it does not matter which texture is used to get this width since both should have identical dimensions
+		float box2dWallWidth = session.walls.box2dWallWidth;
+		fireButtonTexture = textures.acquire("firebutton.png"); // load the Android button file textures, loaded every time but only used on Android platforms
+		flipButtonTexture = textures.acquire("flipbutton.png");
+		screenButtonWidth = fireButtonTexture.width; // it does not matter which texture is used to get this width since both should have identical dimensions
 		
 		androidFireButtonX = box2dWallWidth + OSD_BUTTON_PADDING;										// fire button is a bit in from left edge of screen past the left wall
 		androidFireButtonY = (SCREEN_HEIGHT - screenButtonWidth) * 0.5f;								// set the button Y coordinate to half the screen height - half the button height/width (it's square), because it's drawn from top left corner
@@ -86,16 +85,18 @@ public class OnScreenDisplay implements GameObject {
 	
 	
 	@Override
-	public void draw() {
+	public void draw(Batch batch, float renderAlpha) {
+		int lives = session.getLives();
+		int shots = session.vaus.getShotsRemaining(); // when it gets to zero, both the shot counter and weapon name are removed from the screen
 		
-		font.draw(batch, "Score: " + String.valueOf(score), 30f, SCENE_HEIGHT * WORLD_TO_SCREEN - 30f); // top left corner: score
+		font.draw(batch, "Score: " + String.valueOf(session.getScore()), 30f, SCENE_HEIGHT * WORLD_TO_SCREEN - 30f); // top left corner: score
 		font.draw(batch, "Lives: " + String.valueOf(lives), SCENE_WIDTH * WORLD_TO_SCREEN - 150f, SCENE_HEIGHT * WORLD_TO_SCREEN - 30f); // top right corner: lives
 
 		
 		
 		// temp text on game screen for play testing purposes, but only want it on non-Android platforms.. (otherwise too much crap at bottom of screen)
 		// remove this for production
-		if(!Arknoid1.appType.equals(ApplicationType.Android)){
+		if(!android){
 			font.setColor(Color.SKY);
 			font.draw(batch, "move: click left mouse, flippers: click right mouse, fire: space, pause ball: 'p'", 150f, 50f); // play instructions at bottom of screen centered
 			font.setColor(Color.LIGHT_GRAY);
@@ -105,10 +106,10 @@ public class OnScreenDisplay implements GameObject {
 		
 		if(shots > 0){
 			font.draw(batch, "Shots: " + String.valueOf(shots), 30f, 50f); // bottom left corner: number projectile shots remaining
-			font.draw(batch, vaus.getProjectileName(), SCENE_WIDTH * WORLD_TO_SCREEN - 100f, 50f);
+			font.draw(batch, session.vaus.getProjectileName(), SCENE_WIDTH * WORLD_TO_SCREEN - 100f, 50f);
 		}
 		
-		if(bricks.bricksRemaining <= 0){
+		if(session.getBricksRemaining() <= 0){
 			font.draw(batch, "CONGRATULATIONS! YOU KILLED ALL THE BRICKS!", 270f, 300f); // roughly centered
 		}
 		
@@ -122,40 +123,85 @@ public class OnScreenDisplay implements GameObject {
 			
 		}*/
 		
-		if(Arknoid1.appType.equals(ApplicationType.Android) ){ // if game is running on Android platform
-			batch.draw(fireButtonTexture, androidFireButtonX, androidFireButtonY, screenButtonWidth, screenButtonWidth); // draws rectangular texture with bottom left corner at ...X,...Y
-			batch.draw(flipButtonTexture, androidFlipButtonX, androidFlipButtonY, screenButtonWidth, screenButtonWidth);
+		if(android){ // if game is running on Android platform
+			batch.draw(fireButtonTexture.region, androidFireButtonX, androidFireButtonY, screenButtonWidth, screenButtonWidth); // draws rectangular texture with bottom left corner at ...X,...Y
+			batch.draw(flipButtonTexture.region, androidFlipButtonX, androidFlipButtonY, screenButtonWidth, screenButtonWidth);
 		}
 		
 		
 		
-		if(lives <= 0){
+		if(session.isGameOver()){ // the session stopped the balls when it happened
 			font.draw(batch, "YOU HAVE DIED!!", 520f, 400f);
-			ball.stop(); // stop the ball, why not?  maybe then make the ball explode!!
+		}
+		
+		if(profiler.isShown() && profiler.getFrames() > 0){
+			drawProfile(batch);
 		}
 		
 	}// end draw()
-
-	public int getScore() {
-		return score;
-	}
-
-	public void updateScore(int pointValue) { // point value can be negative
-		score += pointValue;
-	}
-
-	public int getLives() {
-		return lives;
-	}
-
-	public void updateLives(int lifeNumValue) { // life value can be negative
-		lives += lifeNumValue;
-	}
 	
-	public void updateShots(int numShots) {
-		shots = numShots;
+	
+	// one row per phase: name, avg and max ms over the kept frames, then a bar per frame for the newest PROFILE_BARS frames, scaled so the row's tallest bar fills it
+	// and a last row with the newest frame's counters
+	private void drawProfile(Batch batch){
+		if(white == null){
+			Pixmap pixel = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+			pixel.setColor(Color.WHITE);
+			pixel.fill();
+			white = new Texture(pixel);
+			pixel.dispose();
+		}
+		
+		int frames = profiler.getFrames();
+		int bars = Math.min(frames, PROFILE_BARS);
+		float y = PROFILE_TOP;
+		for(int p = 0; p < FrameProfiler.PHASES; p++){
+			float sum = 0, max = 0, barMax = 0;
+			for(int i = 0; i < frames; i++){
+				float ms = profiler.getMillis(p, i);
+				sum += ms;
+				if(ms > max){ max = ms; }
+				if(i < bars && ms > barMax){ barMax = ms; }
+			}
+			
+			text.setLength(0);
+			text.append(FrameProfiler.PHASE_NAMES[p]).append(' ');
+			appendMillis(text, sum / frames).append(" / ");
+			appendMillis(text, max);
+			font.setColor(PROFILE_COLORS[p]);
+			font.draw(batch, text, PROFILE_X, y);
+			
+			batch.setColor(PROFILE_COLORS[p]);
+			float scale = barMax > 0 ? (PROFILE_ROW_HEIGHT - 4f) / barMax : 0;
+			float bottom = y - PROFILE_ROW_HEIGHT + 4f; // font.draw() is from the top of the text, the bars from the bottom
+			for(int i = 0; i < bars; i++){
+				float height = profiler.getMillis(p, i) * scale;
+				if(height > 0){ batch.draw(white, PROFILE_BARS_X + (PROFILE_BARS - 1 - i) * PROFILE_BAR_WIDTH, bottom, PROFILE_BAR_WIDTH, height); }
+			}
+			batch.setColor(Color.WHITE);
+			y -= PROFILE_ROW_HEIGHT;
+		}
+		
+		int gcRuns = profiler.getGcRunsOver(frames);
+		text.setLength(0);
+		text.append("steps ").append(profiler.getSteps(0)).append("  calls ").append(profiler.getRenderCalls(0))
+			.append("  binds ").append(profiler.getTextureBinds(0)).append("  bodies ").append(profiler.getBodies(0))
+			.append("  contacts ").append(profiler.getContacts(0)).append("  gc ");
+		if(gcRuns < 0){ text.append("n/a"); }
+		else { text.append(gcRuns); }
+		font.setColor(Color.LIGHT_GRAY);
+		font.draw(batch, text, PROFILE_X, y);
+		font.draw(batch, "ms avg / max, F4 saves " + FrameProfiler.DUMP_FILE, PROFILE_X, y - PROFILE_ROW_HEIGHT);
 	}
 	
+	// milliseconds with 2 decimals, String.format isn't there on GWT
+	private static StringBuilder appendMillis(StringBuilder text, float ms){
+		int hundredths = Math.round(ms * 100f);
+		text.append(hundredths / 100).append('.');
+		int frac = hundredths % 100;
+		if(frac < 10){ text.append('0'); }
+		return text.append(frac);
+	}
 
 	@Override
 	public void update() {
@@ -167,8 +213,9 @@ public class OnScreenDisplay implements GameObject {
 	@Override
 	public void dispose(){
 		font.dispose();
-		fireButtonTexture.dispose();
-		flipButtonTexture.dispose();
+		if(white != null){ white.dispose(); }
+		textures.release(fireButtonTexture);
+		textures.release(flipButtonTexture);
 	}
 
 	@Override
@@ -0,0 +1,99 @@
+/**
+ *
+ */
+package com.nate.game;
+
+import com.badlogic.gdx.math.Matrix4;
+
+/**
+ * @author Nathan Merris
+ * Everything the game asks of a physics engine, in one place.
+ * The game never sees the engine's own body objects: creating a body gives back a handle (just an int), and everything else
+ * (moving it, reading it's position, turning it off) is done by passing that handle back in here.
+ * Contacts come back the same way, as the two handles that touched, and getGameBody() says what each one is.
+ * Box2DPhysicsWorld is the only implementation for now, but nothing outside of it imports box2d, so a lighter engine for low end
+ * phones, or a pure java one for the HTML build, is one new class plus one line in Arknoid1.create().
+ * A handle is only good until destroyBody(), after that the same number may be handed out for a new body,
+ * so owners forget a handle (set it to NO_BODY) the moment they destroy it, exactly like they used to null out a box2d Body.
+ * Must only be used from the game thread.
+ */
+public interface PhysicsWorld {
+
+	int NO_BODY = -1; // use this for "no body", a real handle is never negative
+
+	enum BodyKind {
+		STATIC,		// never moves (walls, bricks)
+		KINEMATIC,	// moved by setting it's velocity, nothing pushes it around (vaus)
+		DYNAMIC		// fully simulated (ball, flippers, projectiles, bonus items)
+	}
+
+	// gets told about contacts during step(), bodyA and bodyB are in no particular order
+	interface ContactHandler {
+		void beginContact(int bodyA, int bodyB);
+		void endContact(int bodyA, int bodyB);
+		void postSolve(int bodyA, int bodyB); // after the engine worked out the bounce, the bodies' velocities are already the new ones
+	}
+
+	// gets every body found by queryArea(), return false to stop the query early
+	interface QueryHandler {
+		boolean report(int body);
+	}
+
+
+	/**
+	 * Creates a rectangular body.
+	 * @param isSensor true if it only reports contacts and never bounces anything
+	 * @param category this body's ContactCategories bit
+	 * @param mask the categories it collides with
+	 * @param userData what the body is, handed back by getGameBody()
+	 * @return the new body's handle
+	 */
+	int createBox(BodyKind kind, boolean isSensor, short category, short mask, float gravityScale, GameBody<?> userData,
+			float x, float y, float density, float restitution, float friction, float halfWidth, float halfHeight);
+
+	// same as createBox(), but round
+	int createCircle(BodyKind kind, boolean isSensor, short category, short mask, float gravityScale, GameBody<?> userData,
+			float x, float y, float density, float restitution, float friction, float radius);
+
+	/**
+	 * Pins body to anchorBody so it can only swing around the pin, between lowerAngle and upperAngle (radians), like a pinball flipper.
+	 * The two bodies never collide with each other.
+	 * The anchor points are relative to each body's center.
+	 */
+	void createHinge(int anchorBody, int body, float anchorX, float anchorY, float bodyAnchorX, float bodyAnchorY, float lowerAngle, float upperAngle);
+
+	// must not be called during step(), use the WorldCommandQueue from inside contact callbacks
+	void destroyBody(int body);
+	void setActive(int body, boolean active);
+
+	float getX(int body);
+	float getY(int body);
+	float getVelocityX(int body);
+	float getVelocityY(int body);
+	void setVelocity(int body, float vx, float vy);
+	void setPosition(int body, float x, float y);
+	void stop(int body); // no more linear or angular velocity, for bodies that are reused
+	void setGravityScale(int body, float scale);
+	void applyForce(int body, float forceX, float forceY); // at the body's center
+	GameBody<?> getGameBody(int body);
+
+	void setContactHandler(ContactHandler handler);
+
+	// every body whose bounding box overlaps the rectangle, bounding boxes are a bit bigger than the bodies, so check the real shapes yourself if it matters
+	void queryArea(float lowerX, float lowerY, float upperX, float upperY, QueryHandler handler);
+
+	// advances the simulation by timeStep seconds, contacts are reported to the ContactHandler while it runs
+	void step(float timeStep);
+
+	int getBodyCount(); // how many bodies exist right now, active or not
+	int getContactCount(); // how many pairs of bodies have overlapping bounding boxes right now, touching or not
+
+	// mixes every body's handle, position, angle and velocities into hash with StateChecksum, in handle order, see GameSession.getChecksum()
+	long checksum(long hash);
+
+	// outlines of every body, for debugging only, never called when running headless
+	void debugDraw(Matrix4 projection);
+
+	void dispose();
+
+}
@@ -0,0 +1,360 @@
+/**
+ *
+ */
+package com.nate.game;
+
+import static com.nate.game.Arknoid1.SCREEN_TO_WORLD;
+import static com.nate.game.Arknoid1.logger;
+import static com.nate.game.CreateBody.createBody; // used to create bodies for the physics world
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.MathUtils;
+import com.nate.game.ContactProcessor.ContactCategories;
+import com.nate.game.GameBody.GameBodies;
+import com.nate.game.PhysicsWorld.BodyKind;
+
+/**
+ * @author Nathan Merris
+ * The ProjectileSystem is every shot vaus has in the air, for every weapon.
+ * It works like BrickField: there is no object per shot, shot number slot is element slot of a set of parallel arrays,
+ * and the slots that are flying are kept in a live list so update() and draw() only visit live shots, all of them in one pass.
+ * There are MAX_SHOTS slots and that's it, so firing never allocates anything, if every slot is flying the trigger simply does nothing.
+ * A slot's body is only created the first time the slot is fired, and it's kept (inactive) when the shot dies, so it can be fired again.
+ * Lasers and bombs are different sizes, so a free slot remembers which weapon it's body was made for and fire() reuses a slot of the
+ * same weapon first, then a slot that never had a body, and only destroys and remakes a body when neither is left.
+ * Each body carries a GameBody whose index is the slot, so ContactProcessor can go straight from a contact to the arrays.
+ * Vaus owns the ProjectileSystem and tells it which weapon she has and when the trigger is pulled.
+ */
+public class ProjectileSystem implements GameObject {
+
+	// enum constructor parameters: ENUM_VALUE(textureFile, numShots, power, speed, shotsPerFire, spreadDegrees, fireInterval)
+	// numShots is how many times the trigger can be pulled, each pull fires shotsPerFire shots fanned out across spreadDegrees,
+	// and a weapon with a fireInterval keeps firing every fireInterval simulation steps for as long as the trigger is held down
+	public enum ProjectileTypes{
+		NO_PROJECTILE(null, 0, 0, 0f, 0, 0f, 0),
+		LASER("projectile_laser.png", 5, 1, 8.0f, 1, 0f, 0),
+		BOMB("projectile_bomb.png", 2, 4, 3.0f, 1, 0f, 0),
+		RAPID_LASER("projectile_laser.png", 120, 1, 10.0f, 1, 0f, 4), // 15 shots per second while the trigger is held
+		SPREAD_LASER("projectile_laser.png", 8, 1, 8.0f, 5, 40f, 0); // 5 shots fanned out over 40 degrees per pull
+
+		private String textureFile;
+		private int numShots, power, shotsPerFire, fireInterval;
+		private float speed, spreadDegrees;
+
+		// enum constructor..
+		ProjectileTypes(String t, int n, int p, float s, int perFire, float spread, int interval){
+			textureFile = t;
+			numShots = n;
+			power = p;
+			speed = s;
+			shotsPerFire = perFire;
+			spreadDegrees = spread;
+			fireInterval = interval;
+		}
+
+		public int getNumShots() { return numShots; }
+		public int getPower() { return power; }
+		public boolean explodes() { return this == BOMB; } // bombs hurt every brick near where they hit, everything else only the brick it hits
+
+	}
+
+	// how bomb damage drops off with distance from the center of the blast, distance is given as a fraction of the blast radius (0..1)
+	public enum BlastFalloff {
+		NONE, 		// every brick touched by the blast takes full damage (how bombs have always worked)
+		LINEAR, 	// full damage at the center down to nothing at the edge
+		QUADRATIC;	// drops off slowly near the center and quickly near the edge
+
+		// the damage a brick at distance (fraction of the radius) takes from a blast of the given power, always at least 1 inside the blast
+		public int damage(int power, float distance){
+			float d = Math.min(Math.max(distance, 0f), 1f);
+			float scale;
+			switch(this){
+				case LINEAR: scale = 1f - d; break;
+				case QUADRATIC: scale = 1f - d * d; break;
+				default: scale = 1f; break;
+			}
+			return Math.max(1, Math.round(power * scale));
+		}
+	}
+
+	BlastFalloff bombFalloff = BlastFalloff.NONE; // change this to tune bombs
+
+	static final int MAX_SHOTS = 256; // shots that can be in the air at once, across all weapons
+
+	private static final ProjectileTypes[] TYPES = ProjectileTypes.values();
+
+	private PhysicsWorld physics; // the session's physics world
+	private WorldCommandQueue worldCommands;
+	private TextureCache textures;
+
+	// one element per slot, indexed by slot..
+	boolean[] isAlive;				// true while the shot is flying
+	ProjectileTypes[] type;			// the weapon the slot's body was made for, NO_PROJECTILE if it never had a body
+	private int[] body;				// the slot's physics body handle, NO_BODY until the slot is first fired
+	private float[] previousX, previousY; // body position before the latest simulation step, used to interpolate drawing between steps
+	private float[] angle;			// degrees away from straight up, only spread shots are anything but 0, only used for drawing
+
+	// the live list, same as BrickField's: live[0] to live[liveCount - 1] are the slots that are flying
+	private int[] live;
+	private int liveCount;
+	private int[] livePosition;		// where slot is in the live list, -1 when it's not flying
+
+	// free slots, one stack per weapon (indexed by ProjectileTypes ordinal), the NO_PROJECTILE stack holds the slots that never had a body
+	private int[][] free;
+	private int[] freeCount;
+
+	// per weapon, indexed by ProjectileTypes ordinal, textures are only acquired the first time a weapon is fired
+	private GameImage[] tex;
+	private float[] width, height;
+
+	private ProjectileTypes weapon;	// the weapon vaus has right now, what fire() shoots
+	int shotsRemaining;				// trigger pulls left for weapon
+	private boolean triggerHeld;	// true while the fire button is held down, only matters for weapons with a fireInterval
+	private int cooldown;			// simulation steps until a held trigger fires again
+
+
+	// constructor..
+	public ProjectileSystem(GameSession session){
+		physics = session.physics;
+		worldCommands = session.worldCommands;
+		textures = session.textures;
+
+		isAlive = new boolean[MAX_SHOTS];
+		type = new ProjectileTypes[MAX_SHOTS];
+		body = new int[MAX_SHOTS];
+		previousX = new float[MAX_SHOTS];
+		previousY = new float[MAX_SHOTS];
+		angle = new float[MAX_SHOTS];
+		live = new int[MAX_SHOTS];
+		livePosition = new int[MAX_SHOTS];
+
+		free = new int[TYPES.length][MAX_SHOTS];
+		freeCount = new int[TYPES.length];
+		for(int slot = MAX_SHOTS - 1; slot >= 0; slot--){ // backwards, so slot 0 is on top of the stack
+			type[slot] = ProjectileTypes.NO_PROJECTILE;
+			body[slot] = PhysicsWorld.NO_BODY;
+			livePosition[slot] = -1;
+			free[ProjectileTypes.NO_PROJECTILE.ordinal()][freeCount[ProjectileTypes.NO_PROJECTILE.ordinal()]++] = slot;
+		}
+
+		tex = new GameImage[TYPES.length];
+		width = new float[TYPES.length];
+		height = new float[TYPES.length];
+
+		weapon = ProjectileTypes.NO_PROJECTILE;
+		logger.info("ProjectileSystem constructor exiting..");
+	}
+
+
+	// vaus just caught a weapon, it replaces whatever she had and comes with a full load of shots
+	// called from inside a contact callback, so nothing here touches the physics world
+	public void setWeapon(ProjectileTypes weapon){
+		this.weapon = weapon;
+		cooldown = 0;
+		resetNumShots();
+	}
+
+	public ProjectileTypes getWeapon(){
+		return weapon;
+	}
+
+	public void resetNumShots(){
+		shotsRemaining = weapon.numShots; // the on screen display picks it up from here
+		GameLog.debug("ProjectileSystem.resetNumShots(), weapon:", weapon); // GameLog, so nothing is built unless it's printed
+		GameLog.debug("  shotsRemaining set to:", shotsRemaining);
+	}
+
+
+	// called from Vaus' input listener methods when the fire button goes down or up
+	public void setTriggerHeld(boolean held){
+		triggerHeld = held;
+	}
+
+
+	/**
+	 * Pulls the trigger once: fires the current weapon's shotsPerFire shots from (x, y), fanned out across it's spreadDegrees.
+	 * Called from Vaus' input listener methods and from update(), never from inside physics.step(), since it may create bodies.
+	 * Shots that don't get a slot because every slot is flying are simply not fired.
+	 */
+	public void fire(float x, float y){
+		GameLog.debug("ProjectileSystem.fire(), shotsRemaining:", shotsRemaining); // every trigger pull, RAPID_LASER's auto-repeat too, so no string building here
+
+		if(weapon == ProjectileTypes.NO_PROJECTILE || shotsRemaining <= 0){ return; } // only fire if you have shots remaining
+
+		int n = weapon.shotsPerFire;
+		for(int i = 0; i < n; i++){
+			float degrees = n == 1 ? 0f : -weapon.spreadDegrees * 0.5f + weapon.spreadDegrees * i / (n - 1); // evenly from one side of the fan to the other
+			int slot = obtainSlot(weapon);
+			if(slot < 0){ break; } // every slot is flying
+			launch(slot, x, y, degrees);
+		}
+		shotsRemaining--; // decrement shot counter
+		cooldown = weapon.fireInterval;
+	}
+
+
+	// a free slot with a body for weapon, made if it has to be, -1 if every slot is flying
+	private int obtainSlot(ProjectileTypes weapon){
+		int w = weapon.ordinal();
+		if(freeCount[w] > 0){ return free[w][--freeCount[w]]; } // a body for this weapon is ready and waiting
+
+		int none = ProjectileTypes.NO_PROJECTILE.ordinal();
+		int slot = -1;
+		if(freeCount[none] > 0){ slot = free[none][--freeCount[none]]; } // first time this slot is used
+		else {
+			for(int t = 0; t < TYPES.length && slot < 0; t++){ // all that's left are bodies for other weapons, remake one of them
+				if(freeCount[t] > 0){ slot = free[t][--freeCount[t]]; }
+			}
+			if(slot < 0){ return -1; }
+			physics.destroyBody(body[slot]);
+		}
+
+		acquireTexture(weapon);
+		type[slot] = weapon;
+
+		// projectiles should never hit ball, other projectiles, nor bonus items (while they are falling from bricks downward)..
+		short mask = (short)(ContactCategories.PROJECTILE.getMask() & ContactCategories.BALL.getMask() & ContactCategories.BONUS_ITEM.getMask());
+
+		// create a projectile body..
+		body[slot] = createBody(physics, BodyKind.DYNAMIC,  		// body type
+			   	 false, ContactCategories.PROJECTILE, mask, 	// is body a sensor?, sensor group, sensor mask (do not collide with ball)
+			   	 0, new GameBody<ProjectileSystem>(GameBodies.PROJECTILE, this, slot), // gravity scale, userData, the GameBody index is the slot
+			   	 -10f, -10f,									// initial x and y positions
+				 0, 0, 0, 										// density, restitution, friction
+				 width[w] * 0.5f, height[w] * 0.5f); 			// halfWidth, halfHeight based on the weapon's texture dimensions
+		return slot;
+	}
+
+
+	private void acquireTexture(ProjectileTypes weapon){
+		int w = weapon.ordinal();
+		if(tex[w] != null){ return; }
+		tex[w] = textures.acquire(weapon.textureFile); // load the texture
+		width[w] = tex[w].width * SCREEN_TO_WORLD;
+		height[w] = tex[w].height * SCREEN_TO_WORLD;
+	}
+
+
+	// puts a slot in the air, flying degrees away from straight up
+	private void launch(int slot, float x, float y, float degrees){
+		float speed = type[slot].speed;
+		isAlive[slot] = true; // will remain alive until it hits a brick, a wall or the ceiling (see ContactProcessor)
+		physics.setActive(body[slot], true); // start simulating it in the physics world
+		physics.setPosition(body[slot], x, y); // start the shot from where vaus is currently located
+		physics.setVelocity(body[slot], speed * MathUtils.sinDeg(degrees), speed * MathUtils.cosDeg(degrees));
+		previousX[slot] = x; // don't interpolate from wherever the last shot ended up
+		previousY[slot] = y;
+		angle[slot] = degrees;
+		livePosition[slot] = liveCount;
+		live[liveCount++] = slot;
+	}
+
+
+	// the power of the shot in slot, and for bombs how close a brick has to be to get caught in the blast (see BrickField.findBricksInRadius())
+	public int getPower(int slot){
+		return type[slot].power;
+	}
+
+	public float getBlastRadius(int slot){
+		return width[type[slot].ordinal()] * 2.0f; // a bomb's blast radius is based on the bomb body width
+	}
+
+	public float getX(int slot){
+		return physics.getX(body[slot]);
+	}
+
+	public float getY(int slot){
+		return physics.getY(body[slot]);
+	}
+
+
+	// called from ContactProcessor when the shot in slot hits a brick, a wall or the ceiling..
+	// the body is taken out of the simulation after the step, it's kept (inactive) so the next shot can reuse it,
+	// nothing can fire until the step is over, so handing the slot back right away is safe
+	public void kill(int slot){
+		if(!isAlive[slot]){ return; } // box2d often reports the same hit twice
+		isAlive[slot] = false;
+		worldCommands.deactivate(body[slot]);
+
+		// swap the last live slot into this slot's place in the live list..
+		int position = livePosition[slot];
+		int last = live[--liveCount];
+		live[position] = last;
+		livePosition[last] = position;
+		livePosition[slot] = -1;
+
+		int t = type[slot].ordinal();
+		free[t][freeCount[t]++] = slot;
+	}
+
+
+	// called from Vaus.savePreviousPosition() before every simulation step
+	public void savePreviousPositions(){
+		for(int i = 0; i < liveCount; i++){
+			int slot = live[i];
+			previousX[slot] = physics.getX(body[slot]);
+			previousY[slot] = physics.getY(body[slot]);
+		}
+	}
+
+
+	// called from Vaus.update() before every simulation step, x and y are where shots leave vaus..
+	// the shots themselves need nothing, fire() starts them and kill() stops them, this only keeps a held trigger firing
+	public void update(float x, float y){
+		if(weapon.fireInterval == 0){ return; } // one shot per press
+		if(cooldown > 0){ cooldown--; }
+		if(triggerHeld && cooldown == 0 && shotsRemaining > 0){ fire(x, y); }
+	}
+
+
+	@Override
+	public void update(){
+	}
+
+
+	@Override
+	public void draw(Batch batch, float renderAlpha){
+		for(int i = 0; i < liveCount; i++){
+			int slot = live[i];
+			int w = type[slot].ordinal();
+			batch.draw(tex[w].region, // texture
+					   MathUtils.lerp(previousX[slot], physics.getX(body[slot]), renderAlpha) - width[w] * 0.5f, // bottom left x, interpolated between simulation steps
+					   MathUtils.lerp(previousY[slot], physics.getY(body[slot]), renderAlpha) - height[w] * 0.5f, // bottom left y
+					   width[w] * 0.5f, height[w] * 0.5f, // originX, originY (for translations)
+					   width[w], height[w], // width, height
+					   1f, 1f, // scaleX, scaleY
+					   -angle[slot] // rotate, spread shots point the way they are flying
+					   );
+		}
+	}
+
+
+	// how many shots are in the air right now
+	public int getLiveCount(){
+		return liveCount;
+	}
+
+
+	@Override
+	public void stop() {
+		// TODO Auto-generated method stub
+
+	}
+
+
+	@Override
+	public void start() {
+		// TODO Auto-generated method stub
+
+	}
+
+
+	// the bodies go away with the physics world, only the textures need giving back
+	@Override
+	public void dispose() {
+		for(int w = 0; w < tex.length; w++){
+			if(tex[w] != null){ textures.release(tex[w]); tex[w] = null; }
+		}
+	}
+
+}
@@ -0,0 +1,95 @@
+/**
+ *
+ */
+package com.nate.game;
+
+import static com.nate.game.Arknoid1.logger;
+
+import com.nate.game.ProjectileSystem.ProjectileTypes;
+
+/**
+ * @author Nathan Merris
+ * Plays an InputRecording back into a GameSession: feed() is called right before every step, and gives the session every command that was
+ * recorded before that step, through the same command methods GameInput uses, so the session can't tell a replay from a player.
+ * Whoever steps the session decides the pace, Arknoid1 plays it in real time and HeadlessSimulation as fast as it can.
+ * check() compares the session's checksum with the recorded ones, so it's known exactly when (to within the checksum interval)
+ * a change to the game code made a recorded game play out differently.
+ */
+public class ReplayPlayer {
+
+	private static final ProjectileTypes[] WEAPONS = ProjectileTypes.values(); // a WEAPON command is recorded as the ordinal
+
+	private InputRecording recording;
+	private int next; // the next command to give the session
+	private long divergedAt = -1; // the first checksum step where the session didn't match the recording, -1 while it still does
+
+
+	// constructor..
+	public ReplayPlayer(InputRecording recording){
+		this.recording = recording;
+		String build = InputRecording.buildFingerprint();
+		if(!build.equals(recording.fingerprint)){
+			logger.error("ReplayPlayer: this replay was recorded on build " + recording.fingerprint + ", this is build " + build + ", it may not play out the same");
+		}
+	}
+
+
+	// a brand new session started exactly like the recorded one, with checksums on so check() works
+	public GameSession createSession(TextureCache textures){
+		GameSession session = new GameSession(textures, recording.levelNumber, recording.arcadeCollisions, recording.startingBalls);
+		session.enableChecksums();
+		return session;
+	}
+
+
+	// gives the session the commands that came right before it's next step, call it before every session.step()
+	public void feed(GameSession session){
+		long ticks = session.getTicks();
+		while(next < recording.count && recording.tick[next] <= ticks){
+			apply(session, recording.command[next], recording.x[next]);
+			next++;
+		}
+	}
+
+
+	// compares the session with the recording if a checksum was recorded for the step it just did, call it after every session.step()
+	public void check(GameSession session){
+		long ticks = session.getTicks();
+		if(divergedAt >= 0 || ticks % recording.checksumInterval != 0){ return; }
+		long index = ticks / recording.checksumInterval - 1;
+		if(index < recording.checksumCount && recording.checksums[(int)index] != session.getChecksum()){ divergedAt = ticks; }
+	}
+
+	public boolean hasDiverged(){ return divergedAt >= 0; }
+
+	// the first checksum step that didn't match, the game went different somewhere in the checksum interval before it, -1 if it never did
+	public long getDivergedTick(){ return divergedAt; }
+
+	public int getChecksumInterval(){ return recording.checksumInterval; }
+
+	// how many steps had a checksum to compare, so far
+	public int getChecksumsChecked(GameSession session){
+		return (int)Math.min(recording.checksumCount, session.getTicks() / recording.checksumInterval);
+	}
+
+
+	// true once the session has played every step the recorded game did
+	public boolean isFinished(GameSession session){
+		return session.getTicks() >= recording.endTick;
+	}
+
+
+	// one command, the same way the player gave it
+	static void apply(GameSession session, byte command, float x){
+		switch(command){
+			case InputRecording.MOVE: session.moveVausTo(x); break;
+			case InputRecording.FLIP: session.flip(); break;
+			case InputRecording.FIRE: session.pullTrigger(); break;
+			case InputRecording.RELEASE: session.releaseTrigger(); break;
+			case InputRecording.PAUSE: session.togglePause(); break;
+			case InputRecording.WEAPON: session.giveWeapon(WEAPONS[(int)x]); break;
+			default: break;
+		}
+	}
+
+}
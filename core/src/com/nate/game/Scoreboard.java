@@ -0,0 +1,74 @@
+/**
+ *
+ */
+package com.nate.game;
+
+import com.nate.game.BonusItem.ItemTypes;
+import com.nate.game.GameEventBus.GameEvent;
+import com.nate.game.GameEventBus.GameEventListener;
+
+/**
+ * @author Nathan Merris
+ * The score and lives of one GameSession, counted from the GameEventBus.
+ * This used to live in the OnScreenDisplay, it's here now so a session that is never drawn still keeps score,
+ * the OnScreenDisplay just shows what's in here.
+ * Unlike the other listeners it's brought up to date at the end of every step (GameSession.step() calls countStep()), not once per frame,
+ * the score and lives are part of the game state, they go into the checksums and running out of lives stops the balls,
+ * so they have to be the same after every step no matter how many steps a frame had before the events were dispatched.
+ */
+public class Scoreboard implements GameEventListener {
+
+	private int score; // exactly what you think it is
+	private int lives;
+	private int counted; // events on the bus already counted by countStep(), the bus starts over empty after each dispatch
+
+
+	// constructor..
+	public Scoreboard(int lives){
+		this.lives = lives;
+	}
+
+
+	public int getScore() {
+		return score;
+	}
+
+	public void updateScore(int pointValue) { // point value can be negative
+		score += pointValue;
+	}
+
+	public int getLives() {
+		return lives;
+	}
+
+	public void updateLives(int lifeNumValue) { // life value can be negative
+		lives += lifeNumValue;
+	}
+
+
+	// adds up the score and lives from everything that happened this step, then updates each once
+	public void countStep(GameEventBus events){
+		int points = 0, lifeChange = 0;
+		for(int i = counted; i < events.size(); i++){
+			GameEvent e = events.get(i);
+			switch(e.type){
+				case BRICK_DESTROYED: points += e.value; break;
+				case BALL_LOST: lifeChange--; break;
+				case ITEM_CAUGHT: if(e.item == ItemTypes.EXTRA_LIFE){ lifeChange++; } break;
+				default: break;
+			}
+		}
+		updateScore(points);
+		updateLives(lifeChange);
+		counted = events.size();
+	}
+
+
+	// the frame's events were already counted step by step, this only catches anything posted outside of a step (nothing is, for now)
+	@Override
+	public void handleEvents(GameEventBus events){
+		countStep(events);
+		counted = 0;
+	}
+
+}
@@ -9,6 +9,7 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.IntMap;
+import com.nate.game.GameEventBus.GameEventListener;
 
 /**
  * @author ENNE EIGHT
@@ -16,7 +17,7 @@ import com.badlogic.gdx.utils.IntMap;
  * All sounds are free-use as far as I can tell.
  * Most sounds were obtained from http://www.freesound.org.
  */
-public class SoundProcessor {
+public class SoundProcessor implements GameEventListener {
 	
 	private String levelBackgroundMusic; // each level may have it's own unique background music
 	private IntMap<Sound> soundEffects; // holds all the sound effects, not the background music
@@ -70,6 +71,7 @@ public class SoundProcessor {
 		
 		soundEffects = new IntMap<Sound>();
 		
+		// only Arknoid1 makes one, a headless GameSession has no sounds at all
 		for(SoundEffects sfx : SoundEffects.values()) { // very cool: for-each loop for enums
 			try { 
 				soundEffects.put(sfx.id, Gdx.audio.newSound(Gdx.files.internal(sfx.fileName))); // fill the soundEffects IntMap<>
@@ -86,11 +88,31 @@ public class SoundProcessor {
 	// play a sound effect: pass in the enum value of the effect you want to play, and pass in the volume you desire (0..1.0)
 	// you have to set the volume very low for it to make a difference
 	public void playSoundEffect(SoundEffects sfx, float v){
-		soundEffects.get(sfx.id).play(v);
+		Sound sound = soundEffects.get(sfx.id);
+		if(sound != null){ sound.play(v); } // null if the file failed to load
 	}
 	
 	
 	
+	// the sound effects for everything that happened this frame..
+	// each sound is played at most once per frame, 30 bricks destroyed by one bomb sound like one brick destroyed, just louder on screen
+	@Override
+	public void handleEvents(GameEventBus events){
+		boolean vausHit = false, brickHit = false, brickDestroyed = false;
+		for(int i = 0; i < events.size(); i++){
+			switch(events.get(i).type){
+				case BALL_VAUS_HIT: vausHit = true; break;
+				case BALL_BRICK_HIT: brickHit = true; break;
+				case BRICK_DESTROYED: brickDestroyed = true; break;
+				default: break;
+			}
+		}
+		if(vausHit){ playSoundEffect(SoundEffects.BALL_VAUS_CONTACT, 0.1f); }
+		if(brickHit){ playSoundEffect(SoundEffects.BALL_BRICK_CONTACT, 1.0f); }
+		if(brickDestroyed){ playSoundEffect(SoundEffects.BRICK_DESTROYED, 0.1f); } // you have to set the volume really low for it to make any difference
+	}
+	
+	
 	public void dispose(){
 		for(Sound sfx : soundEffects.values()){
 			sfx.dispose();
@@ -0,0 +1,23 @@
+/**
+ *
+ */
+package com.nate.game;
+
+/**
+ * @author Nathan Merris
+ * The hash GameSession.getChecksum() is built with: 64 bit FNV-1a, fed one int (or one float's exact bits) at a time instead of one byte.
+ * It's not for hash tables and certainly not for security, it only has to notice that two runs of the same game stopped being exactly the same game,
+ * so it's as cheap as it gets: one xor and one multiply per value.  Floats go in as their bits, so even the last bit of a ball's position counts.
+ */
+final class StateChecksum {
+
+	static final long START = 0xcbf29ce484222325L; // FNV offset basis
+	private static final long PRIME = 0x100000001b3L; // FNV prime
+
+	static long mix(long hash, int value){ return (hash ^ value) * PRIME; }
+	static long mix(long hash, float value){ return mix(hash, Float.floatToIntBits(value)); }
+	static long mix(long hash, long value){ return mix(mix(hash, (int)value), (int)(value >>> 32)); }
+
+	private StateChecksum(){}
+
+}
@@ -0,0 +1,160 @@
+/**
+ *
+ */
+package com.nate.game;
+
+import static com.nate.game.Arknoid1.logger;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * @author Nathan Merris
+ * The TextureCache is the one place every game object gets it's images from.
+ * Images are looked up by their file name (like "brickA.png" in the level .json files) and served as regions of the texture atlas,
+ * so 200 bricks using brickA.png share a single GameImage, and everything in the game world is drawn from one atlas page,
+ * which means the SpriteBatch never has to flush to switch textures.
+ * Each GameImage is reference counted: acquire() it when you need it, release() it when you are done with it.
+ * An image that is not in the atlas is loaded as it's own texture the first time it's acquired, and disposed when the last user releases it.
+ * When running headless, the atlas file is only read for region sizes and no textures are ever created.
+ */
+public class TextureCache {
+
+	private TextureAtlas atlas;											// the texture atlas, null when running headless
+	private ObjectMap<String, TextureAtlasData.Region> atlasRegions;	// region sizes read from the atlas file, never changes after the constructor
+	private ObjectMap<String, GameImage> images;						// every image currently in use, keyed by file name
+	private boolean headless;											// true to never create a texture, only image sizes are known
+
+
+	// constructor..
+	// pass in the file name of the texture atlas, like "texturepack.atlas"
+	// pass in headless = true to only read the image sizes, for a GameSession that is never drawn (no OpenGL needed)
+	public TextureCache(String atlasFileName, boolean headless){
+		this.headless = headless;
+		images = new ObjectMap<String, GameImage>();
+
+		FileHandle atlasFile = Gdx.files.internal(atlasFileName);
+		TextureAtlasData data;
+		synchronized(TextureCache.class){ // libgdx reads the .atlas file into a static array, so two sessions starting on two threads at once would mix up each other's lines
+			data = new TextureAtlasData(atlasFile, atlasFile.parent(), false); // just parses the .atlas text file, no OpenGL needed
+		}
+		atlasRegions = new ObjectMap<String, TextureAtlasData.Region>();
+		for(TextureAtlasData.Region r : data.getRegions()){
+			atlasRegions.put(r.name, r);
+		}
+		if(!headless){
+			atlas = new TextureAtlas(data); // this uploads the atlas pages
+		}
+
+		logger.info("TextureCache constructor exiting..");
+	}
+
+
+	/**
+	 * Gets an image to draw with, every call must be matched with a call to release() when the image is no longer needed.
+	 * @param fileName the image's file name in the assets folder, like "brickA.png", the region name in the atlas is the file name without ".png"
+	 * @return the shared GameImage for that file name
+	 */
+	public GameImage acquire(String fileName){
+		GameImage image = images.get(fileName);
+		if(image == null){ // first user of this image
+			image = createImage(fileName);
+			images.put(fileName, image);
+		}
+		image.references++;
+		return image;
+	}
+
+
+	// give back an image that was acquired earlier, the image is disposed when the last user releases it
+	public void release(GameImage image){
+		image.references--;
+		if(image.references <= 0){
+			images.remove(image.fileName);
+			image.dispose();
+		}
+	}
+
+
+	// how many distinct images are currently in use
+	public int size(){
+		return images.size;
+	}
+
+
+	// the following methods are safe to call from the level preloading thread (see LevelPreloader),
+	// they only read atlasRegions, which never changes after the constructor..
+
+	// true if the image is packed into the texture atlas, so it never needs to be decoded or uploaded on it's own
+	public boolean isInAtlas(String fileName){
+		return atlasRegions.containsKey(regionName(fileName));
+	}
+
+	// width and height of an image in the atlas, in screen pixels, only valid if isInAtlas(fileName) is true
+	public int getAtlasWidth(String fileName){ return atlasRegions.get(regionName(fileName)).width; }
+	public int getAtlasHeight(String fileName){ return atlasRegions.get(regionName(fileName)).height; }
+
+
+	/**
+	 * Uploads an image that was decoded ahead of time (on the level preloading thread), so acquiring it later does not stall.
+	 * Must be called on the render thread, the pixmap is disposed here.  Does nothing if the image is in the atlas or already cached.
+	 * The preloaded image stays cached until it has been acquired and released again.
+	 */
+	public void preload(String fileName, Pixmap pixmap){
+		if(!images.containsKey(fileName) && !isInAtlas(fileName)){
+			if(headless){
+				images.put(fileName, new GameImage(fileName, null, null, pixmap.getWidth(), pixmap.getHeight()));
+			}
+			else{
+				Texture tex = new Texture(pixmap); // this is the actual GL upload
+				images.put(fileName, new GameImage(fileName, new TextureRegion(tex), tex, tex.getWidth(), tex.getHeight()));
+			}
+		}
+		pixmap.dispose();
+	}
+
+
+	private static String regionName(String fileName){
+		return fileName.endsWith(".png") ? fileName.substring(0, fileName.length() - 4) : fileName; // the region name in the atlas is the file name without ".png"
+	}
+
+
+	private GameImage createImage(String fileName){
+		String regionName = regionName(fileName);
+
+		if(headless){
+			TextureAtlasData.Region r = atlasRegions.get(regionName);
+			if(r != null){ return new GameImage(fileName, null, null, r.width, r.height); }
+
+			Pixmap pixmap = new Pixmap(Gdx.files.internal(fileName)); // not in the atlas, decoding the file does not need OpenGL, uploading it does
+			GameImage image = new GameImage(fileName, null, null, pixmap.getWidth(), pixmap.getHeight());
+			pixmap.dispose();
+			return image;
+		}
+
+		AtlasRegion r = atlas.findRegion(regionName);
+		if(r != null){ return new GameImage(fileName, r, null, r.getRegionWidth(), r.getRegionHeight()); }
+
+		// this image was never packed into the atlas, so it needs it's own texture (and the batch will have to switch textures to draw it)..
+		logger.info("TextureCache: " + fileName + " is not in the texture atlas, loading it as a separate texture");
+		Texture tex = new Texture(Gdx.files.internal(fileName));
+		return new GameImage(fileName, new TextureRegion(tex), tex, tex.getWidth(), tex.getHeight());
+	}
+
+
+	public void dispose(){
+		for(GameImage image : images.values()){
+			image.dispose();
+		}
+		images.clear();
+		if(atlas != null){ atlas.dispose(); }
+	}
+
+}
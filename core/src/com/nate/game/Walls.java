@@ -8,15 +8,12 @@ import static com.nate.game.Arknoid1.SCENE_HEIGHT;
 import static com.nate.game.Arknoid1.SCENE_WIDTH;
 import static com.nate.game.Arknoid1.SCREEN_TO_WORLD;
 import static com.nate.game.CreateBody.createBody;
-import static com.nate.game.Arknoid1.batch;
 import static com.nate.game.Arknoid1.logger;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.physics.box2d.Body;
-import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.utils.Logger;
+import com.nate.game.GameBody.GameBodies;
+import com.nate.game.PhysicsWorld.BodyKind;
 
 
 
@@ -28,53 +25,59 @@ public class Walls implements GameObject{
 	//private Logger logger; // use the logger from Arknoid1 main program
 	//private SpriteBatch batch; // use the same batch everywhere
 	
-	public static Body leftWallBody, rightWallBody, ceilingBody, floorBody; // each wall and the ceiling are fixed box2d bodies
+	private int leftWallBody, rightWallBody, ceilingBody, floorBody; // each wall and the ceiling are fixed physics bodies, these are their handles
+	private PhysicsWorld physics; // the session's physics world
+	private TextureCache textures;
 	
 	// the textures dimensions are scaled down to the size needed by box2d physics engine..
 	// used in the draw method in this class, these are just to keep things organized and readable
-	private float box2dCeilingWidth, box2dCeilingHeight, box2dWallHeight;
-	public static float box2dWallWidth; // need this to compute range of motion of vaus in Vaus.java, that's why it's public static
+	private float box2dCeilingWidth, box2dWallHeight;
+	float box2dWallWidth; // need this to compute range of motion of vaus in Vaus.java, and where the balls bounce
+	float box2dCeilingHeight; // the floor is the same height, ArcadeCollision needs both to know where the ball bounces
 	
-	private Texture ceilingTex, wallTex; // the left and right walls are the same texture for now
+	private GameImage ceilingTex, wallTex; // the left and right walls are the same texture for now
 	
 	// constructor..
-	public Walls (String leftWallTextureFileName, String rightWallTextureFileName, String ceilingTextureFileName) // there is no floor in normal gameplay
+	public Walls (GameSession session, String leftWallTextureFileName, String rightWallTextureFileName, String ceilingTextureFileName) // there is no floor in normal gameplay
 	{
+		physics = session.physics;
+		textures = session.textures;
+		
 		// load the textures..
-		ceilingTex = new Texture(Gdx.files.internal(ceilingTextureFileName)); // need to read from a file, string of filename should be passed in from Arknoid1 at start
-		wallTex = new Texture(Gdx.files.internal(leftWallTextureFileName)); // same texture for both walls for now
+		ceilingTex = textures.acquire(ceilingTextureFileName); // need to read from a file, string of filename should be passed in from Arknoid1 at start
+		wallTex = textures.acquire(leftWallTextureFileName); // same texture for both walls for now
 		
 		// the width of the textures scaled down to use with box2d..
-		box2dCeilingWidth = ceilingTex.getWidth() * SCREEN_TO_WORLD; 	// ceiling and floor are the same dimensions
-		box2dCeilingHeight = ceilingTex.getHeight() * SCREEN_TO_WORLD;
-		box2dWallWidth = wallTex.getWidth() * SCREEN_TO_WORLD; 			// left and right walls are the same dimensions
-		box2dWallHeight = wallTex.getHeight() * SCREEN_TO_WORLD;
+		box2dCeilingWidth = ceilingTex.width * SCREEN_TO_WORLD; 	// ceiling and floor are the same dimensions
+		box2dCeilingHeight = ceilingTex.height * SCREEN_TO_WORLD;
+		box2dWallWidth = wallTex.width * SCREEN_TO_WORLD; 			// left and right walls are the same dimensions
+		box2dWallHeight = wallTex.height * SCREEN_TO_WORLD;
 		
 		// create the bodies..
-		leftWallBody = createBody(BodyType.StaticBody,  			// body type
+		leftWallBody = createBody(physics, BodyKind.STATIC,  			// body type
 			   	 false, ContactProcessor.ContactCategories.WALLS, (short)~0x0000, // is body a sensor?, sensor group, collision mask (collide with everything for walls)
-			   	 0, new GameBody<Walls>(this), 						// gravity scale, userData
+			   	 0, new GameBody<Walls>(GameBodies.WALL, this), 						// gravity scale, userData
 			   	 box2dWallWidth * 0.5f, SCENE_HEIGHT * 0.5f, 		// initial x and y positions
 				 0, 0, 0, 											// density, restitution, friction
 				 box2dWallWidth * 0.5f, box2dWallHeight * 0.5f); 	// halfWidth, halfHeight based on vaus texture dimensions
 	
-		rightWallBody = createBody(BodyType.StaticBody,  		// body type
+		rightWallBody = createBody(physics, BodyKind.STATIC,  		// body type
 			   	 false, ContactProcessor.ContactCategories.WALLS, (short)~0x0000, // is body a sensor?, sensor group, collision mask (collide with everything for walls)
-			   	 0, new GameBody<Walls>(this),  					// gravity scale, userData
+			   	 0, new GameBody<Walls>(GameBodies.WALL, this),  					// gravity scale, userData
 			   	 SCENE_WIDTH - box2dWallWidth * 0.5f, SCENE_HEIGHT * 0.5f, // initial x and y positions, not used because the flippers are attached to vaus and move with vaus
 				 0, 0, 0, 											// density, restitution, friction
 				 box2dWallWidth * 0.5f, box2dWallHeight * 0.5f);	// halfWidth, halfHeight based on vaus texture dimensions
 		
-		ceilingBody = createBody(BodyType.StaticBody,  			// body type
+		ceilingBody = createBody(physics, BodyKind.STATIC,  			// body type
 			   	 false, ContactProcessor.ContactCategories.WALLS, (short)~0x0000, // is body a sensor?, sensor group, collision mask (collide with everything for walls)
-			   	 0, new GameBody<Walls>(this),  					// gravity scale, userData
+			   	 0, new GameBody<Walls>(GameBodies.CEILING, this),  					// gravity scale, userData
 			   	 SCENE_WIDTH * 0.5f, SCENE_HEIGHT - box2dCeilingHeight * 0.5f, // initial x and y positions, not used because the flippers are attached to vaus and move with vaus
 				 0, 0, 0, 											// density, restitution, friction
 				 box2dCeilingWidth * 0.5f, box2dCeilingHeight * 0.5f);	// halfWidth, halfHeight based on vaus texture dimensions
 	
-		floorBody = createBody(BodyType.StaticBody,  			// body type
+		floorBody = createBody(physics, BodyKind.STATIC,  			// body type
 			   	 false, ContactProcessor.ContactCategories.WALLS, (short)~0x0000, // is body a sensor?, sensor group, collision mask (collide with everything for walls)
-			   	 0, new GameBody<Walls>(this), 						// gravity scale, userData
+			   	 0, new GameBody<Walls>(GameBodies.FLOOR, this), 						// gravity scale, userData
 			   	 SCENE_WIDTH * 0.5f, box2dCeilingHeight * 0.5f, 	// initial x and y positions, not used because the flippers are attached to vaus and move with vaus
 				 0, 0, 0, 											// density, restitution, friction
 				 box2dCeilingWidth * 0.5f, box2dCeilingHeight * 0.5f);	// halfWidth, halfHeight based on vaus texture dimensions
@@ -87,78 +90,63 @@ public class Walls implements GameObject{
 	
 	// draw should be called from Arknoid1 main class from inside the batch rendering block
 	// the same batch is used everywhere, openGL likes that and it is much faster
-	public void draw(){
-		// apparently you need to use the 16 parameter draw method to draw things that use box2d because..
+	// walls never move, so there's nothing to interpolate
+	@Override
+	public void draw(Batch batch, float renderAlpha){
 		// box2d will not work with large numbers (by large I mean 1280, 720..) it wants numbers closer to
 		// 12.8 or 7.2, otherwise it hits a floating point arithmetical limit and your max ballSpeed is way too slow
 		// but the textures to draw on the screen are in "normal" screen size dimensions (like 1280 x 40 pixels)
 		// so you have to basically do EVERYTHING at the smaller scale, and use the following draw method
-		// which takes in the texture (NOT a textureRegion, there is no draw method like this that takes in a textureRegion)
-		// but uses the positioning values from the box2d physics engine, it must understand how to draw the
-		// "normal" sized texture using the smaller scale size box2d physics coordinates, what a PITA, there is probably a 
-		// better way, but I'm going with this for now..
+		// which takes in a texture region from the shared texture atlas (see TextureCache) and a width and height in box2d world units,
+		// the region is simply stretched to fit, so all the game images can live on one texture and the batch never has to switch textures
 		
-		batch.draw(ceilingTex, // texture
-				   ceilingBody.getPosition().x - SCENE_WIDTH * 0.5f, // bottom left x
-				   ceilingBody.getPosition().y - box2dCeilingHeight * 0.5f, // bottom left y
+		batch.draw(ceilingTex.region, // texture
+				   physics.getX(ceilingBody) - SCENE_WIDTH * 0.5f, // bottom left x
+				   physics.getY(ceilingBody) - box2dCeilingHeight * 0.5f, // bottom left y
 				   box2dCeilingWidth * 0.5f, box2dCeilingHeight * 0.5f, // originX, originY (for translations)
 				   box2dCeilingWidth, box2dCeilingHeight, // width, height
 				   1f, 1f, // scaleX, scaleY
-				   0, // rotate, 0 means do not rotate
-				   0, 0, // srcX, srcY (?)
-				   ceilingTex.getWidth(), ceilingTex.getHeight(), // srcWidth, srcHeight
-				   false, false // flipX, flipY
+				   0 // rotate, 0 means do not rotate
 				   );
 		
 		// the floor texture will probably not be used in the final game because you typically want a pit for the ball to fall in..
-		batch.draw(ceilingTex, // using ceiling texture for floor for now
-				   floorBody.getPosition().x - SCENE_WIDTH * 0.5f, // bottom left x
-				   floorBody.getPosition().y - box2dCeilingHeight * 0.5f, // bottom left y
+		batch.draw(ceilingTex.region, // using ceiling texture for floor for now
+				   physics.getX(floorBody) - SCENE_WIDTH * 0.5f, // bottom left x
+				   physics.getY(floorBody) - box2dCeilingHeight * 0.5f, // bottom left y
 				   box2dCeilingWidth * 0.5f, box2dCeilingHeight * 0.5f, // originX, originY (for translations)
 				   box2dCeilingWidth, box2dCeilingHeight, // width, height
 				   1f, 1f, // scaleX, scaleY
-				   0, // rotate, 0 means do not rotate
-				   0, 0, // srcX, srcY (?)
-				   ceilingTex.getWidth(), ceilingTex.getHeight(), // srcWidth, srcHeight
-				   false, false // flipX, flipY
+				   0 // rotate, 0 means do not rotate
 				   );
 		
 		
-		batch.draw(wallTex, // texture
-				   leftWallBody.getPosition().x - box2dWallWidth * 0.5f, // bottom left x
-				   leftWallBody.getPosition().y - box2dWallHeight * 0.5f, // bottom left y
+		batch.draw(wallTex.region, // texture
+				   physics.getX(leftWallBody) - box2dWallWidth * 0.5f, // bottom left x
+				   physics.getY(leftWallBody) - box2dWallHeight * 0.5f, // bottom left y
 				   box2dWallWidth * 0.5f, box2dWallHeight * 0.5F, // originX, originY (for translations)
 				   box2dWallWidth, box2dWallHeight, // width, height
 				   1f, 1f, // scaleX, scaleY
-				   0, // rotate, 0 means do not rotate
-				   0, 0, // srcX, srcY (?)
-				   wallTex.getWidth(), wallTex.getHeight(), // srcWidth, srcHeight
-				   false, false // flipX, flipY
+				   0 // rotate, 0 means do not rotate
 				   );
 		
-		batch.draw(wallTex, // texture
-				   rightWallBody.getPosition().x - box2dWallWidth * 0.5f, // bottom left x
-				   rightWallBody.getPosition().y - box2dWallHeight * 0.5f, // bottom left y
+		batch.draw(wallTex.region, // texture
+				   physics.getX(rightWallBody) - box2dWallWidth * 0.5f, // bottom left x
+				   physics.getY(rightWallBody) - box2dWallHeight * 0.5f, // bottom left y
 				   box2dWallWidth * 0.5f, box2dWallHeight * 0.5F, // originX, originY (for translations)
 				   box2dWallWidth, box2dWallHeight, // width, height
 				   1f, 1f, // scaleX, scaleY
-				   0, // rotate, 0 means do not rotate
-				   0, 0, // srcX, srcY (?)
-				   wallTex.getWidth(), wallTex.getHeight(), // srcWidth, srcHeight
-				   false, false // flipX, flipY
+				   0 // rotate, 0 means do not rotate
 				   );
 		
 		} // end draw()
 	
-	// isFloor returns true if the Body passed to it is floorBody, to determine when you DIE!!
-	public boolean isFloor(Body b){
-		if (b.equals(floorBody)) return true;
-		else return false;
+	// isFloor returns true if the body handle passed to it is floorBody, to determine when you DIE!!
+	public boolean isFloor(int body){
+		return body == floorBody;
 	}
 	
-	public boolean isCeiling(Body b){
-		if (b.equals(ceilingBody)) return true;
-		else return false;
+	public boolean isCeiling(int body){
+		return body == ceilingBody;
 	}
 	
 
@@ -176,8 +164,8 @@ public class Walls implements GameObject{
 	}
 	
 	public void dispose(){
-		ceilingTex.dispose();
-		wallTex.dispose();
+		textures.release(ceilingTex);
+		textures.release(wallTex);
 	
 
 		logger.info("Walls dispose() method exiting..");
@@ -0,0 +1,81 @@
+/**
+ *
+ */
+package com.nate.game;
+
+/**
+ * @author Nathan Merris
+ * box2d does not allow bodies to be activated, deactivated or destroyed while physics.step() is running,
+ * and that's exactly when ContactProcessor finds out a brick was destroyed, an item was caught, or a projectile hit something.
+ * So instead of every object checking it's isAlive flag and calling setActive() on it's body every single step,
+ * they post a command here when they die (or, for bonus items, start falling), and the GameSession applies all of them right after the step.
+ * Every command is applied exactly once, then the queue is empty again.
+ * The objects posting the commands make sure they only post once: they post at the moment isAlive changes, and a destroyed body is
+ * forgotten (set to PhysicsWorld.NO_BODY) by it's owner at the same moment, so it can't be posted twice or destroyed again between levels.
+ * The queue is two plain arrays (body handles and commands) that only grow, after the first few steps nothing is allocated here.
+ */
+public class WorldCommandQueue {
+
+	static final byte ACTIVATE = 0, DEACTIVATE = 1, DESTROY = 2;
+
+	private int[] bodies = new int[32];
+	private byte[] commands = new byte[32];
+	private int count;
+	private PhysicsWorld physics; // the session's world, the commands are applied to it
+
+
+	// constructor..
+	public WorldCommandQueue(PhysicsWorld physics){
+		this.physics = physics;
+	}
+
+
+	public void activate(int body){ post(ACTIVATE, body); }
+	public void deactivate(int body){ post(DEACTIVATE, body); }
+	public void destroy(int body){ post(DESTROY, body); }
+
+
+	private void post(byte command, int body){
+		if(count == bodies.length){ // doubles in size, only ever happens if more things die in one step than ever before
+			int[] newBodies = new int[count * 2];
+			byte[] newCommands = new byte[count * 2];
+			System.arraycopy(bodies, 0, newBodies, 0, count);
+			System.arraycopy(commands, 0, newCommands, 0, count);
+			bodies = newBodies;
+			commands = newCommands;
+		}
+		bodies[count] = body;
+		commands[count++] = command;
+	}
+
+
+	/**
+	 * Applies every posted command in the order they were posted, must be called outside of physics.step().
+	 * Taking a body out of the simulation makes box2d call ContactProcessor.endContact() for anything it was touching,
+	 * if that posts more commands they are applied in this same call.
+	 */
+	public void apply(){
+		for(int i = 0; i < count; i++){
+			int body = bodies[i];
+			switch(commands[i]){
+				case ACTIVATE:
+					physics.setActive(body, true);
+					break;
+				case DEACTIVATE:
+					physics.setActive(body, false);
+					break;
+				case DESTROY:
+					physics.destroyBody(body);
+					break;
+			}
+		}
+		count = 0;
+	}
+
+
+	// how many commands are waiting for the next apply()
+	public int size(){
+		return count;
+	}
+
+}
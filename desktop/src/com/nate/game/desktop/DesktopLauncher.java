@@ -2,16 +2,56 @@ package com.nate.game.desktop;
 
 import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
 import com.nate.game.Arknoid1;
+import com.nate.game.FrameProfiler;
+import com.nate.game.LogFlusher;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
 
 public class DesktopLauncher {
 	public static void main (String[] arg) {
+		try {
+			LogFlusher.start(new File("arknoid.log")); // GameLog records are written here on a background thread
+		}
+		catch (IOException e) {
+			System.err.println("could not open arknoid.log, the game log will only be kept in memory: " + e.getMessage());
+		}
+		
+		Arknoid1 game = new Arknoid1();
+		game.gcCounter = new FrameProfiler.GcCounter(){ // every collector's runs added up, for the profiler overlay (F3)
+			@Override
+			public long collections(){
+				long runs = 0;
+				for(GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()){
+					runs += Math.max(0, collector.getCollectionCount()); // -1 if a collector doesn't count
+				}
+				return runs;
+			}
+		};
+		for(int i = 0; i < arg.length; i++){
+			if(arg[i].equals("-arcade")){ game.arcadeCollisions = true; } // ball against bricks and walls with ArcadeCollision instead of box2d
+			else if(arg[i].equals("-balls") && i + 1 < arg.length){ game.startingBalls = Integer.parseInt(arg[++i]); } // stress mode, -balls 1000
+			else if(arg[i].equals("-record") && i + 1 < arg.length){ game.recordFile = new FileHandle(new File(arg[++i])); } // saves every command you give when the game exits
+			else if(arg[i].equals("-replay") && i + 1 < arg.length){ game.replayFile = new FileHandle(new File(arg[++i])); } // plays a -record file back, in real time
+		}
+		
+		try {
+			JfrTrace.install(); // physics, contact, level load and render events for Java Flight Recorder, they cost nothing until a recording starts
+		}
+		catch (NoClassDefFoundError e) {
+			System.err.println("this JVM has no jdk.jfr (it needs 8u262 or 11+), the game won't emit flight recorder events");
+		}
+		
 		LwjglApplicationConfiguration config = new LwjglApplicationConfiguration();
 		
 		config.width = 1280;
 		config.height = 720;
 		config.title = "Arknoid by N8";
 		
-		new LwjglApplication(new Arknoid1(), config);
+		new LwjglApplication(game, config);
 	}
 }
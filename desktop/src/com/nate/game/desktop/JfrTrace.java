@@ -0,0 +1,165 @@
+package com.nate.game.desktop;
+
+import com.nate.game.GameTrace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.StackTrace;
+
+// GameTrace's sink on desktop: every physics step, contact callback, level load phase and render pass becomes a Java Flight Recorder event,
+// so a recording of the game shows them in JMC right next to the GC pauses and JIT compiles, look under "Arknoid" in the event browser
+// GameTrace.on is only true while a recording is running (this listens to the recorder), so without one the game pays a boolean check per call site
+// start a recording with  -XX:StartFlightRecording=filename=arknoid.jfr  or later with  jcmd <pid> JFR.start
+// contacts are the busy one, a postSolve event for every touching pair every step, set a threshold for arknoid.Contact in a .jfc to thin them out
+// jdk.jfr is in OpenJDK 11 and later, and 8u262 and later
+public class JfrTrace implements GameTrace.Sink, FlightRecorderListener {
+
+	@Name("arknoid.PhysicsStep")
+	@Label("Physics Step")
+	@Category({"Arknoid", "Physics"})
+	@Description("One box2d world step, contacts included")
+	@StackTrace(false)
+	static class PhysicsStepEvent extends Event {
+		@Label("Bodies") int bodies;
+		@Label("Contacts") @Description("Pairs of bodies with overlapping bounding boxes after the step") int contacts;
+	}
+
+	@Name("arknoid.Contact")
+	@Label("Contact")
+	@Category({"Arknoid", "Physics"})
+	@Description("One ContactProcessor callback, and the game's handling of it")
+	@StackTrace(false)
+	static class ContactEvent extends Event {
+		@Label("Category") String category;
+		@Label("Callback") String callback;
+	}
+
+	@Name("arknoid.LevelLoad")
+	@Label("Level Load")
+	@Category({"Arknoid", "Level"})
+	@Description("One phase of getting a level into the game, some run on the preloader's worker thread")
+	@StackTrace(false)
+	static class LevelLoadEvent extends Event {
+		@Label("Phase") String phase;
+		@Label("Level") int levelNumber;
+		@Label("Count") @Description("Bricks or textures the phase went through") int count;
+	}
+
+	@Name("arknoid.RenderPass")
+	@Label("Render Pass")
+	@Category({"Arknoid", "Rendering"})
+	@StackTrace(false)
+	static class RenderPassEvent extends Event {
+		@Label("Pass") String pass;
+		@Label("Render Calls") int renderCalls;
+	}
+
+
+	/**
+	 * Plugs a JfrTrace into GameTrace if this JVM has a flight recorder.
+	 * Loading this class throws NoClassDefFoundError on a JVM without jdk.jfr, so the caller catches that.
+	 * @return false if there is no flight recorder to emit to
+	 */
+	public static boolean install(){
+		if(!FlightRecorder.isAvailable()){ return false; }
+		JfrTrace trace = new JfrTrace();
+		GameTrace.install(trace);
+		FlightRecorder.addListener(trace);
+		if(FlightRecorder.isInitialized()){ trace.update(); } // a recording started on the command line is already running, no state change is coming for it
+		return true;
+	}
+
+
+	@Override
+	public void recordingStateChanged(Recording recording){
+		update();
+	}
+
+	// on while any recording is running, called on the recorder's threads
+	private void update(){
+		boolean running = false;
+		for(Recording r : FlightRecorder.getFlightRecorder().getRecordings()){
+			if(r.getState() == RecordingState.RUNNING){ running = true; }
+		}
+		GameTrace.setOn(running);
+	}
+
+
+	// each begin hands the event back to the game, and the end that goes with it commits it..
+	@Override
+	public Object beginStep(){
+		PhysicsStepEvent e = new PhysicsStepEvent();
+		e.begin();
+		return e;
+	}
+
+	@Override
+	public void endStep(Object step, int bodies, int contacts){
+		PhysicsStepEvent e = (PhysicsStepEvent) step;
+		e.end();
+		if(e.shouldCommit()){
+			e.bodies = bodies;
+			e.contacts = contacts;
+			e.commit();
+		}
+	}
+
+	@Override
+	public Object beginContact(String category, String callback){
+		ContactEvent e = new ContactEvent();
+		e.category = category;
+		e.callback = callback;
+		e.begin();
+		return e;
+	}
+
+	@Override
+	public void endContact(Object contact){
+		((ContactEvent) contact).commit(); // commit() ends it
+	}
+
+	@Override
+	public Object beginLevelLoad(String phase, int levelNumber){
+		LevelLoadEvent e = new LevelLoadEvent();
+		e.phase = phase;
+		e.levelNumber = levelNumber;
+		e.begin();
+		return e;
+	}
+
+	@Override
+	public void endLevelLoad(Object load, int count){
+		LevelLoadEvent e = (LevelLoadEvent) load;
+		e.end();
+		if(e.shouldCommit()){
+			e.count = count;
+			e.commit();
+		}
+	}
+
+	@Override
+	public Object beginRenderPass(String pass){
+		RenderPassEvent e = new RenderPassEvent();
+		e.pass = pass;
+		e.begin();
+		return e;
+	}
+
+	@Override
+	public void endRenderPass(Object pass, int renderCalls){
+		RenderPassEvent e = (RenderPassEvent) pass;
+		e.end();
+		if(e.shouldCommit()){
+			e.renderCalls = renderCalls;
+			e.commit();
+		}
+	}
+
+}
@@ -0,0 +1,95 @@
+package com.nate.game;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.utils.Logger;
+import com.nate.game.BonusItem.ItemTypes;
+
+import static com.nate.game.Arknoid1.SCENE_HEIGHT;
+import static com.nate.game.Arknoid1.SCENE_WIDTH;
+
+// times simulation steps with the ball bouncing off bricks through box2d, and through ArcadeCollision, with 100, 1000 and 10000 bricks
+// each run builds a GameSession headless just like HeadlessSimulation, then swaps the level's bricks for a field of n bricks packed into the top half of the screen
+// (at 10000 they overlap a lot, real brick images are only so small), every brick takes 32767 hits so none are destroyed and the count stays put
+// the whole step is timed, not just the collisions, that's what actually matters for the frame
+// usage (from android/assets): CollisionBenchmark [steps] [levelNumber], or gradlew headless:benchmarkCollisions
+public class CollisionBenchmark extends ApplicationAdapter {
+
+	private static final int[] BRICK_COUNTS = {100, 1000, 10000};
+	private static final int WARMUP_STEPS = 1000;
+
+	private int steps;
+	private int levelNumber;
+
+
+	public CollisionBenchmark(int steps, int levelNumber){
+		this.steps = steps;
+		this.levelNumber = levelNumber;
+	}
+
+
+	public static void main(String[] arg){
+		int steps = arg.length > 0 ? Integer.parseInt(arg[0]) : 10000;
+		int levelNumber = arg.length > 1 ? Integer.parseInt(arg[1]) : 1;
+		new HeadlessApplication(new CollisionBenchmark(steps, levelNumber), new HeadlessApplicationConfiguration());
+	}
+
+
+	@Override
+	public void create(){
+		System.out.println("CollisionBenchmark: " + steps + " steps per run (" + (steps * GameSession.STEP_TIME) + " game seconds), bricks from level " + levelNumber);
+		for(int n : BRICK_COUNTS){
+			run(n, false);
+			run(n, true);
+		}
+		Gdx.app.exit();
+	}
+
+
+	// one game, n bricks, box2d or arcade..
+	private void run(int n, boolean arcade){
+		Arknoid1.logger.setLevel(Logger.ERROR);
+		GameLog.setLevel(GameLog.ERROR);
+		TextureCache textures = new TextureCache("texturepack.atlas", true);
+		GameSession game = new GameSession(textures, levelNumber, arcade, 1);
+
+		String texture = new LevelLoader().readLevelData(levelNumber).getTextureFile(0);
+		game.bricks.removeAll();
+		fill(game.bricks, n, texture);
+
+		for(int i = 0; i < WARMUP_STEPS; i++){ step(game); }
+		int hitsBefore = game.statistics.ballBrickHits;
+		long start = System.nanoTime();
+		for(int i = 0; i < steps; i++){ step(game); }
+		long elapsed = System.nanoTime() - start;
+		int hits = game.statistics.ballBrickHits - hitsBefore;
+
+		System.out.println(String.format("  %5d bricks, %-6s %8.2f microseconds per step, %6d ball-brick hits",
+				n, arcade ? "arcade" : "box2d", elapsed / 1000.0 / steps, hits));
+
+		game.dispose();
+		textures.dispose();
+	}
+
+
+	private void step(GameSession game){
+		game.step();
+		game.dispatchEvents(); // the statistics count the hits
+	}
+
+
+	// n bricks on an even grid over the top half of the play area, between the walls and below the ceiling
+	private void fill(BrickField bricks, int n, String texture){
+		float left = 1.0f, right = SCENE_WIDTH - 1.0f, bottom = SCENE_HEIGHT * 0.45f, top = SCENE_HEIGHT - 0.6f;
+		int columns = (int)Math.ceil(Math.sqrt(n * (right - left) / (top - bottom)));
+		int rows = (n + columns - 1) / columns;
+		for(int i = 0; i < n; i++){
+			float x = left + (right - left) * ((i % columns) + 0.5f) / columns;
+			float y = bottom + (top - bottom) * ((i / columns) + 0.5f) / rows;
+			bricks.add((short)0, Short.MAX_VALUE, false, texture, ItemTypes.NO_ITEM, x, y);
+		}
+	}
+
+}
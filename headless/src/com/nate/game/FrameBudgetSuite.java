@@ -0,0 +1,386 @@
+package com.nate.game;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.utils.Logger;
+import com.nate.game.BonusItem.ItemTypes;
+import com.nate.game.ProjectileSystem.ProjectileTypes;
+
+import static com.nate.game.Arknoid1.SCENE_HEIGHT;
+import static com.nate.game.Arknoid1.SCENE_WIDTH;
+
+// plays scripted sessions through the whole game step for thousands of ticks, and checks how long the ticks took and how much they allocated
+// against the budgets stored in frame-budgets.properties, so a change that makes the frame slower, or makes it allocate, shows up before anyone plays it
+// every scenario is played once to warm up the JIT, then measured -runs times, best run of each kept (a hiccup of the machine is not a regression):
+//   p50 and p99 of the ticks, each tick's step() plus dispatchEvents() timed on it's own, what Arknoid1 does per step
+//   bytes per tick, everything the thread allocated over the whole run divided by the ticks (the level preloader's worker thread is not the frame, it's not counted)
+// the scenarios, each one plays exactly the same game every time (TrackingPolicy is seeded)..
+//   dense-999    level 999's board packed with 1000 bricks (the level file itself only has 24), played by a TrackingPolicy
+//   bomb-chain   the same packed board of one hit bricks, every 5th with a bomb in it, and vaus never runs out of bombs and drops one every 20 ticks,
+//                each blast takes out a whole cluster of bricks in one tick, and their bonus items start falling all at once
+//   a packed board is packed again whenever it's down to a quarter of it's bricks, so the level is never cleared and the whole run plays on it,
+//   the packing is not part of any tick, it's neither timed nor counted in the allocation
+//   long-rally   level 1 as it is, played by a TrackingPolicy through every level change, the plain game for a long time
+// the times depend on the machine, so the budgets have to be recorded on the machine that runs the suite: -update measures and writes them, with headroom
+// exits with 1 if anything is over budget or has no budget
+// usage (from android/assets): FrameBudgetSuite [-ticks N] [-runs N] [-budgets FILE] [-update] [scenario ...], or gradlew headless:checkFrameBudget
+public class FrameBudgetSuite extends ApplicationAdapter {
+
+	private static final long SEED = 1; // the TrackingPolicy's
+	private static final int DENSE_BRICKS = 1000;
+	private static final int BOMB_INTERVAL = 20; // ticks between bombs in bomb-chain
+	private static final float TIME_HEADROOM = 1.3f; // -update writes the measured times plus 30%..
+	private static final float ALLOCATION_HEADROOM = 1.1f; // ..and the measured allocation plus 10%, plus ALLOCATION_SLACK bytes over the whole run
+	private static final int ALLOCATION_SLACK = 4096; // a couple of boxed values or a grown array somewhere, not a new allocation every tick
+	private static final String[] METRICS = {"p50Micros", "p99Micros", "bytesPerTick"}; // each scenario's budgets are <scenario>.<metric> in the budget file
+
+	// one scripted game, a fresh session every time it's played
+	private static abstract class Scenario {
+		final String name;
+		final int levelNumber;
+
+		Scenario(String name, int levelNumber){
+			this.name = name;
+			this.levelNumber = levelNumber;
+		}
+
+		// whatever the level file doesn't set up, called on the new session before the first tick, and again whenever needsSetUp() says so
+		void setUp(GameSession session){}
+
+		// checked after every tick, true if the game has used up what setUp() made
+		boolean needsSetUp(GameSession session){ return false; }
+
+		// plays vaus, a new one for every run so every run plays the same game
+		abstract PaddlePolicy player();
+	}
+
+	// a board packed with DENSE_BRICKS bricks, packed again when it's down to a quarter of them, before the level can end
+	private static abstract class PackedScenario extends Scenario {
+		final short toughness;
+		final int itemEvery;
+
+		PackedScenario(String name, int levelNumber, short toughness, int itemEvery){
+			super(name, levelNumber);
+			this.toughness = toughness;
+			this.itemEvery = itemEvery;
+		}
+
+		@Override void setUp(GameSession session){ pack(session, toughness, itemEvery); }
+		@Override boolean needsSetUp(GameSession session){ return session.getBricksRemaining() <= DENSE_BRICKS / 4; }
+	}
+
+	private static final Scenario[] SCENARIOS = {
+		new PackedScenario("dense-999", 999, (short)3, 0){
+			@Override PaddlePolicy player(){ return new TrackingPolicy(SEED); }
+		},
+		new PackedScenario("bomb-chain", 999, (short)1, 5){
+			@Override PaddlePolicy player(){ return new Bomber(); }
+		},
+		new Scenario("long-rally", 1){
+			@Override PaddlePolicy player(){ return new TrackingPolicy(SEED); }
+		}
+	};
+
+	// a TrackingPolicy that also drops a bomb every BOMB_INTERVAL ticks, and gets a new load of them when it runs out
+	private static class Bomber implements PaddlePolicy {
+		private final TrackingPolicy tracking = new TrackingPolicy(SEED);
+		private int tick;
+
+		@Override
+		public void control(GameSession session){
+			tracking.control(session);
+			int t = tick++ % BOMB_INTERVAL;
+			if(t == 0){
+				if(session.vaus.getShotsRemaining() == 0){ session.giveWeapon(ProjectileTypes.BOMB); } // the same as catching a bomb item
+				session.pullTrigger();
+			}
+			else if(t == 1){ session.releaseTrigger(); }
+		}
+	}
+
+	// what one measured run came to
+	static class Result {
+		double p50Micros, p99Micros, bytesPerTick;
+		int bricksDestroyed, endLevel, setUps; // what the game did, the same every run, so it's plain to see the scenario still plays like it says
+	}
+
+
+	private String[] names;
+	private int ticks;
+	private int runs;
+	private File budgetFile;
+	private boolean update;
+	private TextureCache textures;
+	private long[] tickNanos;
+
+
+	public FrameBudgetSuite(String[] names, int ticks, int runs, File budgetFile, boolean update){
+		this.names = names;
+		this.ticks = ticks;
+		this.runs = runs;
+		this.budgetFile = budgetFile;
+		this.update = update;
+	}
+
+
+	public static void main(String[] arg){
+		int ticks = 10000, runs = 3;
+		File budgetFile = new File("frame-budgets.properties");
+		boolean update = false;
+		List<String> names = new ArrayList<String>();
+		for(int i = 0; i < arg.length; i++){
+			if(arg[i].equals("-ticks") && i + 1 < arg.length){ ticks = Integer.parseInt(arg[++i]); }
+			else if(arg[i].equals("-runs") && i + 1 < arg.length){ runs = Integer.parseInt(arg[++i]); }
+			else if(arg[i].equals("-budgets") && i + 1 < arg.length){ budgetFile = new File(arg[++i]); }
+			else if(arg[i].equals("-update")){ update = true; }
+			else if(find(arg[i]) != null){ names.add(arg[i]); }
+			else {
+				System.err.println("usage: FrameBudgetSuite [-ticks N] [-runs N] [-budgets FILE] [-update] [scenario ...]");
+				System.err.println("  scenarios: " + scenarioNames());
+				System.exit(1);
+			}
+		}
+		if(names.isEmpty()){
+			for(Scenario s : SCENARIOS){ names.add(s.name); }
+		}
+		new HeadlessApplication(new FrameBudgetSuite(names.toArray(new String[names.size()]), ticks, runs, budgetFile, update),
+				new HeadlessApplicationConfiguration());
+	}
+
+
+	@Override
+	public void create(){
+		Arknoid1.logger.setLevel(Logger.ERROR);
+		GameLog.setLevel(GameLog.ERROR);
+		textures = new TextureCache("texturepack.atlas", true);
+		tickNanos = new long[ticks];
+		if(!allocationCounted()){ System.out.println("FrameBudgetSuite: this JVM can't count allocated bytes, only the times are checked"); }
+		System.out.println("FrameBudgetSuite: " + names.length + " scenarios, " + ticks + " ticks each, best of " + runs + " runs, budgets in " + budgetFile);
+
+		Result[] results = new Result[names.length];
+		for(int i = 0; i < names.length; i++){
+			Scenario scenario = find(names[i]);
+			play(scenario, null); // JIT warm up, not measured
+			for(int r = 0; r < runs; r++){
+				Result run = new Result();
+				play(scenario, run);
+				results[i] = best(results[i], run);
+			}
+			System.out.println("  " + names[i] + ": " + results[i].bricksDestroyed + " bricks destroyed, on level " + results[i].endLevel + " at the end"
+					+ (results[i].setUps > 0 ? ", the board was packed again " + results[i].setUps + " times" : ""));
+		}
+		textures.dispose();
+
+		boolean passed;
+		if(update){ passed = writeBudgets(results); }
+		else { passed = compare(results); }
+		Gdx.app.exit();
+		if(!passed){ System.exit(1); }
+	}
+
+
+	// one game of the scenario, measured into result if it's not null
+	private void play(Scenario scenario, Result result){
+		GameSession session = new GameSession(textures, scenario.levelNumber, false, 1);
+		scenario.setUp(session);
+		PaddlePolicy player = scenario.player();
+
+		long allocatedBefore = allocatedBytes(), setUpBytes = 0;
+		int setUps = 0;
+		for(int i = 0; i < ticks; i++){
+			player.control(session); // the player is not the frame, only what the game does with it
+			long start = System.nanoTime();
+			session.step();
+			session.dispatchEvents();
+			tickNanos[i] = System.nanoTime() - start;
+			if(scenario.needsSetUp(session)){ // not the frame either, and allocatedBytes() itself may allocate, so it's only asked here
+				long before = allocatedBytes();
+				scenario.setUp(session);
+				setUpBytes += allocatedBytes() - before;
+				setUps++;
+			}
+		}
+		long allocated = allocatedBytes() - allocatedBefore - setUpBytes;
+		if(result != null){
+			result.bricksDestroyed = session.statistics.bricksDestroyed;
+			result.endLevel = session.levelNumber;
+			result.setUps = setUps;
+		}
+		session.dispose();
+
+		if(result == null){ return; }
+		Arrays.sort(tickNanos);
+		result.p50Micros = tickNanos[percentile(50)] / 1000.0;
+		result.p99Micros = tickNanos[percentile(99)] / 1000.0;
+		result.bytesPerTick = allocationCounted() ? (double)allocated / ticks : 0;
+	}
+
+	// the index of the percentile in the sorted ticks, nearest rank
+	private int percentile(int p){
+		return Math.max(0, (int)Math.ceil(ticks * p / 100.0) - 1);
+	}
+
+	private static Result best(Result a, Result b){
+		if(a == null){ return b; }
+		a.p50Micros = Math.min(a.p50Micros, b.p50Micros);
+		a.p99Micros = Math.min(a.p99Micros, b.p99Micros);
+		a.bytesPerTick = Math.min(a.bytesPerTick, b.bytesPerTick);
+		return a;
+	}
+
+
+	// every measured value next to it's budget, and what changed
+	private boolean compare(Result[] results){
+		Properties budgets = readBudgets();
+		if(budgets == null){ return false; }
+
+		int checked = 0, over = 0, missing = 0;
+		System.out.println(String.format("  %-12s %-14s %12s %12s %9s", "scenario", "metric", "budget", "measured", "change"));
+		for(int i = 0; i < names.length; i++){
+			Result r = results[i];
+			double[] measured = {r.p50Micros, r.p99Micros, r.bytesPerTick};
+			for(int m = 0; m < METRICS.length; m++){
+				if(m == 2 && !allocationCounted()){ continue; }
+				String key = names[i] + "." + METRICS[m];
+				String budget = budgets.getProperty(key);
+				checked++;
+				if(budget == null){
+					missing++;
+					System.out.println(String.format("  %-12s %-14s %12s %12.2f %9s   NO BUDGET", names[i], METRICS[m], "-", measured[m], ""));
+					continue;
+				}
+				double limit = Double.parseDouble(budget.trim());
+				boolean isOver = measured[m] > limit;
+				if(isOver){ over++; }
+				String change = limit > 0 ? String.format("%+.1f%%", (measured[m] - limit) * 100 / limit) : (measured[m] > 0 ? "new" : "");
+				System.out.println(String.format("  %-12s %-14s %12.2f %12.2f %9s   %s", names[i], METRICS[m], limit, measured[m], change, isOver ? "OVER BUDGET" : "ok"));
+			}
+		}
+
+		if(over == 0 && missing == 0){
+			System.out.println("FrameBudgetSuite: all " + checked + " budgets met");
+			return true;
+		}
+		if(over > 0){ System.out.println("FrameBudgetSuite: " + over + " of " + checked + " budgets exceeded"); }
+		if(missing > 0){ System.out.println("FrameBudgetSuite: " + missing + " have no budget, run with -update on this machine to record them"); }
+		return false;
+	}
+
+	private Properties readBudgets(){
+		Properties budgets = new Properties();
+		try {
+			InputStream in = new FileInputStream(budgetFile);
+			try {
+				budgets.load(in);
+			}
+			finally {
+				in.close();
+			}
+			return budgets;
+		}
+		catch(IOException e){
+			System.out.println("FrameBudgetSuite: can't read " + budgetFile + " (" + e.getMessage() + "), run with -update on this machine to record the budgets");
+			return null;
+		}
+	}
+
+
+	// the budgets for the scenarios that were played, the other scenarios in the file keep the ones they had
+	private boolean writeBudgets(Result[] results){
+		Properties old = budgetFile.exists() ? readBudgets() : new Properties();
+		if(old == null){ return false; }
+		StringBuilder out = new StringBuilder();
+		out.append("# FrameBudgetSuite budgets, written by FrameBudgetSuite -update (" + ticks + " ticks, best of " + runs + " runs)\n");
+		out.append("# <scenario>.p50Micros and .p99Micros are tick times in microseconds, .bytesPerTick is what the game thread allocates per tick, over the whole run\n");
+		out.append("# the times only mean something on the machine they were measured on, re-record them there after a deliberate change\n");
+		for(Scenario s : SCENARIOS){
+			int i = Arrays.asList(names).indexOf(s.name);
+			out.append('\n');
+			for(int m = 0; m < METRICS.length; m++){
+				String key = s.name + "." + METRICS[m];
+				String value;
+				if(i < 0){ value = old.getProperty(key); } // not played this time
+				else if(m == 2){ value = String.format("%.2f", (results[i].bytesPerTick * ticks * ALLOCATION_HEADROOM + ALLOCATION_SLACK) / ticks); }
+				else { value = String.format("%.1f", (m == 0 ? results[i].p50Micros : results[i].p99Micros) * TIME_HEADROOM); }
+				if(value != null){ out.append(key).append(" = ").append(value).append('\n'); }
+			}
+		}
+		try {
+			Writer writer = new OutputStreamWriter(new FileOutputStream(budgetFile), "UTF-8");
+			try {
+				writer.write(out.toString());
+			}
+			finally {
+				writer.close();
+			}
+		}
+		catch(IOException e){
+			System.out.println("FrameBudgetSuite: can't write " + budgetFile + ", " + e.getMessage());
+			return false;
+		}
+		for(int i = 0; i < names.length; i++){
+			System.out.println(String.format("  %-12s p50 %.2f us, p99 %.2f us, %.2f bytes per tick", names[i], results[i].p50Micros, results[i].p99Micros, results[i].bytesPerTick));
+		}
+		System.out.println("FrameBudgetSuite: budgets written to " + budgetFile);
+		return true;
+	}
+
+
+	// swaps the level's bricks for n of it's first brick texture, packed over the top half of the board like CollisionBenchmark does,
+	// every itemEvery'th brick (0 for none) has a bomb in it
+	private static void pack(GameSession session, short toughness, int itemEvery){
+		String texture = new LevelLoader().readLevelData(session.levelNumber).getTextureFile(0);
+		session.bricks.removeAll();
+		float left = 1.0f, right = SCENE_WIDTH - 1.0f, bottom = SCENE_HEIGHT * 0.45f, top = SCENE_HEIGHT - 0.6f;
+		int columns = (int)Math.ceil(Math.sqrt(DENSE_BRICKS * (right - left) / (top - bottom)));
+		int rows = (DENSE_BRICKS + columns - 1) / columns;
+		for(int i = 0; i < DENSE_BRICKS; i++){
+			float x = left + (right - left) * ((i % columns) + 0.5f) / columns;
+			float y = bottom + (top - bottom) * ((i / columns) + 0.5f) / rows;
+			ItemTypes item = itemEvery > 0 && i % itemEvery == 0 ? ItemTypes.BOMB : ItemTypes.NO_ITEM;
+			session.bricks.add((short)10, toughness, false, texture, item, x, y);
+		}
+	}
+
+
+	private static Scenario find(String name){
+		for(Scenario s : SCENARIOS){
+			if(s.name.equals(name)){ return s; }
+		}
+		return null;
+	}
+
+	private static String scenarioNames(){
+		StringBuilder b = new StringBuilder();
+		for(Scenario s : SCENARIOS){ b.append(b.length() > 0 ? ", " : "").append(s.name); }
+		return b.toString();
+	}
+
+
+	// bytes this thread allocated so far, -1 when the JVM can't say
+	private static long allocatedBytes(){
+		if(!allocationCounted()){ return -1; }
+		return ((com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	private static boolean allocationCounted(){
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		return bean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean)bean).isThreadAllocatedMemoryEnabled();
+	}
+
+}
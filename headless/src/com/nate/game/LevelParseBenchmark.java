@@ -0,0 +1,85 @@
+package com.nate.game;
+
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.google.gson.Gson;
+import com.nate.game.LevelLoader.LevelData;
+
+// times how long it takes to turn one level file into level data, three ways:
+//   the Gson reflection parse LevelLoader used to do, LevelJsonReader's streaming parse, and reading the compiled .lvl file
+// the file is read into memory once up front, so only the parsing is timed, not the disk
+// it's in the headless project because that's the only desktop-only project with Gson on it's classpath
+// usage (from android/assets): LevelParseBenchmark [levelNumber] [iterations], or gradlew headless:benchmarkLevelParse
+public class LevelParseBenchmark {
+
+	// the classes Gson used to fill in, same shape as the old LevelLoader.LevelData and LevelLoader.TempBrick
+	static class GsonBrick{
+		float positionX;
+		float positionY;
+		String bonusItem;
+		short toughness;
+		boolean isIndestructible;
+		String textureFile;
+		short pointValue;
+	}
+
+	static class GsonLevelData{
+		int levelNumber;
+		String levelBackgroundMusic;
+		String ballTexture;
+		String vausTexture;
+		String leftWallTexture, rightWallTexture, ceilingTexture;
+		Array<GsonBrick> bricks = new Array<GsonBrick>();
+	}
+
+	static volatile Object sink; // keeps the JIT from throwing the parse results away
+
+
+	public static void main(String[] arg){
+		int levelNumber = arg.length > 0 ? Integer.parseInt(arg[0]) : 999;
+		int iterations = arg.length > 1 ? Integer.parseInt(arg[1]) : 20000;
+
+		final String json = new FileHandle(LevelLoader.jsonFileName(levelNumber)).readString("UTF-8");
+		FileHandle lvl = new FileHandle(LevelLoader.binaryFileName(levelNumber));
+		final byte[] binary = lvl.exists() ? lvl.readBytes() : null;
+		final Gson gson = new Gson();
+
+		System.out.println("LevelParseBenchmark: level " + levelNumber + ", " + json.length() + " chars of json, "
+				+ (binary == null ? "no .lvl file (run gradlew core:compileLevels)" : binary.length + " bytes of .lvl") + ", " + iterations + " iterations");
+
+		Runnable gsonParse = new Runnable(){ public void run(){ sink = gson.fromJson(new StringReader(json), GsonLevelData.class); } };
+		Runnable streamingParse = new Runnable(){ public void run(){ sink = new LevelJsonReader().readString(json, "benchmark"); } };
+		Runnable binaryRead = new Runnable(){ public void run(){ sink = LevelLoader.readBinary(ByteBuffer.wrap(binary)); } };
+
+		// a cold parse is what a player actually waits for on startup, so time the first one of each on it's own..
+		report("Gson, first parse", time(gsonParse, 1), 1);
+		report("LevelJsonReader, first parse", time(streamingParse, 1), 1);
+		if(binary != null){ report(".lvl, first read", time(binaryRead, 1), 1); }
+
+		// ..then warm up the JIT and time the steady state
+		time(gsonParse, iterations);
+		time(streamingParse, iterations);
+		if(binary != null){ time(binaryRead, iterations); }
+		report("Gson", time(gsonParse, iterations), iterations);
+		report("LevelJsonReader", time(streamingParse, iterations), iterations);
+		if(binary != null){ report(".lvl", time(binaryRead, iterations), iterations); }
+
+		LevelData check = new LevelJsonReader().readString(json, "benchmark");
+		System.out.println("LevelParseBenchmark: " + check.numBricks + " bricks, " + check.textureFiles.length + " brick textures");
+	}
+
+
+	private static long time(Runnable r, int iterations){
+		long start = System.nanoTime();
+		for(int i = 0; i < iterations; i++){ r.run(); }
+		return System.nanoTime() - start;
+	}
+
+	private static void report(String what, long nanos, int iterations){
+		System.out.println(String.format("  %-30s %10.2f us per level", what, nanos / 1000.0 / iterations));
+	}
+
+}
@@ -0,0 +1,10 @@
+package com.nate.game;
+
+// plays vaus in a session nobody is playing, see SessionRunner
+// control() is called once before every simulation step and does whatever a player would do through the session's commands
+// (moveVausTo, flip, pullTrigger, ...), each session gets it's own policy object so a policy can keep state
+public interface PaddlePolicy {
+
+	void control(GameSession session);
+
+}
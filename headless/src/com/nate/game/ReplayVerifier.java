@@ -0,0 +1,180 @@
+package com.nate.game;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Logger;
+
+// replays a corpus of recorded games on every core and checks each one against the checksums it was recorded with (see InputRecording),
+// so a change to the bounce code in ContactProcessor, or anything else, that quietly changes how recorded games play out is caught,
+// and it says when: the first checksum step that didn't match, the game went different in the checksum interval before it
+// the replays run on a ForkJoinPool the same way SessionRunner's sessions do, each one is independent and plays the same on any thread
+// a corpus is easy to make with SessionRunner -record DIR, or the desktop launcher's -record FILE
+// exits with 1 if any replay went different or could not be read, so a build can fail on it
+// usage (from android/assets): ReplayVerifier [-threads N] FILE_OR_FOLDER ...  (every .replay file in a folder), or gradlew headless:verifyReplays
+public class ReplayVerifier extends ApplicationAdapter {
+
+	// how one replay went
+	static class Result {
+		final File file;
+		long steps;				// replayed, it stops at the first checksum that doesn't match
+		int recordedSteps;		// how long the recorded game was
+		int checksums;			// how many checksums were compared
+		long divergedAt = -1;	// first checksum step that didn't match, -1 if none
+		int checksumInterval;
+		boolean otherBuild;		// recorded on a different build, expected to go different if the game code changed since
+		String error;			// the file could not be read
+
+		Result(File file){ this.file = file; }
+	}
+
+
+	private File[] files;
+	private int threads;
+	private Result[] results;
+
+	private final ThreadLocal<TextureCache> workerTextures = new ThreadLocal<TextureCache>(){ // same as SessionRunner's
+		@Override
+		protected TextureCache initialValue(){
+			return new TextureCache("texturepack.atlas", true);
+		}
+	};
+
+
+	public ReplayVerifier(File[] files, int threads){
+		this.files = files;
+		this.threads = threads;
+	}
+
+
+	public static void main(String[] arg){
+		int threads = Runtime.getRuntime().availableProcessors();
+		List<File> files = new ArrayList<File>();
+		for(int i = 0; i < arg.length; i++){
+			if(arg[i].equals("-threads") && i + 1 < arg.length){ threads = Integer.parseInt(arg[++i]); }
+			else {
+				File f = new File(arg[i]);
+				File[] inFolder = f.listFiles();
+				if(inFolder == null){ files.add(f); continue; }
+				Arrays.sort(inFolder); // same order every time, so reports can be compared
+				for(File g : inFolder){
+					if(g.getName().endsWith(".replay")){ files.add(g); }
+				}
+			}
+		}
+		if(files.isEmpty()){
+			System.err.println("usage: ReplayVerifier [-threads N] FILE_OR_FOLDER ...");
+			System.exit(1);
+		}
+		new HeadlessApplication(new ReplayVerifier(files.toArray(new File[files.size()]), threads), new HeadlessApplicationConfiguration());
+	}
+
+
+	@Override
+	public void create(){
+		Arknoid1.logger.setLevel(Logger.NONE); // ReplayPlayer's different build warning would be one line per replay, the report says it once
+		GameLog.setLevel(GameLog.NONE); // one writer only, see GameLog
+		System.out.println("ReplayVerifier: " + files.length + " replays, " + threads + " threads, this is build " + InputRecording.buildFingerprint());
+
+		results = new Result[files.length];
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		long start = System.nanoTime();
+		pool.invoke(new Replays(0, files.length));
+		long elapsed = System.nanoTime() - start;
+		pool.shutdown();
+
+		int diverged = 0, failed = 0, otherBuild = 0;
+		long steps = 0, checksums = 0;
+		Result first = null;
+		for(Result r : results){
+			steps += r.steps;
+			checksums += r.checksums;
+			if(r.otherBuild){ otherBuild++; }
+			if(r.error != null){
+				failed++;
+				System.out.println("  " + r.file.getName() + ": could not be read, " + r.error);
+			}
+			else if(r.divergedAt >= 0){
+				diverged++;
+				System.out.println("  " + r.file.getName() + ": went different between step " + (r.divergedAt - r.checksumInterval) + " and step " + r.divergedAt
+						+ " of " + r.recordedSteps + (r.otherBuild ? " (recorded on another build)" : ""));
+				if(first == null || r.divergedAt < first.divergedAt){ first = r; }
+			}
+		}
+
+		System.out.println(String.format("ReplayVerifier: %d steps replayed in %.2f real seconds, %d checksums compared", steps, elapsed / 1e9, checksums));
+		if(failed > 0){ System.out.println("ReplayVerifier: " + failed + " of " + files.length + " replays could not be read"); }
+		if(otherBuild > 0){ System.out.println("ReplayVerifier: " + otherBuild + " replays were recorded on another build"); }
+		if(first != null){
+			System.out.println("ReplayVerifier: " + diverged + " of " + files.length + " replays went different, the first at step " + first.divergedAt + " (" + first.file.getName() + ")");
+		}
+		else if(failed == 0){
+			System.out.println("ReplayVerifier: all " + files.length + " replays matched their recordings at every checksum");
+		}
+		Gdx.app.exit();
+		if(diverged > 0 || failed > 0){ System.exit(1); }
+	}
+
+
+	// replays first to last - 1, halved until there is only one, like SessionRunner.Sessions
+	private class Replays extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final int first, last;
+
+		Replays(int first, int last){
+			this.first = first;
+			this.last = last;
+		}
+
+		@Override
+		protected void compute(){
+			if(last - first == 1){
+				results[first] = verify(files[first]);
+				return;
+			}
+			int middle = (first + last) >>> 1;
+			invokeAll(new Replays(first, middle), new Replays(middle, last));
+		}
+	}
+
+
+	private Result verify(File file){
+		Result result = new Result(file);
+		InputRecording recording;
+		try {
+			recording = InputRecording.load(new FileHandle(file));
+		}
+		catch(RuntimeException e){ // missing file, not a replay, an old version, cut short
+			result.error = e.getMessage();
+			return result;
+		}
+		result.recordedSteps = recording.getEndTick();
+		result.otherBuild = !recording.getFingerprint().equals(InputRecording.buildFingerprint());
+
+		ReplayPlayer replay = new ReplayPlayer(recording);
+		GameSession session = replay.createSession(workerTextures.get());
+		while(!replay.isFinished(session)){
+			replay.feed(session);
+			session.step();
+			session.dispatchEvents();
+			replay.check(session);
+			if(replay.hasDiverged()){ break; } // it's never the same game again after this, no point going on
+		}
+		result.steps = session.getTicks();
+		result.checksums = replay.getChecksumsChecked(session);
+		result.divergedAt = replay.getDivergedTick();
+		result.checksumInterval = replay.getChecksumInterval();
+		session.dispose();
+		return result;
+	}
+
+}
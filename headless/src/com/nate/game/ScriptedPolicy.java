@@ -0,0 +1,113 @@
+package com.nate.game;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+
+// plays a script: a text file with one command per line, "<step> <command> [x]", in step order, # starts a comment
+//   120 move 3.2     vaus heads for x = 3.2 (world units)
+//   300 flip
+//   400 fire         pulls the trigger, "release" lets go of it
+//   500 pause        toggles the ball pause
+// every session plays the same script, the Script is read once and shared, each session only has it's own place in it
+// the commands are InputRecording's, played into the session the same way ReplayPlayer does
+public class ScriptedPolicy implements PaddlePolicy {
+
+	// the parsed file, never changes once read so any number of sessions on any number of threads can share it
+	public static class Script {
+		final long[] step;
+		final byte[] command;
+		final float[] x;
+
+		private Script(long[] step, byte[] command, float[] x){
+			this.step = step;
+			this.command = command;
+			this.x = x;
+		}
+
+		public static Script read(File file) throws IOException {
+			long[] step = new long[64];
+			byte[] command = new byte[64];
+			float[] x = new float[64];
+			int count = 0;
+			BufferedReader in = new BufferedReader(new FileReader(file));
+			try {
+				String line;
+				int lineNumber = 0;
+				while((line = in.readLine()) != null){
+					lineNumber++;
+					int hash = line.indexOf('#');
+					if(hash >= 0){ line = line.substring(0, hash); }
+					line = line.trim();
+					if(line.isEmpty()){ continue; }
+
+					String[] parts = line.split("\\s+");
+					if(count == step.length){
+						long[] newStep = new long[count * 2];
+						byte[] newCommand = new byte[count * 2];
+						float[] newX = new float[count * 2];
+						System.arraycopy(step, 0, newStep, 0, count);
+						System.arraycopy(command, 0, newCommand, 0, count);
+						System.arraycopy(x, 0, newX, 0, count);
+						step = newStep;
+						command = newCommand;
+						x = newX;
+					}
+					try {
+						step[count] = Long.parseLong(parts[0]);
+						command[count] = parseCommand(parts[1]);
+						if(command[count] == InputRecording.MOVE){ x[count] = Float.parseFloat(parts[2]); }
+					}
+					catch(RuntimeException e){ // a bad number, a missing x, or a command that doesn't exist
+						throw new IOException(file + " line " + lineNumber + ": can't read \"" + line + "\"", e);
+					}
+					if(count > 0 && step[count] < step[count - 1]){
+						throw new IOException(file + " line " + lineNumber + ": steps must be in order");
+					}
+					count++;
+				}
+			}
+			finally {
+				in.close();
+			}
+
+			long[] s = new long[count];
+			byte[] c = new byte[count];
+			float[] f = new float[count];
+			System.arraycopy(step, 0, s, 0, count);
+			System.arraycopy(command, 0, c, 0, count);
+			System.arraycopy(x, 0, f, 0, count);
+			return new Script(s, c, f);
+		}
+
+		private static byte parseCommand(String name){
+			if(name.equals("move")){ return InputRecording.MOVE; }
+			if(name.equals("flip")){ return InputRecording.FLIP; }
+			if(name.equals("fire")){ return InputRecording.FIRE; }
+			if(name.equals("release")){ return InputRecording.RELEASE; }
+			if(name.equals("pause")){ return InputRecording.PAUSE; }
+			throw new IllegalArgumentException("unknown command " + name);
+		}
+	}
+
+
+	private Script script;
+	private int next; // the next command to play
+
+
+	public ScriptedPolicy(Script script){
+		this.script = script;
+	}
+
+
+	@Override
+	public void control(GameSession session){
+		long ticks = session.getTicks();
+		while(next < script.step.length && script.step[next] <= ticks){
+			ReplayPlayer.apply(session, script.command[next], script.x[next]);
+			next++;
+		}
+	}
+
+}
@@ -0,0 +1,374 @@
+package com.nate.game;
+
+import static com.nate.game.GameSession.STEP_TIME;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Logger;
+import com.nate.game.GameEventBus.GameEvent;
+import com.nate.game.GameEventBus.GameEventListener;
+
+// plays thousands of independent headless sessions of a set of levels on every core, for balancing levels without playing them by hand
+// each session is one GameSession playing one level from the start until it's cleared, vaus runs out of lives or the time runs out,
+// with vaus played by a PaddlePolicy, and nothing is shared between sessions but the level files, so they run on a ForkJoinPool:
+// the sessions are split in halves down to single sessions and idle threads steal the other halves, so a few slow sessions never hold up a core
+// every session is played the same no matter which thread runs it or how many threads there are, session i always gets seed i
+// GameLog is turned off, it only takes one writer (see GameLog), the console logger is left at ERROR
+// usage (from android/assets): SessionRunner [options] level-1.json level-999.json ...  (or just the level numbers), or gradlew headless:runSessions
+//   -sessions N      sessions per level, 1000 by default
+//   -threads N       worker threads, every core by default
+//   -minutes M       game minutes a session gets to clear it's level, 10 by default
+//   -policy P        idle (vaus never moves), track (the default, see TrackingPolicy) or the name of a script file (see ScriptedPolicy)
+//   -arcade          the ball bounces off bricks and walls with ArcadeCollision instead of box2d
+//   -csv FILE        also writes one line per session to FILE
+//   -record DIR      saves every session as a replay, DIR/level-L-seed-S.replay, a corpus for ReplayVerifier
+//   -frames          dispatches the events like the desktop game does, after 1 to Arknoid1.MAX_STEPS_PER_FRAME steps at a time instead of after
+//                    every step, so a -record corpus made with it checks that ReplayVerifier (which dispatches every step) gets the same game anyway
+public class SessionRunner extends ApplicationAdapter {
+
+	private static final float STUCK_SECONDS = 15f; // a ball that touches nothing but walls for this long is stuck
+	private static final Pattern LEVEL_FILE = Pattern.compile("level-(\\d+)\\.json");
+
+	// what one session did, it counts it's own stuck balls from the session's events, each ball on it's own (after a BALLS_2 or BALLS_3 split
+	// one ball can be stuck between the walls while another one keeps hitting bricks)
+	static class SessionResult implements GameEventListener {
+		final int levelNumber;
+		final long seed;
+		boolean cleared;
+		float seconds;			// game time played, up to the moment the level was cleared if it was
+		int ballsLost;			// lives lost (the last ball in play hit the floor), extra lives caught don't make up for any of them
+		int bricksDestroyed;
+		int stuckIncidents;		// times a ball went STUCK_SECONDS touching nothing but walls
+		long nanos;				// real time the session took
+		long cpuNanos;			// cpu time the session's thread spent on it, for the scaling numbers (real time also counts waiting for a core)
+
+		// one element per BallManager slot, grown along with it..
+		private int[] quietSteps = new int[0];	// steps since the ball last hit a brick or vaus
+		private boolean[] touched = new boolean[0]; // hit a brick or vaus in the step that was just dispatched
+		private boolean[] stuck = new boolean[0];	// already counted this incident
+
+		SessionResult(int levelNumber, long seed){
+			this.levelNumber = levelNumber;
+			this.seed = seed;
+		}
+
+		// the runner dispatches the events after every step, but steps where nothing happened have no events, so the counting is in step()
+		@Override
+		public void handleEvents(GameEventBus events){
+			for(int i = 0; i < events.size(); i++){
+				GameEvent e = events.get(i);
+				if(e.type == GameEventBus.EventTypes.BALL_BRICK_HIT || e.type == GameEventBus.EventTypes.BALL_VAUS_HIT){
+					grow(e.ball + 1);
+					touched[e.ball] = true;
+				}
+			}
+		}
+
+		// called once after every step, after the events were dispatched
+		void step(BallManager balls){
+			grow(balls.isAlive.length);
+			for(int slot = 0; slot < balls.isAlive.length; slot++){
+				if(!balls.isAlive[slot] || touched[slot]){ // a lost ball starts over when it's served again
+					quietSteps[slot] = 0;
+					touched[slot] = false;
+					stuck[slot] = false;
+				}
+				else if(++quietSteps[slot] * STEP_TIME >= STUCK_SECONDS && !stuck[slot]){
+					stuck[slot] = true;
+					stuckIncidents++;
+				}
+			}
+		}
+
+		private void grow(int slots){
+			if(slots <= quietSteps.length){ return; }
+			quietSteps = Arrays.copyOf(quietSteps, slots);
+			touched = Arrays.copyOf(touched, slots);
+			stuck = Arrays.copyOf(stuck, slots);
+		}
+
+		float bricksPerSecond(){
+			return seconds > 0 ? bricksDestroyed / seconds : 0;
+		}
+	}
+
+
+	private int[] levels;
+	private int sessionsPerLevel;
+	private int threads;
+	private float gameMinutes;
+	private String policyName;
+	private ScriptedPolicy.Script script; // only for a script policy, read once and shared by every session
+	private boolean arcade;
+	private File csvFile;
+	private File recordDir;
+	private boolean frames; // -frames, the events are dispatched after a random number of steps, seeded with the session's seed
+
+	private SessionResult[] results;
+
+	// each worker thread gets it's own headless TextureCache, it's only image sizes but a TextureCache is not made for sharing between threads
+	private final ThreadLocal<TextureCache> workerTextures = new ThreadLocal<TextureCache>(){
+		@Override
+		protected TextureCache initialValue(){
+			return new TextureCache("texturepack.atlas", true);
+		}
+	};
+
+
+	public SessionRunner(int[] levels, int sessionsPerLevel, int threads, float gameMinutes, String policyName, boolean arcade, File csvFile){
+		this.levels = levels;
+		this.sessionsPerLevel = sessionsPerLevel;
+		this.threads = threads;
+		this.gameMinutes = gameMinutes;
+		this.policyName = policyName;
+		this.arcade = arcade;
+		this.csvFile = csvFile;
+	}
+
+
+	// saves every session as a replay in dir, set before the runner starts
+	public void setRecordDir(File dir){
+		recordDir = dir;
+	}
+
+	// dispatches the events after 1 to Arknoid1.MAX_STEPS_PER_FRAME steps like the desktop game's frames, set before the runner starts
+	public void setFrames(boolean frames){
+		this.frames = frames;
+	}
+
+
+	public static void main(String[] arg) throws IOException {
+		int sessions = 1000, threads = Runtime.getRuntime().availableProcessors();
+		float minutes = 10f;
+		String policy = "track";
+		boolean arcade = false;
+		boolean frames = false;
+		File csv = null, record = null;
+		List<Integer> levels = new ArrayList<Integer>();
+		for(int i = 0; i < arg.length; i++){
+			if(arg[i].equals("-sessions") && i + 1 < arg.length){ sessions = Integer.parseInt(arg[++i]); }
+			else if(arg[i].equals("-threads") && i + 1 < arg.length){ threads = Integer.parseInt(arg[++i]); }
+			else if(arg[i].equals("-minutes") && i + 1 < arg.length){ minutes = Float.parseFloat(arg[++i]); }
+			else if(arg[i].equals("-policy") && i + 1 < arg.length){ policy = arg[++i]; }
+			else if(arg[i].equals("-arcade")){ arcade = true; }
+			else if(arg[i].equals("-csv") && i + 1 < arg.length){ csv = new File(arg[++i]); }
+			else if(arg[i].equals("-record") && i + 1 < arg.length){ record = new File(arg[++i]); }
+			else if(arg[i].equals("-frames")){ frames = true; }
+			else { levels.add(levelNumber(arg[i])); }
+		}
+		if(levels.isEmpty()){
+			System.err.println("usage: SessionRunner [-sessions N] [-threads N] [-minutes M] [-policy idle|track|<script file>] [-arcade] [-csv FILE] [-record DIR] [-frames] level-N.json ...");
+			System.exit(1);
+		}
+
+		int[] levelNumbers = new int[levels.size()];
+		for(int i = 0; i < levelNumbers.length; i++){ levelNumbers[i] = levels.get(i); }
+		SessionRunner runner = new SessionRunner(levelNumbers, sessions, threads, minutes, policy, arcade, csv);
+		if(record != null){
+			record.mkdirs();
+			runner.setRecordDir(record);
+		}
+		runner.setFrames(frames);
+		new HeadlessApplication(runner, new HeadlessApplicationConfiguration());
+	}
+
+
+	// "level-12.json", "some/folder/level-12.json" or just "12"
+	private static int levelNumber(String arg){
+		Matcher m = LEVEL_FILE.matcher(new File(arg).getName());
+		if(m.matches()){ return Integer.parseInt(m.group(1)); }
+		try {
+			return Integer.parseInt(arg);
+		}
+		catch(NumberFormatException e){
+			throw new IllegalArgumentException("not a level file or level number: " + arg);
+		}
+	}
+
+
+	@Override
+	public void create(){
+		Arknoid1.logger.setLevel(Logger.ERROR);
+		GameLog.setLevel(GameLog.NONE);
+
+		// LevelLoader finds levels by number in the assets folder, so a level file anywhere else would quietly play some other level..
+		for(int level : levels){
+			if(!Gdx.files.internal(LevelLoader.jsonFileName(level)).exists() && !Gdx.files.internal(LevelLoader.binaryFileName(level)).exists()){
+				System.err.println("SessionRunner: there is no level " + level + " in " + new File("").getAbsolutePath());
+				Gdx.app.exit();
+				return;
+			}
+		}
+		try {
+			if(!policyName.equals("idle") && !policyName.equals("track")){ script = ScriptedPolicy.Script.read(new File(policyName)); }
+		}
+		catch(IOException e){
+			System.err.println("SessionRunner: " + e.getMessage());
+			Gdx.app.exit();
+			return;
+		}
+
+		int total = levels.length * sessionsPerLevel;
+		System.out.println("SessionRunner: " + total + " sessions (" + sessionsPerLevel + " per level) of levels " + Arrays.toString(levels)
+				+ ", policy " + policyName + ", " + (arcade ? "arcade" : "box2d") + ", at most " + gameMinutes + " game minutes each, " + threads + " threads");
+
+		results = new SessionResult[total];
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		long start = System.nanoTime();
+		pool.invoke(new Sessions(0, total));
+		long elapsed = System.nanoTime() - start;
+		pool.shutdown();
+
+		report(elapsed);
+		if(csvFile != null){
+			try {
+				writeCsv();
+			}
+			catch(IOException e){
+				System.err.println("SessionRunner: could not write " + csvFile + ": " + e.getMessage());
+			}
+		}
+		Gdx.app.exit();
+	}
+
+
+	// sessions first to last - 1, halved until there is only one, the halves are what the idle threads steal
+	private class Sessions extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final int first, last;
+
+		Sessions(int first, int last){
+			this.first = first;
+			this.last = last;
+		}
+
+		@Override
+		protected void compute(){
+			if(last - first == 1){
+				results[first] = play(levels[first % levels.length], first); // levels interleaved, so every level's sessions are spread over the whole run
+				return;
+			}
+			int middle = (first + last) >>> 1;
+			invokeAll(new Sessions(first, middle), new Sessions(middle, last));
+		}
+	}
+
+
+	// one whole session, on whatever worker thread got it
+	private SessionResult play(int levelNumber, long seed){
+		ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		long start = System.nanoTime(), cpuStart = threadBean.getCurrentThreadCpuTime();
+		GameSession session = new GameSession(workerTextures.get(), levelNumber, arcade, 1);
+		SessionResult result = new SessionResult(levelNumber, seed);
+		session.addEventListener(result);
+		InputRecording recording = recordDir != null ? session.startRecording() : null;
+		PaddlePolicy policy = policyName.equals("idle") ? null : (script != null ? new ScriptedPolicy(script) : new TrackingPolicy(seed));
+
+		long maxTicks = (long)(gameMinutes * 60f / STEP_TIME);
+		Random frameSteps = frames ? new Random(seed) : null;
+		int frameLength = 1, stepsInFrame = 0;
+		while(session.getTicks() < maxTicks && session.getLives() > 0){
+			if(policy != null){ policy.control(session); }
+			session.step();
+			if(++stepsInFrame >= frameLength){ // the end of a frame, every step is one with no -frames
+				session.dispatchEvents();
+				stepsInFrame = 0;
+				if(frameSteps != null){ frameLength = 1 + frameSteps.nextInt(Arknoid1.MAX_STEPS_PER_FRAME); }
+			}
+			result.step(session.balls); // with -frames a ball's hits only show up at the end of the frame, it's a few steps late in the stuck count
+			if(session.getBricksRemaining() <= 0){
+				result.cleared = true;
+				break;
+			}
+		}
+
+		session.dispatchEvents(); // the last frame's, the statistics are read right below
+		result.seconds = session.getTicks() * STEP_TIME;
+		result.ballsLost = session.getStatistics().ballsLost;
+		result.bricksDestroyed = session.getStatistics().bricksDestroyed;
+		if(recording != null){ recording.save(new FileHandle(new File(recordDir, "level-" + levelNumber + "-seed-" + seed + ".replay"))); }
+		session.dispose();
+		result.nanos = System.nanoTime() - start;
+		result.cpuNanos = threadBean.getCurrentThreadCpuTime() - cpuStart;
+		return result;
+	}
+
+
+	// one line per level, then how the run went
+	private void report(long elapsed){
+		System.out.println(String.format("%6s %9s %8s   %-30s %11s %9s %7s %15s",
+				"level", "sessions", "cleared", "clear time s: mean  p50  p90  max", "balls lost", "bricks/s", "stuck", "stuck sessions"));
+
+		long steps = 0, busy = 0;
+		for(int level : levels){
+			int count = 0, cleared = 0, ballsLost = 0, stuckTimes = 0, stuckSessions = 0;
+			float bricksPerSecond = 0;
+			float[] clearTimes = new float[sessionsPerLevel];
+			for(SessionResult r : results){
+				if(r.levelNumber != level){ continue; }
+				count++;
+				if(r.cleared){ clearTimes[cleared++] = r.seconds; }
+				ballsLost += r.ballsLost;
+				bricksPerSecond += r.bricksPerSecond();
+				stuckTimes += r.stuckIncidents;
+				if(r.stuckIncidents > 0){ stuckSessions++; }
+				steps += Math.round(r.seconds / STEP_TIME);
+				busy += r.cpuNanos;
+			}
+			Arrays.sort(clearTimes, 0, cleared);
+			String clearTime = cleared == 0 ? "never cleared" : String.format("%12.1f %6.1f %6.1f %6.1f",
+					mean(clearTimes, cleared), clearTimes[cleared / 2], clearTimes[(int)(cleared * 0.9f)], clearTimes[cleared - 1]);
+			System.out.println(String.format("%6d %9d %7.1f%%   %-33s %11.1f %9.2f %7d %15d",
+					level, count, 100f * cleared / count, clearTime, (float)ballsLost / count, bricksPerSecond / count, stuckTimes, stuckSessions));
+		}
+
+		double seconds = elapsed / 1e9;
+		System.out.println(String.format("SessionRunner: %d steps (%.1f game hours) in %.2f real seconds, %.0f steps per second",
+				steps, steps * STEP_TIME / 3600, seconds, steps / seconds));
+		// cpu time over real time, a session never waits on another one so with a core for every thread this is close to the thread count..
+		System.out.println(String.format("SessionRunner: %.1f of %d threads busy on average, %.0f%% parallel efficiency",
+				busy / (double)elapsed, threads, 100 * busy / (double)elapsed / threads));
+	}
+
+
+	private static float mean(float[] values, int count){
+		float sum = 0;
+		for(int i = 0; i < count; i++){ sum += values[i]; }
+		return sum / count;
+	}
+
+
+	private void writeCsv() throws IOException {
+		PrintWriter out = new PrintWriter(new FileWriter(csvFile));
+		try {
+			out.println("level,seed,cleared,game seconds,balls lost,bricks destroyed,bricks per second,stuck incidents,real milliseconds");
+			for(SessionResult r : results){
+				out.println(r.levelNumber + "," + r.seed + "," + r.cleared + "," + r.seconds + "," + r.ballsLost + "," + r.bricksDestroyed + ","
+						+ r.bricksPerSecond() + "," + r.stuckIncidents + "," + (r.nanos / 1000000));
+			}
+		}
+		finally {
+			out.close();
+		}
+		System.out.println("SessionRunner: wrote " + results.length + " sessions to " + csvFile);
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.nate.game;
+
+import java.util.Random;
+
+// the automated player: keeps vaus under the lowest ball that is coming down, and flips when it's about to land
+// no two sessions should play exactly alike or a thousand sessions are just one session a thousand times,
+// so each one gets it's own reaction time, how far off center it likes to catch the ball and how often it remembers to flip,
+// all from the seed, so the same seed always plays the same game
+public class TrackingPolicy implements PaddlePolicy {
+
+	private static final float FLIP_HEIGHT = Vaus.VAUS_ELEVATION * 2.5f; // a ball below this, coming down, gets flipped at
+	private static final float RETARGET_DISTANCE = 0.05f; // world units, moving vaus again for less than this just makes her jitter
+
+	private int reactionTicks;		// steps between looking at the balls
+	private float aimOffset;		// how far from vaus' center this player catches the ball, as a fraction of her half width
+	private float flipChance;		// chance of flipping at a ball that gets low enough
+	private Random random;
+
+	private int ticksUntilLook;
+	private float target = Float.NaN; // where vaus was last sent
+	private boolean flipped;		// already flipped at the ball that is coming down now
+
+
+	public TrackingPolicy(long seed){
+		random = new Random(seed);
+		reactionTicks = 4 + random.nextInt(12);
+		aimOffset = (random.nextFloat() * 2 - 1) * 0.6f;
+		flipChance = 0.25f + random.nextFloat() * 0.5f;
+	}
+
+
+	@Override
+	public void control(GameSession session){
+		if(--ticksUntilLook > 0){ return; }
+		ticksUntilLook = reactionTicks;
+
+		// the lowest ball that is heading down..
+		BallManager balls = session.balls;
+		PhysicsWorld physics = session.physics;
+		int lowest = -1;
+		float lowestY = Float.MAX_VALUE;
+		for(int i = 0; i < balls.liveCount; i++){
+			int body = balls.body[balls.live[i]];
+			if(physics.getVelocityY(body) >= 0){ continue; }
+			float y = physics.getY(body);
+			if(y < lowestY){
+				lowestY = y;
+				lowest = body;
+			}
+		}
+		if(lowest == -1){ // everything is going up, nothing to do until something comes back down
+			flipped = false;
+			return;
+		}
+
+		float x = physics.getX(lowest) + aimOffset * session.vaus.box2dVausTotalWidth * 0.5f;
+		if(Float.isNaN(target) || Math.abs(x - target) > RETARGET_DISTANCE){
+			session.moveVausTo(x);
+			target = x;
+		}
+
+		if(!flipped && lowestY < FLIP_HEIGHT){
+			flipped = true;
+			if(random.nextFloat() < flipChance){ session.flip(); }
+		}
+	}
+
+}
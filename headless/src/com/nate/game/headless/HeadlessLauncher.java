@@ -0,0 +1,47 @@
+package com.nate.game.headless;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
+import com.nate.game.HeadlessSimulation;
+import com.nate.game.LogFlusher;
+
+import java.io.File;
+import java.io.IOException;
+
+// runs the game with no window, no OpenGL and no audio, for soak testing on build machines without a GPU
+// usage: HeadlessLauncher [levelNumber] [gameMinutes] [-verbose] [-arcade] [-balls N] [-replay FILE]
+// with -verbose every collision is logged to headless.log
+// with -arcade the ball bounces off bricks and walls with ArcadeCollision instead of box2d
+// with -balls N every level starts with N balls in play (stress mode)
+// with -replay FILE a game recorded with the desktop launcher's -record is played back as fast as possible,
+// the level, -arcade and -balls come from the replay file and gameMinutes is ignored, the replay lasts exactly as long as the recorded game
+public class HeadlessLauncher {
+	public static void main (String[] arg) throws IOException {
+		int levelNumber = 999;
+		float gameMinutes = 60f;
+		int positional = 0; // levelNumber and gameMinutes can be left out, like with just -replay FILE
+		boolean verbose = false, arcade = false;
+		int balls = 1;
+		String replay = null;
+		for(int i = 0; i < arg.length; i++){
+			if(!arg[i].startsWith("-") && positional == 0){ levelNumber = Integer.parseInt(arg[i]); positional++; }
+			else if(!arg[i].startsWith("-") && positional == 1){ gameMinutes = Float.parseFloat(arg[i]); positional++; }
+			else if(arg[i].equals("-verbose")){ verbose = true; }
+			else if(arg[i].equals("-arcade")){ arcade = true; }
+			else if(arg[i].equals("-balls") && i + 1 < arg.length){ balls = Integer.parseInt(arg[++i]); }
+			else if(arg[i].equals("-replay") && i + 1 < arg.length){ replay = arg[++i]; }
+		}
+		
+		if(verbose){ LogFlusher.start(new File("headless.log")); }
+		
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		config.renderInterval = 0; // don't sleep between frames, run as fast as the cpu allows
+		
+		HeadlessSimulation simulation = new HeadlessSimulation(levelNumber, gameMinutes, verbose);
+		simulation.arcadeCollisions = arcade;
+		simulation.startingBalls = balls;
+		if(replay != null){ simulation.replayFile = new FileHandle(new File(replay)); }
+		new HeadlessApplication(simulation, config);
+	}
+}